@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.literal.NamedLiteral;
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.se.SeContainerInitializer;
+import javax.enterprise.inject.spi.BeforeBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+
+import org.apache.openwebbeans.benchmarks.beans.SyntheticBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Boot and shutdown of a SE container with the benchmark beans
+ * and a given number of synthetic beans.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BootBenchmark
+{
+    @Param({"10", "100", "1000"})
+    private int syntheticBeans;
+
+    @Benchmark
+    public void boot()
+    {
+        try (SeContainer container = SeContainerInitializer.newInstance()
+            .disableDiscovery()
+            .addBeanClasses(ContainerState.BEAN_CLASSES)
+            .addExtensions(new SyntheticBeansExtension(syntheticBeans))
+            .initialize())
+        {
+            container.getBeanManager();
+        }
+    }
+
+    /**
+     * Adds the SyntheticBean AnnotatedType with a distinct name for each synthetic bean.
+     */
+    public static class SyntheticBeansExtension implements Extension
+    {
+        private final int count;
+
+        public SyntheticBeansExtension(int count)
+        {
+            this.count = count;
+        }
+
+        void addSyntheticBeans(@Observes BeforeBeanDiscovery beforeBeanDiscovery)
+        {
+            for (int i = 0; i < count; i++)
+            {
+                String name = "synthetic" + i;
+                beforeBeanDiscovery.addAnnotatedType(SyntheticBean.class, name).add(NamedLiteral.of(name));
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.se.SeContainerInitializer;
+
+import org.apache.openwebbeans.benchmarks.beans.ApplicationService;
+import org.apache.openwebbeans.benchmarks.beans.CountedInterceptor;
+import org.apache.openwebbeans.benchmarks.beans.EventSource;
+import org.apache.openwebbeans.benchmarks.beans.FastService;
+import org.apache.openwebbeans.benchmarks.beans.GreetingDecorator;
+import org.apache.openwebbeans.benchmarks.beans.InjectedBean;
+import org.apache.openwebbeans.benchmarks.beans.InterceptedBean;
+import org.apache.openwebbeans.benchmarks.beans.PayloadObserver;
+import org.apache.openwebbeans.benchmarks.beans.PlainBean;
+import org.apache.openwebbeans.benchmarks.beans.RequestService;
+import org.apache.openwebbeans.benchmarks.beans.ServiceLookup;
+import org.apache.openwebbeans.benchmarks.beans.SessionService;
+import org.apache.openwebbeans.benchmarks.beans.SimpleGreeting;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.spi.ContextsService;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A container with all benchmark beans which gets shared by all benchmark threads.
+ */
+@State(Scope.Benchmark)
+public class ContainerState
+{
+    static final Class<?>[] BEAN_CLASSES = {
+        ApplicationService.class, FastService.class, RequestService.class, SessionService.class,
+        PlainBean.class, InterceptedBean.class, CountedInterceptor.class,
+        SimpleGreeting.class, GreetingDecorator.class,
+        EventSource.class, PayloadObserver.class, ServiceLookup.class, InjectedBean.class
+    };
+
+    private SeContainer container;
+    private WebBeansContext webBeansContext;
+
+    @Setup
+    public void start()
+    {
+        container = SeContainerInitializer.newInstance()
+            .disableDiscovery()
+            .addBeanClasses(BEAN_CLASSES)
+            .initialize();
+        webBeansContext = WebBeansContext.currentInstance();
+    }
+
+    @TearDown
+    public void stop()
+    {
+        container.close();
+    }
+
+    public SeContainer getContainer()
+    {
+        return container;
+    }
+
+    public WebBeansContext getWebBeansContext()
+    {
+        return webBeansContext;
+    }
+
+    /**
+     * The request and session contexts of a benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadContexts
+    {
+        private ContextsService contextsService;
+
+        @Setup
+        public void start(ContainerState containerState)
+        {
+            contextsService = containerState.getWebBeansContext().getContextsService();
+            contextsService.startContext(RequestScoped.class, null);
+            contextsService.startContext(SessionScoped.class, null);
+        }
+
+        @TearDown
+        public void stop()
+        {
+            contextsService.endContext(SessionScoped.class, null);
+            contextsService.endContext(RequestScoped.class, null);
+        }
+    }
+}
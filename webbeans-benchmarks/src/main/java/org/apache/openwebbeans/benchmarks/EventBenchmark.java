@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.openwebbeans.benchmarks.beans.EventSource;
+import org.apache.openwebbeans.benchmarks.beans.Payload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code Event.fire} with a qualifier and {@code Event.fireAsync}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBenchmark
+{
+    private static final Payload PAYLOAD = new Payload(1);
+
+    @State(Scope.Benchmark)
+    public static class Source
+    {
+        private EventSource eventSource;
+
+        @Setup
+        public void lookup(ContainerState containerState)
+        {
+            eventSource = containerState.getContainer().select(EventSource.class).get();
+        }
+    }
+
+    @Benchmark
+    public void fire(Source source)
+    {
+        source.eventSource.fire(PAYLOAD);
+    }
+
+    @Benchmark
+    public Payload fireAsync(Source source)
+    {
+        return source.eventSource.fireAsync(PAYLOAD).toCompletableFuture().join();
+    }
+}
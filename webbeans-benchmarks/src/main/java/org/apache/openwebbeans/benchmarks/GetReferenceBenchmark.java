@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.openwebbeans.benchmarks.beans.ApplicationService;
+import org.apache.openwebbeans.benchmarks.beans.PlainBean;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link BeanManagerImpl#getReference(Bean, java.lang.reflect.Type, javax.enterprise.context.spi.CreationalContext)}
+ * of a normal-scoped and a dependent bean.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetReferenceBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class Beans
+    {
+        private BeanManagerImpl beanManager;
+        private Bean<?> applicationBean;
+        private Bean<?> dependentBean;
+
+        @Setup
+        public void resolve(ContainerState containerState)
+        {
+            beanManager = containerState.getWebBeansContext().getBeanManagerImpl();
+            applicationBean = beanManager.resolve(beanManager.getBeans(ApplicationService.class));
+            dependentBean = beanManager.resolve(beanManager.getBeans(PlainBean.class));
+        }
+    }
+
+    @Benchmark
+    public Object applicationScoped(Beans beans)
+    {
+        return beans.beanManager.getReference(beans.applicationBean, ApplicationService.class,
+            beans.beanManager.createCreationalContext(beans.applicationBean));
+    }
+
+    @Benchmark
+    public Object dependent(Beans beans)
+    {
+        return beans.beanManager.getReference(beans.dependentBean, PlainBean.class,
+            beans.beanManager.createCreationalContext(beans.dependentBean));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionTarget;
+
+import org.apache.openwebbeans.benchmarks.beans.InjectedBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code InjectionTarget.produce} and {@code InjectionTarget.inject} of a bean
+ * with field, method and {@code Instance} injection points.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectionTargetBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class Target
+    {
+        private BeanManager beanManager;
+        private InjectionTarget<InjectedBean> injectionTarget;
+
+        @Setup
+        public void create(ContainerState containerState)
+        {
+            beanManager = containerState.getContainer().getBeanManager();
+            injectionTarget = beanManager.getInjectionTargetFactory(beanManager.createAnnotatedType(InjectedBean.class))
+                .createInjectionTarget(null);
+        }
+    }
+
+    @Benchmark
+    public InjectedBean produce(Target target)
+    {
+        CreationalContext<InjectedBean> creationalContext = target.beanManager.createCreationalContext(null);
+        return target.injectionTarget.produce(creationalContext);
+    }
+
+    @Benchmark
+    public InjectedBean produceAndInject(Target target)
+    {
+        CreationalContext<InjectedBean> creationalContext = target.beanManager.createCreationalContext(null);
+        InjectedBean instance = target.injectionTarget.produce(creationalContext);
+        target.injectionTarget.inject(instance, creationalContext);
+        target.injectionTarget.postConstruct(instance);
+        return instance;
+    }
+}
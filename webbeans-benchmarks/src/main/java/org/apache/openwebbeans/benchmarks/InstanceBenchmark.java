@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.openwebbeans.benchmarks.beans.Service;
+import org.apache.openwebbeans.benchmarks.beans.ServiceLookup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code Instance.get} and {@code Instance.select(...).get}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstanceBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class Lookup
+    {
+        private ServiceLookup serviceLookup;
+
+        @Setup
+        public void lookup(ContainerState containerState)
+        {
+            serviceLookup = containerState.getContainer().select(ServiceLookup.class).get();
+        }
+    }
+
+    @Benchmark
+    public Service get(Lookup lookup)
+    {
+        return lookup.serviceLookup.get();
+    }
+
+    @Benchmark
+    public Service select(Lookup lookup)
+    {
+        return lookup.serviceLookup.select();
+    }
+}
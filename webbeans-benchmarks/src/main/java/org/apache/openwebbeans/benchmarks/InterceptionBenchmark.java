@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.openwebbeans.benchmarks.beans.Greeting;
+import org.apache.openwebbeans.benchmarks.beans.InterceptedBean;
+import org.apache.openwebbeans.benchmarks.beans.PlainBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Method calls of intercepted and decorated beans, compared to a plain bean.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptionBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class Beans
+    {
+        private PlainBean plainBean;
+        private InterceptedBean interceptedBean;
+        private Greeting decoratedBean;
+
+        @Setup
+        public void lookup(ContainerState containerState)
+        {
+            plainBean = containerState.getContainer().select(PlainBean.class).get();
+            interceptedBean = containerState.getContainer().select(InterceptedBean.class).get();
+            decoratedBean = containerState.getContainer().select(Greeting.class).get();
+        }
+    }
+
+    @Benchmark
+    public int plain(Beans beans)
+    {
+        return beans.plainBean.value();
+    }
+
+    @Benchmark
+    public int intercepted(Beans beans)
+    {
+        return beans.interceptedBean.value();
+    }
+
+    @Benchmark
+    public String decorated(Beans beans)
+    {
+        return beans.decoratedBean.greet("benchmark");
+    }
+}
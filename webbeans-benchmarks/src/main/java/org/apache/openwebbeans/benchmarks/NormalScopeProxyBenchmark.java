@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.openwebbeans.benchmarks.beans.ApplicationService;
+import org.apache.openwebbeans.benchmarks.beans.RequestService;
+import org.apache.openwebbeans.benchmarks.beans.SessionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Method calls through the normal-scope proxies of the built-in contexts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalScopeProxyBenchmark
+{
+    @State(Scope.Thread)
+    public static class Proxies
+    {
+        private ApplicationService applicationService;
+        private RequestService requestService;
+        private SessionService sessionService;
+
+        @Setup
+        public void lookup(ContainerState containerState, ContainerState.ThreadContexts contexts)
+        {
+            applicationService = containerState.getContainer().select(ApplicationService.class).get();
+            requestService = containerState.getContainer().select(RequestService.class).get();
+            sessionService = containerState.getContainer().select(SessionService.class).get();
+        }
+    }
+
+    @Benchmark
+    public int applicationScoped(Proxies proxies)
+    {
+        return proxies.applicationService.value();
+    }
+
+    @Benchmark
+    public int requestScoped(Proxies proxies)
+    {
+        return proxies.requestService.value();
+    }
+
+    @Benchmark
+    public int sessionScoped(Proxies proxies)
+    {
+        return proxies.sessionService.value();
+    }
+}
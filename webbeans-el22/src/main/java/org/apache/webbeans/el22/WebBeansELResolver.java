@@ -82,8 +82,13 @@ public class WebBeansELResolver extends ELResolver
      * {@inheritDoc}
      */    
     @Override
-    public Class<?> getType(ELContext arg0, Object arg1, Object arg2) throws ELException
+    public Class<?> getType(ELContext context, Object base, Object property) throws ELException
     {
+        if (base instanceof NamePrefix)
+        {
+            // a part of a dotted bean name is never a property of some other bean
+            context.setPropertyResolved(true);
+        }
         return null;
     }
 
@@ -95,15 +100,33 @@ public class WebBeansELResolver extends ELResolver
     public Object getValue(ELContext context, Object base, Object property) throws ELException
     {
         BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
-        //we only check root beans
-        // Check if the OWB actually got used in this application
-        if (base != null || !beanManager.isInUse())
+
+        //Name of the bean
+        String beanName;
+        if (base == null)
+        {
+            // Check if the OWB actually got used in this application
+            if (!beanManager.isInUse() || !(property instanceof String))
+            {
+                return null;
+            }
+            beanName = (String) property;
+        }
+        else if (base instanceof NamePrefix)
+        {
+            // part of a dotted bean name like #{a.b.c}
+            beanName = ((NamePrefix) base).getName() + '.' + property;
+        }
+        else
         {
             return null;
         }
 
-        //Name of the bean
-        String beanName = (String) property;
+        // most root identifiers are no beans at all, so check this before touching any ThreadLocal
+        if (!beanManager.isCandidateName(beanName))
+        {
+            return null;
+        }
 
         //Local store, create if not exist
         ELContextStore elContextStore = ELContextStore.getInstance(true);
@@ -136,6 +159,11 @@ public class WebBeansELResolver extends ELResolver
                 contextualInstance = getNormalScopedContextualInstance(beanManager, elContextStore, context, bean, beanName);
             }
         }
+        else if (beanManager.isNamePrefix(beanName))
+        {
+            context.setPropertyResolved(true);
+            contextualInstance = new NamePrefix(beanName);
+        }
         return contextualInstance;
     }
 
@@ -199,8 +227,13 @@ public class WebBeansELResolver extends ELResolver
      * {@inheritDoc}
      */    
     @Override
-    public boolean isReadOnly(ELContext arg0, Object arg1, Object arg2) throws ELException
+    public boolean isReadOnly(ELContext context, Object base, Object property) throws ELException
     {
+        if (base instanceof NamePrefix)
+        {
+            context.setPropertyResolved(true);
+            return true;
+        }
         return false;
     }
 
@@ -212,4 +245,29 @@ public class WebBeansELResolver extends ELResolver
     {
 
     }
+
+    /**
+     * Result of an EL name which is only the first part of a dotted bean name,
+     * e.g. {@code a.b} for a bean named {@code a.b.c}.
+     */
+    public static final class NamePrefix
+    {
+        private final String name;
+
+        public NamePrefix(String name)
+        {
+            this.name = name;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public String toString()
+        {
+            return name;
+        }
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.el.test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import javax.el.ELContext;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.spi.AnnotatedType;
+
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.el.ELContextStore;
+import org.apache.webbeans.el22.WebBeansELResolver;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ELNameIndexTest extends AbstractUnitTest
+{
+    @Test
+    public void testNameIndex()
+    {
+        Collection<Class<?>> classes = new ArrayList<Class<?>>();
+        classes.add(SampleBean.class);
+        classes.add(RequestBean.class);
+        classes.add(DottedNameBean.class);
+        startContainer(classes);
+
+        BeanManagerImpl beanManager = getWebBeansContext().getBeanManagerImpl();
+        Assert.assertTrue(beanManager.isCandidateName("sampleBean"));
+        Assert.assertTrue(beanManager.isCandidateName("shop"));
+        Assert.assertTrue(beanManager.isCandidateName("shop.cart"));
+        Assert.assertTrue(beanManager.isCandidateName("shop.cart.items"));
+        Assert.assertFalse(beanManager.isCandidateName("shop.car"));
+        Assert.assertFalse(beanManager.isCandidateName("requestBean"));
+        Assert.assertEquals(1, beanManager.getBeans("shop.cart.items").size());
+        Assert.assertTrue(beanManager.getBeans("var").isEmpty());
+
+        shutDownContainer();
+    }
+
+    @Test
+    public void testNameIndexGetsRebuiltAfterAddingBeans()
+    {
+        Collection<Class<?>> classes = new ArrayList<Class<?>>();
+        classes.add(SampleBean.class);
+        classes.add(RequestBean.class);
+        startContainer(classes);
+
+        BeanManagerImpl beanManager = getWebBeansContext().getBeanManagerImpl();
+        Assert.assertFalse(beanManager.isCandidateName("shop.cart"));
+        Assert.assertTrue(beanManager.getBeans("shop.cart.items").isEmpty());
+
+        AnnotatedType<DottedNameBean> annotatedType = beanManager.createAnnotatedType(DottedNameBean.class);
+        beanManager.addBean(beanManager.createBean(beanManager.createBeanAttributes(annotatedType),
+            DottedNameBean.class, beanManager.getInjectionTargetFactory(annotatedType)));
+
+        Assert.assertTrue(beanManager.isCandidateName("shop.cart"));
+        Assert.assertTrue(beanManager.isNamePrefix("shop.cart"));
+        Assert.assertEquals(1, beanManager.getBeans("shop.cart.items").size());
+
+        shutDownContainer();
+    }
+
+    @Test
+    public void testResolver()
+    {
+        Collection<Class<?>> classes = new ArrayList<Class<?>>();
+        classes.add(SampleBean.class);
+        classes.add(RequestBean.class);
+        classes.add(DottedNameBean.class);
+        startContainer(classes);
+        getWebBeansContext().getContextsService().startContext(RequestScoped.class, null);
+
+        try
+        {
+            WebBeansELResolver resolver = new WebBeansELResolver();
+
+            // a loop variable or an implicit object does not even create the ELContextStore
+            ELContext elContext = new MockELContext();
+            Assert.assertNull(resolver.getValue(elContext, null, "var"));
+            Assert.assertFalse(elContext.isPropertyResolved());
+            Assert.assertNull(ELContextStore.getInstance(false));
+
+            elContext = new MockELContext();
+            Object shop = resolver.getValue(elContext, null, "shop");
+            Assert.assertTrue(elContext.isPropertyResolved());
+            Assert.assertTrue(shop instanceof WebBeansELResolver.NamePrefix);
+
+            Object cart = resolver.getValue(new MockELContext(), shop, "cart");
+            Assert.assertTrue(cart instanceof WebBeansELResolver.NamePrefix);
+
+            Object items = resolver.getValue(new MockELContext(), cart, "items");
+            Assert.assertTrue(items instanceof DottedNameBean);
+            Assert.assertEquals(3, ((DottedNameBean) items).getCount());
+
+            Assert.assertNull(resolver.getValue(new MockELContext(), cart, "other"));
+
+            elContext = new MockELContext();
+            Assert.assertNull(resolver.getType(elContext, shop, "cart"));
+            Assert.assertTrue(elContext.isPropertyResolved());
+
+            elContext = new MockELContext();
+            Assert.assertTrue(resolver.isReadOnly(elContext, cart, "items"));
+            Assert.assertTrue(elContext.isPropertyResolved());
+        }
+        finally
+        {
+            ELContextStore store = ELContextStore.getInstance(false);
+            if (store != null)
+            {
+                store.destroyELContextStore();
+            }
+            getWebBeansContext().getContextsService().endContext(RequestScoped.class, null);
+            shutDownContainer();
+        }
+    }
+}
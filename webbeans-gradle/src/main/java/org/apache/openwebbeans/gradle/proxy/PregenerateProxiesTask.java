@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.gradle.proxy;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the OpenWebBeans proxy classes of the project at build time,
+ * so they don't need to get generated when the application starts.
+ * The proxies get written to their own directory, by default {@code build/owb-proxies},
+ * which must get added to the runtime classpath and the packaged archive.
+ *
+ * <pre>
+ * task pregenerateProxies(type: org.apache.openwebbeans.gradle.proxy.PregenerateProxiesTask) {
+ *     classesDirectories = sourceSets.main.output
+ *     classpath = configurations.runtimeClasspath
+ * }
+ * sourceSets.main.runtimeClasspath += files(pregenerateProxies)
+ * jar.from pregenerateProxies
+ * </pre>
+ */
+// note: as for the transformer openwebbeans-impl must not be on the buildscript classpath,
+// it gets loaded from the given classpath instead
+public class PregenerateProxiesTask extends DefaultTask
+{
+    private static final String PREGENERATOR_CLASS = "org.apache.webbeans.proxy.ProxyPregenerator";
+
+    private FileCollection classesDirectories;
+    private FileCollection classpath;
+    private File outputDirectory = new File(getProject().getBuildDir(), "owb-proxies");
+
+    @TaskAction
+    public void pregenerate()
+    {
+        // proxies of removed or changed classes must not survive
+        getProject().delete(outputDirectory);
+        if (!outputDirectory.mkdirs())
+        {
+            throw new GradleException("Cannot create " + outputDirectory);
+        }
+
+        Thread thread = Thread.currentThread();
+        ClassLoader oldLoader = thread.getContextClassLoader();
+        try (URLClassLoader projectLoader = new URLClassLoader(getClasspathUrls(), ClassLoader.getSystemClassLoader().getParent()))
+        {
+            thread.setContextClassLoader(projectLoader);
+
+            Class<?> pregenerator = projectLoader.loadClass(PREGENERATOR_CLASS);
+            Object proxyCount = pregenerator.getMethod("generate")
+                    .invoke(pregenerator.getConstructor(File.class, List.class)
+                            .newInstance(outputDirectory, new ArrayList<>(classesDirectories.getFiles())));
+            getLogger().info("Generated " + proxyCount + " OpenWebBeans proxy classes");
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new GradleException("openwebbeans-impl must be on the given classpath", e);
+        }
+        catch (InvocationTargetException e)
+        {
+            throw new GradleException("Proxy generation failed", e.getCause());
+        }
+        catch (Exception e)
+        {
+            throw new GradleException("Proxy generation failed", e);
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
+    private URL[] getClasspathUrls() throws IOException
+    {
+        List<URL> urls = new ArrayList<>();
+        for (File file : classesDirectories)
+        {
+            urls.add(file.toURI().toURL());
+        }
+        for (File file : classpath)
+        {
+            urls.add(file.toURI().toURL());
+        }
+        return urls.toArray(new URL[urls.size()]);
+    }
+
+    @InputFiles
+    public FileCollection getClassesDirectories()
+    {
+        return classesDirectories;
+    }
+
+    public void setClassesDirectories(FileCollection classesDirectories)
+    {
+        this.classesDirectories = classesDirectories;
+    }
+
+    @InputFiles
+    public FileCollection getClasspath()
+    {
+        return classpath;
+    }
+
+    public void setClasspath(FileCollection classpath)
+    {
+        this.classpath = classpath;
+    }
+
+    @OutputDirectory
+    public File getOutputDirectory()
+    {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(File outputDirectory)
+    {
+        this.outputDirectory = outputDirectory;
+    }
+}
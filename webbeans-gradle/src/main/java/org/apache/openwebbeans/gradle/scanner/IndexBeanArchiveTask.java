@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.gradle.scanner;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the OpenWebBeans bean archive index of the project classes at build time,
+ * so the bytecode doesn't need to get scanned when the application starts.
+ * The index only gets used if {@code org.apache.webbeans.scanner.useBeanArchiveIndex} is enabled.
+ *
+ * <pre>
+ * task indexBeanArchive(type: org.apache.openwebbeans.gradle.scanner.IndexBeanArchiveTask) {
+ *     classpath = sourceSets.main.runtimeClasspath
+ *     outputDirectory = sourceSets.main.output.classesDir
+ * }
+ * classes.finalizedBy indexBeanArchive
+ * </pre>
+ */
+// note: as for the transformer openwebbeans-impl must not be on the buildscript classpath,
+// it gets loaded from the given classpath instead
+public class IndexBeanArchiveTask extends DefaultTask
+{
+    private static final String WRITER_CLASS = "org.apache.webbeans.corespi.scanner.xbean.BeanArchiveIndexWriter";
+
+    private FileCollection classpath;
+    private File outputDirectory;
+
+    @TaskAction
+    public void index()
+    {
+        Thread thread = Thread.currentThread();
+        ClassLoader oldLoader = thread.getContextClassLoader();
+        try (URLClassLoader projectLoader = new URLClassLoader(getClasspathUrls(), ClassLoader.getSystemClassLoader().getParent()))
+        {
+            thread.setContextClassLoader(projectLoader);
+
+            Class<?> writer = projectLoader.loadClass(WRITER_CLASS);
+            Object classCount = writer.getMethod("write")
+                    .invoke(writer.getConstructor(File.class).newInstance(outputDirectory));
+            getLogger().info("Indexed " + classCount + " classes for OpenWebBeans");
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new GradleException("openwebbeans-impl must be on the given classpath", e);
+        }
+        catch (InvocationTargetException e)
+        {
+            throw new GradleException("Writing the bean archive index failed", e.getCause());
+        }
+        catch (Exception e)
+        {
+            throw new GradleException("Writing the bean archive index failed", e);
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
+    private URL[] getClasspathUrls() throws IOException
+    {
+        List<URL> urls = new ArrayList<>();
+        urls.add(outputDirectory.toURI().toURL());
+        for (File file : classpath)
+        {
+            urls.add(file.toURI().toURL());
+        }
+        return urls.toArray(new URL[urls.size()]);
+    }
+
+    @InputFiles
+    public FileCollection getClasspath()
+    {
+        return classpath;
+    }
+
+    public void setClasspath(FileCollection classpath)
+    {
+        this.classpath = classpath;
+    }
+
+    @OutputDirectory
+    public File getOutputDirectory()
+    {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(File outputDirectory)
+    {
+        this.outputDirectory = outputDirectory;
+    }
+}
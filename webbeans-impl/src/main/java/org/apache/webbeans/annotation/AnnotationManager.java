@@ -39,6 +39,7 @@ import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.inject.spi.AnnotatedParameter;
 import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.util.AnnotationLiteral;
 import javax.enterprise.util.Nonbinding;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -77,6 +78,21 @@ public final class AnnotationManager
     private CopyOnWriteArraySet<Class<?>> repeatableMethodCheckedTypes = new CopyOnWriteArraySet<>();
     private Map<Class<?>, Optional<Method>> repeatableMethodCache = new ConcurrentHashMap<>();
 
+    /**
+     * Upper limit for the number of qualifier instances we remember a {@link QualifierKey} for.
+     * Protects against applications which create qualifier literals with ever changing values.
+     */
+    private static final int MAX_QUALIFIER_KEYS = 10000;
+
+    private final Map<Class<? extends Annotation>, QualifierType> qualifierTypes = new ConcurrentHashMap<>();
+
+    /**
+     * QualifierKeys of annotations created by the JVM. Those have a reliable equals and hashCode,
+     * whereas {@link javax.enterprise.util.AnnotationLiteral#hashCode()} fails for some member types.
+     */
+    private final Map<Annotation, QualifierKey> qualifierKeys = new ConcurrentHashMap<>();
+    private final Map<QualifierKey, QualifierKey> internedQualifierKeys = new ConcurrentHashMap<>();
+
     private final BeanManagerImpl beanManagerImpl;
     private final WebBeansContext webBeansContext;
 
@@ -256,6 +272,107 @@ public final class AnnotationManager
     }
 
 
+    /**
+     * Returns the canonical {@link QualifierKey} of the given qualifier.
+     * The binding members and their values only get determined once per qualifier instance.
+     * Equivalent qualifiers get the very same QualifierKey instance, thus
+     * keys can get compared by identity.
+     *
+     * @param qualifier the qualifier annotation
+     * @return the interned QualifierKey of the qualifier
+     */
+    public QualifierKey getQualifierKey(Annotation qualifier)
+    {
+        Class<? extends Annotation> annotationType = qualifier.annotationType();
+        QualifierType qualifierType = qualifierTypes.get(annotationType);
+        if (qualifierType == null)
+        {
+            Method[] bindingMembers = AnnotationUtil.getBindingCdiAnnotationMembers(annotationType,
+                beanManagerImpl.getAdditionalAnnotatedTypeQualifiers().get(annotationType));
+            qualifierType = new QualifierType(annotationType, bindingMembers);
+            QualifierType existing = qualifierTypes.putIfAbsent(annotationType, qualifierType);
+            if (existing != null)
+            {
+                // there must only be one interned key per qualifier type without members
+                qualifierType = existing;
+            }
+        }
+
+        if (qualifierType.keyWithoutMembers != null)
+        {
+            return qualifierType.keyWithoutMembers;
+        }
+
+        boolean cacheable = !(qualifier instanceof AnnotationLiteral);
+        if (cacheable)
+        {
+            QualifierKey key = qualifierKeys.get(qualifier);
+            if (key != null)
+            {
+                return key;
+            }
+        }
+
+        QualifierKey key = QualifierKey.of(qualifier, qualifierType.bindingMembers);
+        QualifierKey interned = internedQualifierKeys.get(key);
+        if (interned == null)
+        {
+            if (internedQualifierKeys.size() >= MAX_QUALIFIER_KEYS)
+            {
+                return key;
+            }
+
+            interned = key.intern();
+            QualifierKey existing = internedQualifierKeys.putIfAbsent(key, interned);
+            if (existing != null)
+            {
+                interned = existing;
+            }
+        }
+
+        if (cacheable && qualifierKeys.size() < MAX_QUALIFIER_KEYS)
+        {
+            qualifierKeys.put(qualifier, interned);
+        }
+        return interned;
+    }
+
+    /**
+     * @return the canonical {@link QualifierKey}s of the given qualifiers
+     * @see #getQualifierKey(Annotation)
+     */
+    public QualifierKey[] getQualifierKeys(Annotation... qualifiers)
+    {
+        QualifierKey[] keys = new QualifierKey[qualifiers.length];
+        for (int i = 0; i < qualifiers.length; i++)
+        {
+            keys[i] = getQualifierKey(qualifiers[i]);
+        }
+        return keys;
+    }
+
+    /**
+     * Checks if the two qualifiers are equivalent, ignoring all members annotated with
+     * {@link Nonbinding}.
+     */
+    public boolean isQualifierEqual(Annotation qualifier1, Annotation qualifier2)
+    {
+        return qualifier1 == qualifier2 || getQualifierKey(qualifier1).equals(getQualifierKey(qualifier2));
+    }
+
+    /**
+     * Forget all {@link QualifierKey}s. Needed if the binding members
+     * of a qualifier type change, e.g. due to
+     * {@link javax.enterprise.inject.spi.BeforeBeanDiscovery#addQualifier(AnnotatedType)}.
+     * Must only be used before any QualifierKey got stored somewhere, as keys
+     * handed out before and after this call must not get compared.
+     */
+    public void clearQualifierKeys()
+    {
+        qualifierTypes.clear();
+        qualifierKeys.clear();
+        internedQualifierKeys.clear();
+    }
     /**
      * Returns true if the annotation is defined in xml or annotated with
      * {@link javax.inject.Qualifier} false otherwise.
@@ -981,4 +1098,22 @@ public final class AnnotationManager
     }
     
     
+
+    private static final class QualifierType
+    {
+        private final Method[] bindingMembers;
+
+        /**
+         * The interned key shared by all instances of a qualifier without binding members.
+         */
+        private final QualifierKey keyWithoutMembers;
+
+        private QualifierType(Class<? extends Annotation> annotationType, Method[] bindingMembers)
+        {
+            this.bindingMembers = bindingMembers;
+            keyWithoutMembers = bindingMembers.length == 0
+                ? new QualifierKey(annotationType, AnnotationUtil.EMPTY_OBJECT_ARRAY, true)
+                : null;
+        }
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.apache.webbeans.util.AnnotationUtil;
+
+/**
+ * Canonical representation of a qualifier: the annotation type together
+ * with the values of all its members which are not annotated with
+ * {@link javax.enterprise.util.Nonbinding}.
+ *
+ * Two qualifiers are equivalent in the sense of CDI if and only if their
+ * QualifierKeys are equal. The keys handed out by
+ * {@link AnnotationManager#getQualifierKey(Annotation)} are interned per container,
+ * thus comparing two of them boils down to an identity check.
+ * Interned keys of different containers must not get compared with each other.
+ */
+public final class QualifierKey
+{
+    private final Class<? extends Annotation> annotationType;
+
+    private final Object[] values;
+
+    private final int hashCode;
+
+    /**
+     * Whether this is the single canonical instance of its value.
+     */
+    private final boolean interned;
+
+    QualifierKey(Class<? extends Annotation> annotationType, Object[] values, boolean interned)
+    {
+        this.annotationType = annotationType;
+        this.values = values;
+        this.interned = interned;
+
+        // the hashCode of a Class might be 0 on some JVMs
+        hashCode = 31 * annotationType.getName().hashCode() + Arrays.deepHashCode(values);
+    }
+
+    /**
+     * Create a QualifierKey which is not interned.
+     * Prefer {@link AnnotationManager#getQualifierKey(Annotation)} whenever a container is available.
+     *
+     * @param qualifier the qualifier annotation
+     * @param bindingMembers the binding members of the qualifier type,
+     *                       see {@link AnnotationUtil#getBindingCdiAnnotationMembers(Class, javax.enterprise.inject.spi.AnnotatedType)}
+     */
+    public static QualifierKey of(Annotation qualifier, Method[] bindingMembers)
+    {
+        return new QualifierKey(qualifier.annotationType(), AnnotationUtil.getMemberValues(qualifier, bindingMembers), false);
+    }
+
+    QualifierKey intern()
+    {
+        return interned ? this : new QualifierKey(annotationType, values, true);
+    }
+
+    public Class<? extends Annotation> getAnnotationType()
+    {
+        return annotationType;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof QualifierKey))
+        {
+            return false;
+        }
+
+        QualifierKey other = (QualifierKey) o;
+        if (interned && other.interned)
+        {
+            // there is only one interned instance per value
+            return false;
+        }
+
+        return hashCode == other.hashCode
+                && annotationType == other.annotationType
+                && Arrays.deepEquals(values, other.values);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "QualifierKey{" + annotationType.getName() + Arrays.deepToString(values) + '}';
+    }
+}
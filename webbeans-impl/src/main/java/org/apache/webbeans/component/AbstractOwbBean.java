@@ -73,6 +73,12 @@ public abstract class AbstractOwbBean<T>
      * @see #getId()
      */
     protected String passivatingId;
+
+    /**
+     * Index of this bean within the contexts of its scope, {@code -1} if none got assigned.
+     * @see org.apache.webbeans.context.ContextualInstanceMap
+     */
+    private int contextSlot = -1;
     
     protected final WebBeansContext webBeansContext;
 
@@ -317,6 +323,19 @@ public abstract class AbstractOwbBean<T>
     {
         return enabled;
     }
+
+    /**
+     * @return the index of this bean within the contexts of its scope or {@code -1}
+     */
+    public int getContextSlot()
+    {
+        return contextSlot;
+    }
+
+    public void setContextSlot(int contextSlot)
+    {
+        this.contextSlot = contextSlot;
+    }
     
         
     /**
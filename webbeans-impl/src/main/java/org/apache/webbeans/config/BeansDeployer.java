@@ -76,6 +76,7 @@ import org.apache.webbeans.portable.events.discovery.BeforeBeanDiscoveryImpl;
 import org.apache.webbeans.portable.events.generics.GProcessAnnotatedType;
 import org.apache.webbeans.portable.events.generics.GProcessBean;
 import org.apache.webbeans.portable.events.generics.GProcessManagedBean;
+import org.apache.webbeans.portable.events.generics.GProcessSyntheticAnnotatedType;
 import org.apache.webbeans.spi.BdaScannerService;
 import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.spi.JNDIService;
@@ -185,6 +186,17 @@ public class BeansDeployer
 
     private final Map<String, Boolean> packageVetoCache = new HashMap<>();
 
+    /**
+     * Runs the steps which are independent per bean archive or per bean.
+     * Only parallel during {@link #deploy(ScannerService)} if configured.
+     */
+    private DeploymentExecutor deploymentExecutor = new DeploymentExecutor(1);
+
+    /**
+     * Records the time spent in the deployment phases, disabled by default.
+     */
+    private final StartupProfiler startupProfiler;
+
     /**
      * This BdaInfo is used for all manually added annotated types or in case
      * a non-Bda-aware ScannerService got configured.
@@ -209,6 +221,16 @@ public class BeansDeployer
 
         defaultBeanArchiveInformation = new DefaultBeanArchiveInformation("default");
         defaultBeanArchiveInformation.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
+
+        startupProfiler = new StartupProfiler(webBeansContext.getOpenWebBeansConfiguration());
+    }
+
+    /**
+     * @return the profiler which records the deployment phases, also used for the scanning
+     */
+    public StartupProfiler getStartupProfiler()
+    {
+        return startupProfiler;
     }
 
     /**
@@ -225,9 +247,15 @@ public class BeansDeployer
         try
         {
             if (!deployed)
-            {                
+            {
+                deploymentExecutor = new DeploymentExecutor(webBeansContext.getOpenWebBeansConfiguration().getDeploymentParallelism());
+                if (startupProfiler.isEnabled())
+                {
+                    webBeansContext.getNotificationManager().setStartupProfiler(startupProfiler);
+                }
+
                 //Load Extensions
-                webBeansContext.getExtensionLoader().loadExtensionServices();
+                startupProfiler.run("loadExtensionServices", webBeansContext.getExtensionLoader()::loadExtensionServices);
 
                 // Bind manager
                 JNDIService service = webBeansContext.getService(JNDIService.class);
@@ -249,12 +277,13 @@ public class BeansDeployer
                 webBeansContext.getBeanManagerImpl().addInternalBean(webBeansContext.getWebBeansUtil().getRequestContextControllerBean());
 
                 //Fire Event
-                fireBeforeBeanDiscoveryEvent();
+                startupProfiler.run("fireBeforeBeanDiscoveryEvent", this::fireBeforeBeanDiscoveryEvent);
                 
                 //Configure Default Beans
-                configureDefaultBeans();
+                startupProfiler.run("configureDefaultBeans", this::configureDefaultBeans);
 
-                Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda = annotatedTypesFromClassPath(scanner);
+                Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda
+                    = startupProfiler.call("annotatedTypesFromClassPath", () -> annotatedTypesFromClassPath(scanner));
 
                 List<AnnotatedType<?>> globalBdaAnnotatedTypes = annotatedTypesPerBda.get(defaultBeanArchiveInformation);
 
@@ -267,17 +296,23 @@ public class BeansDeployer
                 }
 
                 // Also configures deployments, interceptors, decorators.
-                deployFromXML(scanner);
+                startupProfiler.run("deployFromXML", () -> deployFromXML(scanner));
 
-                addAdditionalAnnotatedTypes(fireAfterTypeDiscoveryEvent(), globalBdaAnnotatedTypes);
+                addAdditionalAnnotatedTypes(
+                    startupProfiler.call("fireAfterTypeDiscoveryEvent", this::fireAfterTypeDiscoveryEvent), globalBdaAnnotatedTypes);
 
+                if (startupProfiler.isEnabled())
+                {
+                    startupProfiler.count("types", annotatedTypesPerBda.values().stream().mapToLong(List::size).sum());
+                }
 
                 Map<BeanArchiveInformation, Map<AnnotatedType<?>, ExtendedBeanAttributes<?>>> beanAttributesPerBda
-                    = getBeanAttributes(annotatedTypesPerBda);
+                    = startupProfiler.call("getBeanAttributes", () -> getBeanAttributes(annotatedTypesPerBda));
 
                 // shouldn't be used anymore, view is now beanAttributes
                 annotatedTypesPerBda.clear();
 
+                StartupProfiler.Step specializations = startupProfiler.startPhase("specializationsAndStereoTypes");
                 SpecializationUtil specializationUtil = new SpecializationUtil(webBeansContext);
                 specializationUtil.removeDisabledBeanAttributes(beanAttributesPerBda, null, true);
 
@@ -307,30 +342,31 @@ public class BeansDeployer
                             }
                         },
                         false);
+                specializations.end();
 
                 // create beans from the discovered AnnotatedTypes
-                deployFromBeanAttributes(beanAttributesPerBda);
+                startupProfiler.run("deployFromBeanAttributes", () -> deployFromBeanAttributes(beanAttributesPerBda));
 
-                configureProducerMethodSpecializations();
+                startupProfiler.run("configureProducerMethodSpecializations", this::configureProducerMethodSpecializations);
 
                 // all beans which got 'overridden' by a Specialized version can be removed now
-                removeDisabledBeans();
+                startupProfiler.run("removeDisabledBeans", this::removeDisabledBeans);
                 
                 // We are finally done with our bean discovery
-                fireAfterBeanDiscoveryEvent();
+                startupProfiler.run("fireAfterBeanDiscoveryEvent", this::fireAfterBeanDiscoveryEvent);
 
                 // activate InjectionResolver cache now
                 webBeansContext.getBeanManagerImpl().getInjectionResolver().setStartup(false);
                 
-                validateAlternatives(beanAttributesPerBda);
+                startupProfiler.run("validateAlternatives", () -> validateAlternatives(beanAttributesPerBda));
 
-                validateInjectionPoints();
-                validateDisposeParameters();
+                startupProfiler.run("validateInjectionPoints", this::validateInjectionPoints);
+                startupProfiler.run("validateDisposeParameters", this::validateDisposeParameters);
 
-                validateDecoratorDecoratedTypes();
-                validateDecoratorGenericTypes();
+                startupProfiler.run("validateDecoratorDecoratedTypes", this::validateDecoratorDecoratedTypes);
+                startupProfiler.run("validateDecoratorGenericTypes", this::validateDecoratorGenericTypes);
 
-                validateNames();
+                startupProfiler.run("validateNames", this::validateNames);
 
                 if (webBeansContext.getNotificationManager().getObserverMethods().stream()
                         .anyMatch(ObserverMethod::isAsync))
@@ -341,7 +377,12 @@ public class BeansDeployer
                 }
 
                 // fire event
-                fireAfterDeploymentValidationEvent();
+                startupProfiler.run("fireAfterDeploymentValidationEvent", this::fireAfterDeploymentValidationEvent);
+
+                // the set of beans is final now
+                webBeansContext.getBeanManagerImpl().getInjectionResolver().buildNameIndex();
+                webBeansContext.getBeanManagerImpl().assignContextSlots();
+                webBeansContext.getGenericsCache().logStatistics("deployment");
 
 
                 // do some cleanup after the deployment
@@ -377,9 +418,30 @@ public class BeansDeployer
             //if bootstrapping failed, it doesn't make sense to do it again
             //esp. because #addInternalBean might have been called already and would cause an exception in the next run
             deployed = true;
+
+            deploymentExecutor.close();
+            deploymentExecutor = new DeploymentExecutor(1);
+
+            if (startupProfiler.isEnabled())
+            {
+                webBeansContext.getNotificationManager().setStartupProfiler(null);
+                reportStartupProfile();
+            }
         }
     }
 
+    private void reportStartupProfile()
+    {
+        Set<Bean<?>> beans = webBeansContext.getBeanManagerImpl().getBeans();
+        startupProfiler.count("beans", beans.size());
+        startupProfiler.count("injectionPoints", beans.stream().mapToLong(bean -> bean.getInjectionPoints().size()).sum());
+        startupProfiler.count("proxyClasses",
+                webBeansContext.getNormalScopeProxyFactory().getGeneratedProxyCount()
+                + webBeansContext.getInterceptorDecoratorProxyFactory().getGeneratedProxyCount()
+                + webBeansContext.getSubclassProxyFactory().getGeneratedProxyCount());
+        startupProfiler.report();
+    }
+
     /**
      * Ensure "foo" and "foo.bar" conflict and is reported as a DeploymentException but foo.bar and foo.dummy don't conflict.
      */
@@ -439,17 +501,24 @@ public class BeansDeployer
             boolean onlyScopedBeans = BeanDiscoveryMode.TRIM == bdaInfo.getBeanDiscoveryMode();
 
             Map<AnnotatedType<?>, ExtendedBeanAttributes<?>> bdaBeanAttributes = new IdentityHashMap<>(annotatedTypes.size());
+
+            // the BeanAttributes can be created upfront, the ProcessBeanAttributes events must be fired in order
+            Iterator<BeanAttributesCandidate> candidates = deploymentExecutor.isParallel()
+                ? deploymentExecutor.map(annotatedTypes, at -> new BeanAttributesCandidate(at, onlyScopedBeans)).iterator()
+                : null;
+
             Iterator<AnnotatedType<?>> iterator = annotatedTypes.iterator();
             while (iterator.hasNext())
             {
                 AnnotatedType<?> at = iterator.next();
                 Class beanClass = at.getJavaClass();
-                boolean isEjb = discoverEjb && EJBWebBeansConfigurator.isSessionBean(beanClass, webBeansContext);
+                BeanAttributesCandidate candidate = candidates != null ? candidates.next() : new BeanAttributesCandidate(at, onlyScopedBeans);
+                boolean isEjb = candidate.isEjb;
                 try
                 {
-                    if (isEjb || (ClassUtil.isConcrete(beanClass) || WebBeansUtil.isDecorator(at)) && isValidManagedBean(at))
+                    if (candidate.isBean())
                     {
-                        BeanAttributesImpl beanAttributes = BeanAttributesBuilder.forContext(webBeansContext).newBeanAttibutes(at, onlyScopedBeans && !isEjb).build();
+                        BeanAttributesImpl beanAttributes = candidate.beanAttributes;
                         if (beanAttributes != null &&
                                 (!beanAttributes.isAlternative() || isEnabledAlternative(at, beanAttributes.getStereotypes())))
                         {
@@ -492,6 +561,45 @@ public class BeansDeployer
         return beanAttributesPerBda;
     }
 
+    /**
+     * The BeanAttributes of an AnnotatedType before the ProcessBeanAttributes event got fired.
+     * Any failure gets kept to be thrown when the AnnotatedType gets processed.
+     */
+    private final class BeanAttributesCandidate
+    {
+        private final boolean isEjb;
+        private boolean isBean;
+        private BeanAttributesImpl beanAttributes;
+        private Throwable failure;
+
+        private BeanAttributesCandidate(AnnotatedType<?> at, boolean onlyScopedBeans)
+        {
+            Class<?> beanClass = at.getJavaClass();
+            isEjb = discoverEjb && EJBWebBeansConfigurator.isSessionBean(beanClass, webBeansContext);
+            try
+            {
+                isBean = isEjb || (ClassUtil.isConcrete(beanClass) || WebBeansUtil.isDecorator(at)) && isValidManagedBean(at);
+                if (isBean)
+                {
+                    beanAttributes = BeanAttributesBuilder.forContext(webBeansContext).newBeanAttibutes(at, onlyScopedBeans && !isEjb).build();
+                }
+            }
+            catch (RuntimeException | NoClassDefFoundError e)
+            {
+                failure = e;
+            }
+        }
+
+        private boolean isBean()
+        {
+            if (failure != null)
+            {
+                throw ExceptionUtil.throwAsRuntimeException(failure);
+            }
+            return isBean;
+        }
+    }
+
     private boolean isEnabledAlternative(AnnotatedType<?> at, Set<Class<? extends Annotation>> stereotypes)
     {
         AlternativesManager alternativesManager = webBeansContext.getAlternativesManager();
@@ -553,7 +661,7 @@ public class BeansDeployer
     // avoid delegate implementing Foo<A> and decorator implementing Foo<B> with no link between A and B
     private void validateDecoratorGenericTypes()
     {
-        for (Decorator<?> decorator : decoratorsManager.getDecorators())
+        deploymentExecutor.forEach(new ArrayList<>(decoratorsManager.getDecorators()), decorator ->
         {
             Type type = decorator.getDelegateType();
 
@@ -604,7 +712,7 @@ public class BeansDeployer
                     }
                 }
             }
-        }
+        });
     }
 
     /**
@@ -616,13 +724,15 @@ public class BeansDeployer
      */
     private void removeDisabledBeans()
     {
-        Iterator<Bean<?>> beans = webBeansContext.getBeanManagerImpl().getBeans().iterator();
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        Iterator<Bean<?>> beans = beanManager.getBeans().iterator();
         while(beans.hasNext())
         {
             Bean<?> bean = beans.next();
             if (!((OwbBean) bean).isEnabled())
             {
                 beans.remove();
+                beanManager.getInjectionResolver().removeFromBeanTypeIndex(bean);
             }
         }
     }
@@ -1120,6 +1230,11 @@ public class BeansDeployer
         if (beans != null && beans.size() > 0)
         {
             LinkedList<String> beanNames = new LinkedList<>();
+
+            // in parallel mode the injection points get validated after the interceptor stacks got defined
+            List<Bean<?>> deferredBeans = deploymentExecutor.isParallel() ? new ArrayList<>(beans.size()) : null;
+            RuntimeException deferredFailure = null;
+
             for (Bean<?> bean : beans)
             {
                 try
@@ -1181,24 +1296,49 @@ public class BeansDeployer
                         }
                     }
 
-                    //Bean injection points
-                    Set<InjectionPoint> injectionPoints = bean.getInjectionPoints();
-
-                    //Check injection points
-                    if (injectionPoints != null)
+                    if (deferredBeans != null)
                     {
-                        webBeansContext.getWebBeansUtil().validate(injectionPoints, bean);
+                        deferredBeans.add(bean);
+                    }
+                    else
+                    {
+                        validateBean(bean);
                     }
-
-                    //Check passivation scope
-                    checkPassivationScope(bean);
                 }
                 catch (RuntimeException e)
                 {
-                    throw ExceptionUtil.addInformation(e, "Problem while validating bean " + bean);
+                    RuntimeException failure = ExceptionUtil.addInformation(e, "Problem while validating bean " + bean);
+                    if (deferredBeans == null)
+                    {
+                        throw failure;
+                    }
+
+                    // failures of the beans before this one take precedence
+                    deferredFailure = failure;
+                    break;
                 }
 
             }
+
+            if (deferredBeans != null)
+            {
+                deploymentExecutor.forEach(deferredBeans, bean ->
+                {
+                    try
+                    {
+                        validateBean(bean);
+                    }
+                    catch (RuntimeException e)
+                    {
+                        throw ExceptionUtil.addInformation(e, "Problem while validating bean " + bean);
+                    }
+                });
+                if (deferredFailure != null)
+                {
+                    throw deferredFailure;
+                }
+            }
+
             //Validate Bean names
             validateBeanNames(beanNames);
 
@@ -1208,16 +1348,31 @@ public class BeansDeployer
         
     }
     
+    private void validateBean(Bean<?> bean)
+    {
+        //Bean injection points
+        Set<InjectionPoint> injectionPoints = bean.getInjectionPoints();
+
+        //Check injection points
+        if (injectionPoints != null)
+        {
+            webBeansContext.getWebBeansUtil().validate(injectionPoints, bean);
+        }
+
+        //Check passivation scope
+        checkPassivationScope(bean);
+    }
+
     private void validateObservers(Collection<ObserverMethod<?>> observerMethods)
     {
-        for (ObserverMethod<?> observerMethod: observerMethods)
+        deploymentExecutor.forEach(new ArrayList<>(observerMethods), observerMethod ->
         {
             if (observerMethod instanceof OwbObserverMethod)
             {
                 OwbObserverMethod<?> owbObserverMethod = (OwbObserverMethod<?>)observerMethod;
                 webBeansContext.getWebBeansUtil().validate(owbObserverMethod.getInjectionPoints(), null);
             }
-        }
+        });
     }
 
     private void validateBeanNames(LinkedList<String> beanNames)
@@ -1281,6 +1436,17 @@ public class BeansDeployer
         {
             Map<BeanArchiveInformation, Set<Class<?>>> beanClassesPerBda = ((BdaScannerService) scanner).getBeanClassesPerBda();
 
+            if (deploymentExecutor.isParallel())
+            {
+                List<Class<?>> allClasses = new ArrayList<>();
+                beanClassesPerBda.values().forEach(allClasses::addAll);
+                if (scanner.getBeanClasses() != null)
+                {
+                    allClasses.addAll(scanner.getBeanClasses());
+                }
+                prepareAnnotatedTypes(allClasses);
+            }
+
             for (Map.Entry<BeanArchiveInformation, Set<Class<?>>> bdaEntry : beanClassesPerBda.entrySet())
             {
                 List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(bdaEntry.getValue(), foundClasses);
@@ -1296,6 +1462,10 @@ public class BeansDeployer
             // this path is only for backward compat to older ScannerService implementations
 
             Set<Class<?>> classIndex = scanner.getBeanClasses();
+            if (deploymentExecutor.isParallel() && classIndex != null)
+            {
+                prepareAnnotatedTypes(new ArrayList<>(classIndex));
+            }
             List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(classIndex, foundClasses);
 
             annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypes);
@@ -1305,6 +1475,44 @@ public class BeansDeployer
         return annotatedTypesPerBda;
     }
 
+    /**
+     * Create the AnnotatedTypes of the given classes and introspect their members upfront in parallel.
+     * They get picked up from the AnnotatedElementFactory cache afterwards.
+     * The ProcessAnnotatedType events still get fired in order by
+     * {@link #annotatedTypesFromBdaClassPath(Set, Set)}, which also reports any failure.
+     */
+    private void prepareAnnotatedTypes(List<Class<?>> classes)
+    {
+        AnnotatedElementFactory annotatedElementFactory = webBeansContext.getAnnotatedElementFactory();
+
+        List<Class<?>> toPrepare = new ArrayList<>(classes.size());
+        for (Class<?> implClass : classes)
+        {
+            if (!isVetoed(implClass))
+            {
+                toPrepare.add(implClass);
+            }
+        }
+
+        deploymentExecutor.forEach(toPrepare, implClass ->
+        {
+            try
+            {
+                AnnotatedType<?> annotatedType = annotatedElementFactory.newAnnotatedType(implClass);
+                if (annotatedType != null)
+                {
+                    annotatedType.getConstructors();
+                    annotatedType.getMethods();
+                    annotatedType.getFields();
+                }
+            }
+            catch (RuntimeException | LinkageError e)
+            {
+                // will be handled when the AnnotatedType gets processed
+            }
+        });
+    }
+
     /**
      * @param foundClasses classes which already got processed. To prevent picking up the same class from multiple classpaths
      */
@@ -1361,8 +1569,9 @@ public class BeansDeployer
                     annotatedType.getJavaClass().getDeclaredMethods();
                     annotatedType.getJavaClass().getDeclaredFields();
 
-                    // Fires ProcessAnnotatedType
-                    if (!annotatedType.getJavaClass().isAnnotation())
+                    // Fires ProcessAnnotatedType, but only if any Extension is interested in this type
+                    if (!annotatedType.getJavaClass().isAnnotation()
+                            && webBeansContext.getNotificationManager().hasProcessAnnotatedTypeObserver(GProcessAnnotatedType.class, annotatedType))
                     {
                         GProcessAnnotatedType processAnnotatedEvent = webBeansContext.getWebBeansUtil().fireProcessAnnotatedTypeEvent(annotatedType);
                         if (!processAnnotatedEvent.isVeto())
@@ -1467,7 +1676,8 @@ public class BeansDeployer
         for (AnnotatedType<?> annotatedType : toDeploy)
         {
             // Fires ProcessAnnotatedType
-            ProcessSyntheticAnnotatedTypeImpl<?> processAnnotatedEvent = !annotatedType.getJavaClass().isAnnotation() ?
+            ProcessSyntheticAnnotatedTypeImpl<?> processAnnotatedEvent = !annotatedType.getJavaClass().isAnnotation()
+                    && webBeansContext.getNotificationManager().hasProcessAnnotatedTypeObserver(GProcessSyntheticAnnotatedType.class, annotatedType) ?
                     webBeansContext.getWebBeansUtil().fireProcessSyntheticAnnotatedTypeEvent(annotatedType) : null;
 
             if (processAnnotatedEvent == null || !processAnnotatedEvent.isVeto())
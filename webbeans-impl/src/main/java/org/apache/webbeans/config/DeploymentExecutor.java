@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.config;
+
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.util.ExceptionUtil;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Runs independent deployment steps of the {@link BeansDeployer}, optionally in parallel.
+ *
+ * The results are always returned in the order of the given items.
+ * If any step fails, the failure of the first failing item gets thrown,
+ * which is the same failure a sequential run would report.
+ *
+ * @see OpenWebBeansConfiguration#DEPLOYMENT_PARALLELISM
+ */
+final class DeploymentExecutor implements AutoCloseable
+{
+    private final ForkJoinPool pool;
+
+    DeploymentExecutor(int parallelism)
+    {
+        if (parallelism > 1)
+        {
+            // worker threads must see the same ClassLoader to find the same WebBeansContext
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            pool = new ForkJoinPool(parallelism, p ->
+            {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setName("OwbDeployer-" + thread.getPoolIndex());
+                thread.setContextClassLoader(loader);
+                return thread;
+            }, null, false);
+        }
+        else
+        {
+            pool = null;
+        }
+    }
+
+    boolean isParallel()
+    {
+        return pool != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> function)
+    {
+        int size = items.size();
+        Object[] results = new Object[size];
+        if (pool == null || size < 2)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                results[i] = function.apply(items.get(i));
+            }
+            return (List<R>) Arrays.asList(results);
+        }
+
+        Throwable[] failures = new Throwable[size];
+        try
+        {
+            pool.submit(() -> IntStream.range(0, size).parallel().forEach(i ->
+            {
+                try
+                {
+                    results[i] = function.apply(items.get(i));
+                }
+                catch (RuntimeException | Error e)
+                {
+                    failures[i] = e;
+                }
+            })).get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new WebBeansException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw ExceptionUtil.throwAsRuntimeException(e.getCause());
+        }
+
+        for (Throwable failure : failures)
+        {
+            if (failure != null)
+            {
+                throw ExceptionUtil.throwAsRuntimeException(failure);
+            }
+        }
+        return (List<R>) Arrays.asList(results);
+    }
+
+    <T> void forEach(List<T> items, Consumer<? super T> action)
+    {
+        map(items, item ->
+        {
+            action.accept(item);
+            return null;
+        });
+    }
+
+    @Override
+    public void close()
+    {
+        if (pool != null)
+        {
+            pool.shutdownNow();
+        }
+    }
+}
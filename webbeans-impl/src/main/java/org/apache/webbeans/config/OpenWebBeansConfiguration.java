@@ -55,8 +55,11 @@ public class OpenWebBeansConfiguration
     private static final Logger logger = WebBeansLoggerFacade.getLogger(OpenWebBeansConfiguration.class);
 
     /**
-     * Conversation periodic delay in ms. This is not used by OWB out of the box.
-     * Some Containers might implement it though.
+     * Conversation periodic delay in ms.
+     * If set to a value &gt; 0 timed out conversations get destroyed by a low priority
+     * background thread which runs with this delay. A request then only takes care of its own
+     * conversation instead of checking all conversations of the session.
+     * Default is 0 which checks all conversations of the session at the end of each request.
      */
     public static final String CONVERSATION_PERIODIC_DELAY = "org.apache.webbeans.conversation.Conversation.periodicDelay";
 
@@ -194,6 +197,17 @@ public class OpenWebBeansConfiguration
      */
     public static final String EAGER_SESSION_INITIALISATION = "org.apache.webbeans.web.eagerSessionInitialisation";
 
+    /**
+     * How the SessionContext gets stored in the HttpSession.
+     * <ul>
+     *     <li>&quot;context&quot; (default) the whole SessionContext is a single attribute which gets re-set in every request</li>
+     *     <li>&quot;bean&quot; each &#064;SessionScoped bean gets its own attribute and only the beans used in a request get re-set.
+     *     Beans can opt out via {@code org.apache.webbeans.web.context.ImmutableSessionBean}
+     *     or {@code org.apache.webbeans.web.context.DirtyAware}</li>
+     * </ul>
+     */
+    public static final String SESSION_REPLICATION_MODE = "org.apache.webbeans.web.sessionReplicationMode";
+
     /**
      * The Java Version to use for the generated proxy classes.
      * If "auto" then we will pick the version of the current JVM.
@@ -202,6 +216,103 @@ public class OpenWebBeansConfiguration
      */
     public static final String GENERATOR_JAVA_VERSION = "org.apache.webbeans.generator.javaVersion";
 
+    /**
+     * If set to {@code true} the InterceptorDecoratorProxyFactory generates a method invoker
+     * class for each intercepted or decorated class. This allows to invoke the target methods
+     * at the end of the interceptor and decorator chain without using reflection.
+     * Default is {@code false}.
+     */
+    public static final String GENERATE_METHOD_INVOKERS = "org.apache.webbeans.proxy.generateMethodInvokers";
+
+    /**
+     * If set to {@code true} the scanner reads the classes of a bean archive from its
+     * {@code META-INF/openwebbeans/bean-archive.index} instead of parsing their bytecode,
+     * as long as this index is present and fresh.
+     * The index gets written at build time by the openwebbeans-maven-plugin and openwebbeans-gradle.
+     * Default is {@code false}.
+     */
+    public static final String USE_BEAN_ARCHIVE_INDEX = "org.apache.webbeans.scanner.useBeanArchiveIndex";
+
+    /**
+     * Number of threads the BeansDeployer may use for the deployment steps
+     * which are independent per bean archive or per bean, e.g. creating the AnnotatedTypes,
+     * the BeanAttributes and validating the injection points.
+     * Container lifecycle events still get fired in order on the deploying thread.
+     * {@code 1} deploys sequentially, {@code 0} uses one thread per available processor.
+     * Default is {@code 1}.
+     */
+    public static final String DEPLOYMENT_PARALLELISM = "org.apache.webbeans.deployer.parallelism";
+
+    /**
+     * If set to {@code true} the wall and CPU time of each deployment phase and of each
+     * Extension observer method gets recorded and reported after the deployment.
+     * Default is {@code false}.
+     */
+    public static final String STARTUP_PROFILER = "org.apache.webbeans.deployer.profiler";
+
+    /**
+     * If set, the {@link #STARTUP_PROFILER} report gets written as JSON to this file
+     * instead of getting logged.
+     */
+    public static final String STARTUP_PROFILER_FILE = "org.apache.webbeans.deployer.profiler.file";
+
+    /**
+     * Number of threads of the default Executor for asynchronous observer methods.
+     * It only gets used if no {@link java.util.concurrent.Executor} SPI is configured.
+     * {@code 0} uses one thread per available processor, which is the default.
+     */
+    public static final String ASYNC_EVENT_THREADS = "org.apache.webbeans.event.async.threads";
+
+    /**
+     * Maximum number of pending tasks of the default Executor for asynchronous observer methods.
+     * Default is {@code 10000}.
+     */
+    public static final String ASYNC_EVENT_QUEUE_SIZE = "org.apache.webbeans.event.async.queueSize";
+
+    /**
+     * What happens if the queue of the default Executor for asynchronous observer methods is full.
+     * <ul>
+     *     <li>&quot;abort&quot; (default) the CompletionStage returned by fireAsync completes exceptionally
+     *     with a {@link java.util.concurrent.RejectedExecutionException}</li>
+     *     <li>&quot;block&quot; the firing thread waits until there is space in the queue.
+     *     Threads of the executor itself, e.g. async observers firing async events, never wait but abort.</li>
+     * </ul>
+     */
+    public static final String ASYNC_EVENT_REJECTION_POLICY = "org.apache.webbeans.event.async.rejectionPolicy";
+
+    /**
+     * If set to {@code true} all asynchronous observer methods of one event get notified
+     * in a single task and a single RequestContext, one after the other in the order of their priority.
+     * Default is {@code false} which uses a separate task and RequestContext per observer method.
+     */
+    public static final String ASYNC_EVENT_BATCH_OBSERVERS = "org.apache.webbeans.event.async.batchObservers";
+
+    /**
+     * If set, the bytecode of generated proxy classes gets stored in this directory
+     * and gets reused on the next start instead of generating the proxy classes again.
+     * The entries are keyed by the bytecode of the proxied classes, the proxied methods
+     * and the OpenWebBeans version, so changed classes simply lead to new entries.
+     * Default is empty which disables the cache.
+     */
+    public static final String PROXY_CACHE_DIRECTORY = "org.apache.webbeans.proxy.cacheDirectory";
+
+    /**
+     * Maximum number of remembered generic assignability checks and type closures,
+     * see {@link org.apache.webbeans.util.GenericsCache}. Each of both caches gets
+     * cleared once it reaches this size. {@code 0} disables the caches.
+     * Default is {@code 10000}.
+     */
+    public static final String GENERICS_CACHE_SIZE = "org.apache.webbeans.generics.cacheSize";
+
+    /**
+     * Maximum number of remembered observer resolutions for fired events.
+     * Qualifier members are part of the cache key, so events fired with
+     * changing qualifier values could otherwise grow the cache without limit.
+     * The cache gets cleared once it reaches this size. {@code 0} disables the cache.
+     * Default is {@code 1000}.
+     */
+    public static final String OBSERVER_CACHE_SIZE = "org.apache.webbeans.event.observerCacheSize";
+
 
     /**Default configuration files*/
     private static final String DEFAULT_CONFIG_PROPERTIES_NAME = "META-INF/openwebbeans/openwebbeans.properties";
@@ -527,6 +638,108 @@ public class OpenWebBeansConfiguration
         return Boolean.parseBoolean(getProperty(PRODUCER_INTERCEPTION_SUPPORT, "true"));
     }
 
+    /**
+     * @see #GENERATE_METHOD_INVOKERS
+     */
+    public boolean generateMethodInvokers()
+    {
+        return Boolean.parseBoolean(getProperty(GENERATE_METHOD_INVOKERS, "false"));
+    }
+
+    /**
+     * @see #USE_BEAN_ARCHIVE_INDEX
+     */
+    public boolean useBeanArchiveIndex()
+    {
+        return Boolean.parseBoolean(getProperty(USE_BEAN_ARCHIVE_INDEX, "false"));
+    }
+
+    /**
+     * @see #DEPLOYMENT_PARALLELISM
+     */
+    public int getDeploymentParallelism()
+    {
+        int parallelism = Integer.parseInt(getProperty(DEPLOYMENT_PARALLELISM, "1").trim());
+        return parallelism <= 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+    }
+
+    /**
+     * @see #STARTUP_PROFILER
+     */
+    public boolean isStartupProfilerEnabled()
+    {
+        return Boolean.parseBoolean(getProperty(STARTUP_PROFILER, "false"));
+    }
+
+    /**
+     * @return the file the startup profiler report shall get written to or {@code null} to log it
+     * @see #STARTUP_PROFILER_FILE
+     */
+    public String getStartupProfilerFile()
+    {
+        String file = getProperty(STARTUP_PROFILER_FILE);
+        return file == null || file.trim().isEmpty() ? null : file.trim();
+    }
+
+    /**
+     * @return the directory to cache generated proxy classes in or {@code null} if the cache is disabled
+     * @see #PROXY_CACHE_DIRECTORY
+     */
+    public String getProxyCacheDirectory()
+    {
+        String directory = getProperty(PROXY_CACHE_DIRECTORY);
+        return directory == null || directory.trim().isEmpty() ? null : directory.trim();
+    }
+
+    /**
+     * @see #GENERICS_CACHE_SIZE
+     */
+    public int getGenericsCacheSize()
+    {
+        return Integer.parseInt(getProperty(GENERICS_CACHE_SIZE, "10000").trim());
+    }
+
+    /**
+     * @see #OBSERVER_CACHE_SIZE
+     */
+    public int getObserverCacheSize()
+    {
+        return Integer.parseInt(getProperty(OBSERVER_CACHE_SIZE, "1000").trim());
+    }
+
+    /**
+     * @see #ASYNC_EVENT_THREADS
+     */
+    public int getAsyncEventThreads()
+    {
+        int threads = Integer.parseInt(getProperty(ASYNC_EVENT_THREADS, "0").trim());
+        return threads <= 0 ? Runtime.getRuntime().availableProcessors() : threads;
+    }
+
+    /**
+     * @see #ASYNC_EVENT_QUEUE_SIZE
+     */
+    public int getAsyncEventQueueSize()
+    {
+        return Integer.parseInt(getProperty(ASYNC_EVENT_QUEUE_SIZE, "10000").trim());
+    }
+
+    /**
+     * @see #ASYNC_EVENT_REJECTION_POLICY
+     */
+    public String getAsyncEventRejectionPolicy()
+    {
+        return getProperty(ASYNC_EVENT_REJECTION_POLICY, "abort").trim();
+    }
+
+    /**
+     * @see #ASYNC_EVENT_BATCH_OBSERVERS
+     */
+    public boolean isAsyncEventBatchObservers()
+    {
+        return Boolean.parseBoolean(getProperty(ASYNC_EVENT_BATCH_OBSERVERS, "false"));
+    }
+
     public String getGeneratorJavaVersion()
     {
         String generatorJavaVersion = getProperty(GENERATOR_JAVA_VERSION);
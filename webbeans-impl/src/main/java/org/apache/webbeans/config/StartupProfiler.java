@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.config;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Records the wall and CPU time of the deployment phases and of the Extension observer methods.
+ * Observer methods get invoked within the phases, so their times are also part of the phase times.
+ *
+ * A disabled profiler does not record anything.
+ *
+ * @see OpenWebBeansConfiguration#STARTUP_PROFILER
+ */
+public final class StartupProfiler
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(StartupProfiler.class);
+
+    private static final Step NO_STEP = () ->
+    {
+    };
+
+    private final boolean enabled;
+    private final String reportFile;
+    private final ThreadMXBean threadMXBean;
+
+    private final Map<String, Stat> phases = new ConcurrentHashMap<>();
+    private final Map<String, Stat> observers = new ConcurrentHashMap<>();
+    private final Map<String, Long> counts = new ConcurrentHashMap<>();
+
+    public StartupProfiler(OpenWebBeansConfiguration configuration)
+    {
+        enabled = configuration.isStartupProfilerEnabled();
+        reportFile = configuration.getStartupProfilerFile();
+        ThreadMXBean bean = enabled ? ManagementFactory.getThreadMXBean() : null;
+        threadMXBean = bean != null && bean.isCurrentThreadCpuTimeSupported() ? bean : null;
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Start to record a deployment phase.
+     * @return the step to end once the phase is done
+     */
+    public Step startPhase(String name)
+    {
+        return enabled ? new Measurement(phases.computeIfAbsent(name, n -> new Stat())) : NO_STEP;
+    }
+
+    /**
+     * Start to record the invocation of an observer method.
+     * @return the step to end once the observer method returned
+     */
+    public Step startObserver(String name)
+    {
+        return enabled ? new Measurement(observers.computeIfAbsent(name, n -> new Stat())) : NO_STEP;
+    }
+
+    public void run(String name, Runnable phase)
+    {
+        Step step = startPhase(name);
+        try
+        {
+            phase.run();
+        }
+        finally
+        {
+            step.end();
+        }
+    }
+
+    public <T> T call(String name, Supplier<T> phase)
+    {
+        Step step = startPhase(name);
+        try
+        {
+            return phase.get();
+        }
+        finally
+        {
+            step.end();
+        }
+    }
+
+    public void count(String name, long value)
+    {
+        if (enabled)
+        {
+            counts.put(name, value);
+        }
+    }
+
+    /**
+     * Log the recorded times sorted by wall time or write them as JSON
+     * if {@link OpenWebBeansConfiguration#STARTUP_PROFILER_FILE} is set.
+     */
+    public void report()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        if (reportFile == null)
+        {
+            if (logger.isLoggable(Level.INFO))
+            {
+                logger.info(toText());
+            }
+            return;
+        }
+
+        Path path = Paths.get(reportFile);
+        try
+        {
+            if (path.getParent() != null)
+            {
+                Files.createDirectories(path.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8))
+            {
+                writer.write(toJson());
+            }
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Unable to write the startup profile to " + path, e);
+        }
+    }
+
+    String toText()
+    {
+        StringBuilder report = new StringBuilder("OpenWebBeans startup profile (wall ms / cpu ms / invocations)");
+        appendText(report, "Deployment phases", phases);
+        appendText(report, "Extension observer methods", observers);
+        report.append("\nCounts");
+        counts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> report.append("\n  ").append(e.getKey()).append(": ").append(e.getValue()));
+        return report.toString();
+    }
+
+    String toJson()
+    {
+        StringBuilder json = new StringBuilder("{\n");
+        appendJson(json, "phases", phases);
+        json.append(",\n");
+        appendJson(json, "observers", observers);
+        json.append(",\n  \"counts\": {");
+        List<Map.Entry<String, Long>> sortedCounts = new ArrayList<>(counts.entrySet());
+        sortedCounts.sort(Map.Entry.comparingByKey());
+        for (int i = 0; i < sortedCounts.size(); i++)
+        {
+            json.append(i == 0 ? "\n" : ",\n")
+                    .append("    ").append(quote(sortedCounts.get(i).getKey()))
+                    .append(": ").append(sortedCounts.get(i).getValue());
+        }
+        json.append("\n  }\n}\n");
+        return json.toString();
+    }
+
+    private static void appendText(StringBuilder report, String title, Map<String, Stat> stats)
+    {
+        report.append('\n').append(title);
+        for (Map.Entry<String, Stat> entry : sorted(stats))
+        {
+            Stat stat = entry.getValue();
+            report.append(String.format("%n  %10.3f %10.3f %8d  %s",
+                    millis(stat.wall.sum()), millis(stat.cpu.sum()), stat.invocations.sum(), entry.getKey()));
+        }
+    }
+
+    private static void appendJson(StringBuilder json, String name, Map<String, Stat> stats)
+    {
+        json.append("  ").append(quote(name)).append(": [");
+        List<Map.Entry<String, Stat>> entries = sorted(stats);
+        for (int i = 0; i < entries.size(); i++)
+        {
+            Stat stat = entries.get(i).getValue();
+            json.append(i == 0 ? "\n" : ",\n")
+                    .append("    {\"name\": ").append(quote(entries.get(i).getKey()))
+                    .append(", \"wallNanos\": ").append(stat.wall.sum())
+                    .append(", \"cpuNanos\": ").append(stat.cpu.sum())
+                    .append(", \"invocations\": ").append(stat.invocations.sum())
+                    .append('}');
+        }
+        json.append("\n  ]");
+    }
+
+    private static List<Map.Entry<String, Stat>> sorted(Map<String, Stat> stats)
+    {
+        List<Map.Entry<String, Stat>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Stat> e) -> e.getValue().wall.sum()).reversed());
+        return entries;
+    }
+
+    private static double millis(long nanos)
+    {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static String quote(String value)
+    {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray())
+        {
+            if (c == '"' || c == '\\')
+            {
+                quoted.append('\\').append(c);
+            }
+            else if (c < ' ')
+            {
+                quoted.append(String.format("\\u%04x", (int) c));
+            }
+            else
+            {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * A started measurement.
+     */
+    @FunctionalInterface
+    public interface Step
+    {
+        void end();
+    }
+
+    private static final class Stat
+    {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder wall = new LongAdder();
+        private final LongAdder cpu = new LongAdder();
+    }
+
+    private final class Measurement implements Step
+    {
+        private final Stat stat;
+        private final long wallStart;
+        private final long cpuStart;
+
+        private Measurement(Stat stat)
+        {
+            this.stat = stat;
+            cpuStart = threadMXBean != null ? threadMXBean.getCurrentThreadCpuTime() : 0;
+            wallStart = System.nanoTime();
+        }
+
+        @Override
+        public void end()
+        {
+            stat.wall.add(System.nanoTime() - wallStart);
+            if (threadMXBean != null)
+            {
+                stat.cpu.add(threadMXBean.getCurrentThreadCpuTime() - cpuStart);
+            }
+            stat.invocations.increment();
+        }
+    }
+}
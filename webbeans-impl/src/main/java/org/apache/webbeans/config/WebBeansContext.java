@@ -64,10 +64,12 @@ import org.apache.webbeans.spi.ApplicationBoundaryService;
 import org.apache.webbeans.spi.ContextsService;
 import org.apache.webbeans.spi.ConversationService;
 import org.apache.webbeans.spi.LoaderService;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.spi.ScannerService;
 import org.apache.webbeans.spi.SecurityService;
 import org.apache.webbeans.spi.plugins.OpenWebBeansPlugin;
 import org.apache.webbeans.util.ClassUtil;
+import org.apache.webbeans.util.GenericsCache;
 import org.apache.webbeans.util.WebBeansUtil;
 import org.apache.webbeans.xml.DefaultBeanArchiveService;
 
@@ -114,6 +116,8 @@ public class WebBeansContext
     private ConversationService conversationService;
     private final ApplicationBoundaryService applicationBoundaryService;
     private final NotificationManager notificationManager;
+    private final MetricsService metricsService;
+    private final GenericsCache genericsCache;
 
 
     public WebBeansContext()
@@ -162,6 +166,12 @@ public class WebBeansContext
         securityService = getService(SecurityService.class);
         applicationBoundaryService = getService(ApplicationBoundaryService.class);
 
+        metricsService = getService(MetricsService.class);
+        if (metricsService != null)
+        {
+            beanManagerImpl.setMetricsService(metricsService);
+        }
+
         interceptorDecoratorProxyFactory = new InterceptorDecoratorProxyFactory(this);
         normalScopeProxyFactory = new NormalScopeProxyFactory(this);
         subclassProxyFactory = new SubclassProxyFactory(this);
@@ -170,6 +180,7 @@ public class WebBeansContext
         conversationManager = new ConversationManager(this);
 
         notificationManager = new NotificationManager(this);
+        genericsCache = new GenericsCache(this);
 
         beanManagerImpl.getInjectionResolver().setFastMatching(!"false".equalsIgnoreCase(getOpenWebBeansConfiguration()
                 .getProperty(OpenWebBeansConfiguration.FAST_MATCHING)));
@@ -376,6 +387,11 @@ public class WebBeansContext
         return notificationManager;
     }
 
+    public GenericsCache getGenericsCache()
+    {
+        return genericsCache;
+    }
+
     public ConversationService getConversationService()
     {
         if (conversationService == null)
@@ -608,6 +624,11 @@ public class WebBeansContext
      */
     public void clear()
     {
+        conversationManager.stopConversationReaper();
+        notificationManager.shutdownDefaultExecutor();
+        genericsCache.logStatistics("shutdown");
+        genericsCache.clear();
+
         destroyServices(managerMap.values());
         destroyServices(serviceMap.values());
 
@@ -647,6 +668,14 @@ public class WebBeansContext
         }
     }
 
+    /**
+     * @return the configured {@link MetricsService} or {@code null} if metrics are disabled
+     */
+    public MetricsService getMetricsService()
+    {
+        return metricsService;
+    }
+
     public LoaderService getLoaderService()
     {
         return loaderService;
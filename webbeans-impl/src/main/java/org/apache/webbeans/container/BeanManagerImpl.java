@@ -98,6 +98,7 @@ import org.apache.webbeans.portable.LazyInterceptorDefinedInjectionTarget;
 import org.apache.webbeans.portable.events.discovery.ErrorStack;
 import org.apache.webbeans.portable.events.generics.GProcessInjectionPoint;
 import org.apache.webbeans.portable.events.generics.GProcessInjectionTarget;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.spi.adaptor.ELAdaptor;
 import org.apache.webbeans.spi.plugins.OpenWebBeansEjbPlugin;
 import org.apache.webbeans.util.AnnotationUtil;
@@ -148,6 +149,13 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     /**Normal scoped cache proxies*/
     private Map<Contextual<?>, Object> cacheProxies = new ConcurrentHashMap<>();
 
+    /**
+     * Everything {@link #getReference(Bean, Type, CreationalContext)} already found out about a bean,
+     * including the requested types which got validated already.
+     * Only used for our own {@link OwbBean}s as 3rd party beans might be created on the fly.
+     */
+    private Map<Bean<?>, BeanReference> beanReferences = new ConcurrentHashMap<>();
+
     /**Injection resolver instance*/
     private InjectionResolver injectionResolver;
 
@@ -166,10 +174,10 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     private List<ExternalScope> additionalScopes = new ArrayList<>();
 
     /** quick detection if an annotation is a scope-annotation  */
-    private Set<Class<? extends Annotation>> scopeAnnotations = new HashSet<>();
+    private Set<Class<? extends Annotation>> scopeAnnotations = ConcurrentHashMap.newKeySet();
 
     /** quick detection if an annotation is NOT a scope-annotation  */
-    private Set<Class<? extends Annotation>> nonscopeAnnotations = new HashSet<>();
+    private Set<Class<? extends Annotation>> nonscopeAnnotations = ConcurrentHashMap.newKeySet();
 
 
     private ConcurrentMap<Class<?>, ConcurrentMap<String, AnnotatedType<?>>> additionalAnnotatedTypes = new ConcurrentHashMap<>();
@@ -221,7 +229,13 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     /**
      * Map to be able to lookup always 3rd party beans when user does lookups with custom beans.
      */
-    private Map<Bean<?>, Bean<?>> thirdPartyMapping = new HashMap<>();
+    private Map<Bean<?>, Bean<?>> thirdPartyMapping = new ConcurrentHashMap<>();
+
+    /**
+     * Call counters, only set if a {@link MetricsService} is configured.
+     */
+    private MetricsService.Counter getContextCalls;
+    private MetricsService.Counter getReferenceCalls;
 
     /**
      * Creates a new {@link BeanManager} instance.
@@ -259,6 +273,17 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return errorStack;
     }
 
+    /**
+     * Enables the call counters of this BeanManager and its {@link InjectionResolver}.
+     * Called by the {@link WebBeansContext} during its construction.
+     */
+    public void setMetricsService(MetricsService metricsService)
+    {
+        getContextCalls = metricsService.counter("beanManager.getContext");
+        getReferenceCalls = metricsService.counter("beanManager.getReference");
+        injectionResolver.setMetricsService(metricsService);
+    }
+
     /**
      * Gets injection resolver.
      *
@@ -280,6 +305,10 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     public Context getContext(Class<? extends Annotation> scopeType)
     {
         Asserts.assertNotNull(scopeType, "scopeType");
+        if (getContextCalls != null)
+        {
+            getContextCalls.increment();
+        }
 
         Context standardContext = webBeansContext.getContextsService().getCurrentContext(scopeType);
 
@@ -363,6 +392,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         {
             addPassivationInfo(newBean);
             deploymentBeans.add(newBean);
+            injectionResolver.addToBeanTypeIndex(newBean);
         }
         else
         {
@@ -377,6 +407,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             }
             addPassivationInfo(bean);
             deploymentBeans.add(bean);
+            injectionResolver.addToBeanTypeIndex(bean);
             thirdPartyMapping.put(newBean, bean);
         }
 
@@ -624,6 +655,24 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return injectionResolver.implResolveByName(name);
     }
 
+    /**
+     * @return {@code false} if the given EL name can neither resolve to a bean nor is a prefix of a dotted bean name
+     * @see InjectionResolver#isCandidateName(String)
+     */
+    public boolean isCandidateName(String name)
+    {
+        return injectionResolver.isCandidateName(name);
+    }
+
+    /**
+     * @return {@code true} if the given EL name is a prefix of a dotted bean name
+     * @see InjectionResolver#isNamePrefix(String)
+     */
+    public boolean isNamePrefix(String name)
+    {
+        return injectionResolver.isNamePrefix(name);
+    }
+
     @Override
     public ELResolver getELResolver()
     {
@@ -679,6 +728,17 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         }
         else
         {
+            // the proxy doesn't need any CreationalContext once the injection point type got validated
+            Object proxy = getValidatedProxy(injectedBean, injectionPoint.getType());
+            if (proxy != null)
+            {
+                if (getReferenceCalls != null)
+                {
+                    getReferenceCalls.increment();
+                }
+                return proxy;
+            }
+
             //New creational context for normal scoped beans
             CreationalContextImpl<Object> injectedCreational = (CreationalContextImpl<Object>)createCreationalContext(injectedBean);
             injectedCreational.putInjectionPoint(injectionPoint);
@@ -725,6 +785,10 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     public Object getReference(Bean<?> providedBean, Type beanType, CreationalContext<?> creationalContext)
     {
         Asserts.assertNotNull(providedBean, "bean parameter");
+        if (getReferenceCalls != null)
+        {
+            getReferenceCalls.increment();
+        }
 
         Context context = null;
         Object instance = null;
@@ -739,48 +803,69 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             bean = ((SerializableBean)bean).getBean();
         }
 
-        if(!(creationalContext instanceof CreationalContextImpl))
+        BeanReference reference = beanReferences.get(bean);
+        boolean validated = reference != null && reference.isValidated(beanType);
+        if (validated && reference.proxy != null)
         {
-            creationalContext = webBeansContext.getCreationalContextFactory().wrappedCreationalContext(creationalContext, bean);
+            return reference.proxy;
         }
 
-        if (ManagedBean.class.isInstance(bean))
+        if(!(creationalContext instanceof CreationalContextImpl))
         {
-            ManagedBean.class.cast(bean).valid();
+            creationalContext = webBeansContext.getCreationalContextFactory().wrappedCreationalContext(creationalContext, bean);
         }
 
-        //Check type if bean type is given
-        if(beanType != null && beanType != Object.class)
+        Type requestedType = beanType;
+        if (!validated)
         {
-            boolean isProducer = AbstractProducerBean.class.isInstance(bean);
-            if(!isProducer && // we have different rules for producers
-               !isBeanTypeAssignableToGivenType(bean.getTypes(), beanType, bean instanceof NewBean, isProducer) &&
-               !GenericsUtil.satisfiesDependency(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()) &&
-               !GenericsUtil.satisfiesDependencyRaw(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()))
+            if (ManagedBean.class.isInstance(bean))
             {
-                throw new IllegalArgumentException("Given bean type : " + beanType + " is not applicable for the bean instance : " + bean);
+                ManagedBean.class.cast(bean).valid();
             }
 
+            //Check type if bean type is given
+            if(beanType != null && beanType != Object.class)
+            {
+                boolean isProducer = AbstractProducerBean.class.isInstance(bean);
+                if(!isProducer && // we have different rules for producers
+                   !isBeanTypeAssignableToGivenType(bean.getTypes(), beanType, bean instanceof NewBean, isProducer) &&
+                   !webBeansContext.getGenericsCache().satisfiesDependency(false, isProducer, beanType, bean.getBeanClass()) &&
+                   !webBeansContext.getGenericsCache().satisfiesDependencyRaw(false, isProducer, beanType, bean.getBeanClass()))
+                {
+                    throw new IllegalArgumentException("Given bean type : " + beanType + " is not applicable for the bean instance : " + bean);
+                }
+            }
         }
-        else if (bean instanceof OwbBean)
-        {
-            // we cannot always use getBeanClass() as this will
-            // return the containing class for producer methods and fields
-            beanType = ((OwbBean) bean).getReturnType();
-        }
-        else
+
+        if(beanType == null || beanType == Object.class)
         {
-            beanType = bean.getBeanClass();
+            if (bean instanceof OwbBean)
+            {
+                // we cannot always use getBeanClass() as this will
+                // return the containing class for producer methods and fields
+                beanType = ((OwbBean) bean).getReturnType();
+            }
+            else
+            {
+                beanType = bean.getBeanClass();
+            }
         }
 
+        boolean normalScoped = reference != null ? reference.normalScoped : isNormalScope(bean.getScope());
+        boolean ejbOrJms = reference != null ? reference.ejbOrJms : bean instanceof EnterpriseBeanMarker || bean instanceof JmsBeanMarker;
+
         //Scope is normal
-        if (isNormalScope(bean.getScope()))
+        if (normalScoped)
         {
-            instance = getEjbOrJmsProxyReference(bean, beanType,creationalContext);
-
-            if(instance != null)
+            if (ejbOrJms)
             {
-                return instance;
+                instance = getEjbOrJmsProxyReference(bean, beanType, creationalContext);
+
+                if(instance != null)
+                {
+                    rememberReference(reference, bean, requestedType, true, true, null);
+                    return instance;
+                }
             }
 
             instance = cacheProxies.get(bean);
@@ -794,6 +879,8 @@ public class BeanManagerImpl implements BeanManager, Referenceable
                 cacheProxies.put(bean, instance);
             }
 
+            // EJB and JMS beans must always ask their plugin, so no shortcut for them
+            rememberReference(reference, bean, requestedType, true, ejbOrJms, ejbOrJms ? null : instance);
         }
         //Create Pseudo-Scope Bean Instance
         else
@@ -802,13 +889,19 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             context = getContext(bean.getScope());
 
             //Get instance for ejb or jms
-            instance = getEjbOrJmsProxyReference(bean, beanType, creationalContext);
-
-            if(instance != null)
+            if (ejbOrJms)
             {
-                return instance;
+                instance = getEjbOrJmsProxyReference(bean, beanType, creationalContext);
+
+                if(instance != null)
+                {
+                    rememberReference(reference, bean, requestedType, false, true, null);
+                    return instance;
+                }
             }
 
+            rememberReference(reference, bean, requestedType, false, ejbOrJms, null);
+
             //Get dependent from DependentContex that create contextual instance
             instance = context.get((Bean<Object>)bean, (CreationalContext<Object>)creationalContext);
         }
@@ -816,6 +909,39 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return instance;
     }
 
+    /**
+     * @return the cached proxy of the given normal scoped bean if the given type
+     *         already got validated for it by {@link #getReference(Bean, Type, CreationalContext)}, {@code null} otherwise
+     */
+    private Object getValidatedProxy(Bean<?> bean, Type beanType)
+    {
+        BeanReference reference = beanReferences.get(bean);
+        if (reference != null && reference.proxy != null && reference.isValidated(beanType))
+        {
+            return reference.proxy;
+        }
+        return null;
+    }
+
+    private void rememberReference(BeanReference reference, Bean<?> bean, Type requestedType,
+                                   boolean normalScoped, boolean ejbOrJms, Object proxy)
+    {
+        if (!(bean instanceof OwbBean))
+        {
+            return;
+        }
+
+        if (reference == null || reference.proxy != proxy)
+        {
+            reference = new BeanReference(normalScoped, ejbOrJms, proxy);
+            beanReferences.put(bean, reference);
+        }
+        if (requestedType != null && requestedType != Object.class)
+        {
+            reference.validatedTypes.add(requestedType);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -934,7 +1060,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         for (Type beanApiType : beanTypes)
         {
-            if (GenericsUtil.satisfiesDependency(false, producer, givenType, beanApiType, new HashMap<>()))
+            if (webBeansContext.getGenericsCache().satisfiesDependency(false, producer, givenType, beanApiType))
             {
                 return true;
             }
@@ -1311,6 +1437,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         {
             additionalAnnotatedTypeQualifiers.put(qualifier.getJavaClass(), qualifier);
             additionalQualifiers.add(qualifier.getJavaClass());
+            webBeansContext.getAnnotationManager().clearQualifierKeys();
         }
     }
 
@@ -1468,15 +1595,46 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         webBeansContext.getAnnotatedElementFactory().clear();
 
         injectionResolver.clearCaches();
+        injectionResolver.clearBeanTypeIndex();
         webBeansContext.getAnnotationManager().clearCaches();
 
         // finally destroy all SPI services
         webBeansContext.clear();
     }
 
+    /**
+     * Gives each normal scoped bean a dense index per scope, which allows
+     * the contexts to store its contextual instances in an array.
+     * Beans which already got a slot keep it, so this can safely be invoked again.
+     *
+     * @see org.apache.webbeans.context.ContextualInstanceMap
+     */
+    public void assignContextSlots()
+    {
+        Map<Class<? extends Annotation>, Integer> slotsPerScope = new HashMap<>();
+        for (Bean<?> bean : deploymentBeans)
+        {
+            if (bean instanceof AbstractOwbBean && ((AbstractOwbBean<?>) bean).getContextSlot() >= 0)
+            {
+                slotsPerScope.merge(bean.getScope(), ((AbstractOwbBean<?>) bean).getContextSlot() + 1, Math::max);
+            }
+        }
+
+        for (Bean<?> bean : deploymentBeans)
+        {
+            if (bean instanceof AbstractOwbBean && ((AbstractOwbBean<?>) bean).getContextSlot() < 0 && isNormalScope(bean.getScope()))
+            {
+                int slot = slotsPerScope.getOrDefault(bean.getScope(), 0);
+                ((AbstractOwbBean<?>) bean).setContextSlot(slot);
+                slotsPerScope.put(bean.getScope(), slot + 1);
+            }
+        }
+    }
+
     public void clearCacheProxies()
     {
         cacheProxies.clear();
+        beanReferences.clear();
     }
 
     public boolean isInUse()
@@ -1518,4 +1676,35 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         BEFORE_DISCOVERY, DISCOVERY, AFTER_DISCOVERY
     }
+
+    /**
+     * Cached outcome of {@link #getReference(Bean, Type, CreationalContext)} for a single bean.
+     */
+    private static final class BeanReference
+    {
+        private final boolean normalScoped;
+        private final boolean ejbOrJms;
+
+        /**
+         * The normal scoping proxy, {@code null} for pseudo scoped beans and EJB or JMS beans.
+         */
+        private final Object proxy;
+
+        /**
+         * Requested types which already passed the type check for this bean.
+         */
+        private final Set<Type> validatedTypes = ConcurrentHashMap.newKeySet();
+
+        private BeanReference(boolean normalScoped, boolean ejbOrJms, Object proxy)
+        {
+            this.normalScoped = normalScoped;
+            this.ejbOrJms = ejbOrJms;
+            this.proxy = proxy;
+        }
+
+        private boolean isValidated(Type requestedType)
+        {
+            return requestedType == null || requestedType == Object.class || validatedTypes.contains(requestedType);
+        }
+    }
 }
@@ -18,8 +18,10 @@
  */
 package org.apache.webbeans.container;
 
+import org.apache.webbeans.annotation.AnnotationManager;
 import org.apache.webbeans.annotation.AnyLiteral;
 import org.apache.webbeans.annotation.DefaultLiteral;
+import org.apache.webbeans.annotation.QualifierKey;
 import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.component.AbstractProducerBean;
 import org.apache.webbeans.component.InjectionTargetBean;
@@ -31,8 +33,8 @@ import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.inject.AlternativesManager;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.BDABeansXmlScanner;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.spi.ScannerService;
-import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
 import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.GenericsUtil;
@@ -44,7 +46,6 @@ import javax.enterprise.event.Event;
 import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.New;
 import javax.enterprise.inject.UnproxyableResolutionException;
-import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.InjectionPoint;
 import java.lang.annotation.Annotation;
@@ -61,6 +62,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -100,6 +102,32 @@ public class InjectionResolver
      */
     private Map<String, Set<Bean<?>>> resolvedBeansByName = new ConcurrentHashMap<>();
 
+    /**
+     * Immutable index of all beans by their EL name, built once the deployment got validated.
+     * It gets rebuilt on the next lookup if the set of beans changed in the meantime.
+     */
+    private volatile NameIndex nameIndex;
+
+    /**
+     * Whether the set of beans is final enough to maintain the {@link #nameIndex}.
+     */
+    private volatile boolean nameIndexEnabled;
+
+    /**
+     * Index of all deployed beans by the raw class of each of their bean types.
+     * Primitive types get stored under their wrapper class.
+     * In contrast to {@link #resolvedBeansByType} this index is maintained while the
+     * beans get added and thus can also be used during startup.
+     */
+    private Map<Class<?>, Set<Bean<?>>> beansByRawType = new ConcurrentHashMap<>();
+
+    /**
+     * Beans which have at least one bean type without a raw class,
+     * e.g. a TypeVariable or GenericArrayType.
+     * Those are candidates for every injection point.
+     */
+    private Set<Bean<?>> beansWithoutRawType = ConcurrentHashMap.newKeySet();
+
     /**
      * Whether the container is in startup mode.
      * Set to {@code false} immediately before the BeforeDeploymentValidation event gets fired.
@@ -108,9 +136,23 @@ public class InjectionResolver
 
     private boolean fastMatching;
 
+    /**
+     * Changes whenever the set of beans changes or the caches get cleared.
+     * Allows to detect whether a resolution result kept outside of this resolver is still valid.
+     */
+    private final AtomicInteger beanSetVersion = new AtomicInteger();
+
     private Bean<Instance<Object>> instanceBean;
     private Bean<Event<Object>> eventBean;
 
+    /**
+     * Cache statistics, only set if a {@link MetricsService} is configured.
+     */
+    private MetricsService.Counter byTypeHits;
+    private MetricsService.Counter byTypeMisses;
+    private MetricsService.Counter byNameHits;
+    private MetricsService.Counter byNameMisses;
+
     /**
      * Creates a new injection resolve for given bean manager.
      *
@@ -131,9 +173,34 @@ public class InjectionResolver
         this.fastMatching = fastMatching;
     }
 
+    public void setMetricsService(MetricsService metricsService)
+    {
+        byTypeHits = metricsService.counter("resolver.byType.hits");
+        byTypeMisses = metricsService.counter("resolver.byType.misses");
+        byNameHits = metricsService.counter("resolver.byName.hits");
+        byNameMisses = metricsService.counter("resolver.byName.misses");
+    }
+
     public void setStartup(boolean startup)
     {
         this.startup = startup;
+        beanSetVersion.incrementAndGet();
+    }
+
+    /**
+     * @return {@code true} as long as the set of beans is not final and resolution results must not get cached
+     */
+    public boolean isStartup()
+    {
+        return startup;
+    }
+
+    /**
+     * @return a version which changes whenever the set of beans changes
+     */
+    public int getBeanSetVersion()
+    {
+        return beanSetVersion.get();
     }
     
     /**
@@ -143,6 +210,114 @@ public class InjectionResolver
     {
         resolvedBeansByName.clear();
         resolvedBeansByType.clear();
+        beanSetVersion.incrementAndGet();
+    }
+
+    /**
+     * Clear the bean type index.
+     * Only to be used when all beans get removed from the BeanManager.
+     */
+    public void clearBeanTypeIndex()
+    {
+        beansByRawType.clear();
+        beansWithoutRawType.clear();
+        beanSetVersion.incrementAndGet();
+    }
+
+    /**
+     * Add the given bean to the bean type index.
+     * Must get invoked for each bean which gets added to the BeanManager.
+     *
+     * @param bean the deployed bean
+     */
+    public void addToBeanTypeIndex(Bean<?> bean)
+    {
+        for (Type type : bean.getTypes())
+        {
+            Class<?> rawType = getIndexRawType(type);
+            if (rawType == null)
+            {
+                beansWithoutRawType.add(bean);
+            }
+            else
+            {
+                beansByRawType.computeIfAbsent(rawType, k -> ConcurrentHashMap.newKeySet()).add(bean);
+            }
+        }
+        beanSetVersion.incrementAndGet();
+    }
+
+    /**
+     * Remove the given bean from the bean type index.
+     * Must get invoked for each bean which gets removed from the BeanManager.
+     *
+     * @param bean the removed bean
+     */
+    public void removeFromBeanTypeIndex(Bean<?> bean)
+    {
+        for (Type type : bean.getTypes())
+        {
+            Class<?> rawType = getIndexRawType(type);
+            if (rawType == null)
+            {
+                beansWithoutRawType.remove(bean);
+            }
+            else
+            {
+                Set<Bean<?>> beans = beansByRawType.get(rawType);
+                if (beans != null)
+                {
+                    beans.remove(bean);
+                }
+            }
+        }
+        beanSetVersion.incrementAndGet();
+    }
+
+    /**
+     * @return the raw class used as key in the {@link #beansByRawType} index
+     *         or {@code null} if the type has no raw class.
+     */
+    private static Class<?> getIndexRawType(Type type)
+    {
+        Type rawType = type instanceof ParameterizedType ? ((ParameterizedType) type).getRawType() : type;
+        if (!(rawType instanceof Class))
+        {
+            return null;
+        }
+
+        Class<?> rawClass = (Class<?>) rawType;
+        return rawClass.isPrimitive() ? ClassUtil.getPrimitiveWrapper(rawClass) : rawClass;
+    }
+
+    /**
+     * Get all beans which might satisfy the given injection point type.
+     * The returned beans still need to be checked for assignability.
+     *
+     * @param injectionPointType the required type
+     * @return the candidate beans. Never {@code null}.
+     */
+    private Iterable<Bean<?>> getCandidateBeans(Type injectionPointType)
+    {
+        Class<?> rawType = getIndexRawType(injectionPointType);
+        if (rawType == null)
+        {
+            // no way to use the index, e.g. for a GenericArrayType
+            return webBeansContext.getBeanManagerImpl().getBeans();
+        }
+
+        Set<Bean<?>> beans = beansByRawType.get(rawType);
+        if (beansWithoutRawType.isEmpty())
+        {
+            return beans != null ? beans : Collections.<Bean<?>>emptySet();
+        }
+
+        Set<Bean<?>> candidates = new HashSet<>(beansWithoutRawType);
+        if (beans != null)
+        {
+            candidates.addAll(beans);
+        }
+        return candidates;
     }
 
     /**
@@ -356,6 +531,102 @@ public class InjectionResolver
     }
 
 
+    /**
+     * Builds the immutable index of all beans by their EL name.
+     * Must only get invoked once the set of beans is final, i.e. after the deployment got validated.
+     * If beans get added or removed later on the index gets rebuilt on the next lookup.
+     */
+    public void buildNameIndex()
+    {
+        nameIndexEnabled = true;
+        nameIndex = createNameIndex();
+    }
+
+    /**
+     * @return the up to date name index or {@code null} if it is not enabled yet
+     */
+    private NameIndex getNameIndex()
+    {
+        NameIndex index = nameIndex;
+        if (index != null && index.beanSetVersion == beanSetVersion.get())
+        {
+            return index;
+        }
+        if (!nameIndexEnabled)
+        {
+            return null;
+        }
+
+        index = createNameIndex();
+        nameIndex = index;
+        return index;
+    }
+
+    private NameIndex createNameIndex()
+    {
+        // read before the beans, a concurrent change leads to another rebuild
+        int version = beanSetVersion.get();
+        Map<String, Set<Bean<?>>> beansByName = new HashMap<>();
+        Set<String> namePrefixes = new HashSet<>();
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            String name = bean.getName();
+            if (name == null)
+            {
+                continue;
+            }
+
+            beansByName.computeIfAbsent(name, k -> new HashSet<>()).add(bean);
+            for (int dot = name.indexOf('.'); dot > 0; dot = name.indexOf('.', dot + 1))
+            {
+                namePrefixes.add(name.substring(0, dot));
+            }
+        }
+
+        for (Map.Entry<String, Set<Bean<?>>> entry : beansByName.entrySet())
+        {
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        }
+        return new NameIndex(version, beansByName, namePrefixes);
+    }
+
+    /**
+     * Fast check which allows EL resolvers to skip all names which cannot resolve to a bean.
+     *
+     * @param name an EL name
+     * @return {@code false} if there is no bean with the given name and the name is no prefix of
+     *         a dotted bean name, e.g. {@code "a.b"} for a bean named {@code "a.b.c"}
+     */
+    public boolean isCandidateName(String name)
+    {
+        NameIndex index = getNameIndex();
+        return index == null || index.beansByName.containsKey(name) || index.namePrefixes.contains(name);
+    }
+
+    /**
+     * @param name an EL name
+     * @return {@code true} if the given name is a prefix of a dotted bean name,
+     *         e.g. {@code "a.b"} for a bean named {@code "a.b.c"}
+     */
+    public boolean isNamePrefix(String name)
+    {
+        NameIndex index = getNameIndex();
+        if (index != null)
+        {
+            return index.namePrefixes.contains(name);
+        }
+
+        String prefix = name + '.';
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            if (bean.getName() != null && bean.getName().startsWith(prefix))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns set of beans for given bean name.
      *
@@ -367,12 +638,32 @@ public class InjectionResolver
     {
         Asserts.assertNotNull(name, "name parameter");
 
+        NameIndex index = getNameIndex();
+        if (index != null)
+        {
+            // no need to cache anything, especially not the names which do not resolve
+            Set<Bean<?>> beans = index.beansByName.get(name);
+            if (byNameHits != null)
+            {
+                byNameHits.increment();
+            }
+            return beans != null ? beans : Collections.EMPTY_SET;
+        }
+
         String cacheKey = name;
         Set<Bean<?>> resolvedComponents = resolvedBeansByName.get(cacheKey);
         if (resolvedComponents != null)
         {
+            if (byNameHits != null)
+            {
+                byNameHits.increment();
+            }
             return resolvedComponents;
         }
+        if (byNameMisses != null)
+        {
+            byNameMisses.increment();
+        }
 
         resolvedComponents = new HashSet<>();
         Set<Bean<?>> deployedComponents = webBeansContext.getBeanManagerImpl().getBeans();
@@ -462,26 +753,40 @@ public class InjectionResolver
 
         Set<Bean<?>> resolvedComponents;
         BeanCacheKey cacheKey = null;
+        AnnotationManager annotationManager = webBeansContext.getAnnotationManager();
+        QualifierKey[] qualifierKeys = annotationManager.getQualifierKeys(qualifiers);
 
         if (!startup)
         {
             // we only cache and validate once the set of Beans is final, otherwise we would cache crap
             validateInjectionPointType(injectionPointType);
 
-            cacheKey = new BeanCacheKey(isDelegate, injectionPointType, bdaBeansXMLFilePath, this::findQualifierModel, qualifiers);
+            cacheKey = new BeanCacheKey(isDelegate, injectionPointType, bdaBeansXMLFilePath, qualifierKeys);
 
             resolvedComponents = resolvedBeansByType.get(cacheKey);
             if (resolvedComponents != null)
             {
+                if (byTypeHits != null)
+                {
+                    byTypeHits.increment();
+                }
                 return resolvedComponents;
             }
+            if (byTypeMisses != null)
+            {
+                byTypeMisses.increment();
+            }
         }
 
         resolvedComponents = new HashSet<>();
 
         boolean returnAll = injectionPointType.equals(Object.class) && currentQualifier;
 
-        for (Bean<?> component : webBeansContext.getBeanManagerImpl().getBeans())
+        Iterable<Bean<?>> candidates = returnAll
+                ? webBeansContext.getBeanManagerImpl().getBeans()
+                : getCandidateBeans(injectionPointType);
+
+        for (Bean<?> component : candidates)
         {
             // no need to check instanceof OwbBean as we always wrap in a
             // ThirdpartyBeanImpl at least
@@ -513,9 +818,9 @@ public class InjectionResolver
                     for (Type componentApiType : component.getTypes())
                     {
 
-                        if (GenericsUtil.satisfiesDependency(
+                        if (webBeansContext.getGenericsCache().satisfiesDependency(
                                 isDelegate, AbstractProducerBean.class.isInstance(component),
-                                injectionPointType, componentApiType, new HashMap<>()))
+                                injectionPointType, componentApiType))
                         {
                             resolvedComponents.add(component);
                             break;
@@ -528,7 +833,7 @@ public class InjectionResolver
         if (!returnAll)
         {
             // Look for qualifiers
-            resolvedComponents = findByQualifier(resolvedComponents, injectionPointType, qualifiers);
+            resolvedComponents = findByQualifier(resolvedComponents, annotationManager, qualifierKeys);
 
             // have an additional round of checks for assignability of parameterized types.
             Set<Bean<?>> byParameterizedType = findByParameterizedType(resolvedComponents, injectionPointType, isDelegate);
@@ -600,7 +905,7 @@ public class InjectionResolver
             boolean isProducer = AbstractProducerBean.class.isInstance(bean);
             for (Type type : bean.getTypes())
             {
-                if (GenericsUtil.satisfiesDependency(isDelegate, isProducer, injectionPointType, type, new HashMap<>()))
+                if (webBeansContext.getGenericsCache().satisfiesDependency(isDelegate, isProducer, injectionPointType, type))
                 {
                     resolved.add(bean);
                 }
@@ -626,7 +931,7 @@ public class InjectionResolver
             for (Type componentApiType : component.getTypes())
             {
 
-                if (GenericsUtil.satisfiesDependency(isDelegate, isProducer, injectionPointType, componentApiType, new HashMap<>()))
+                if (webBeansContext.getGenericsCache().satisfiesDependency(isDelegate, isProducer, injectionPointType, componentApiType))
                 {
                     resolvedComponents.add(component);
                     break;
@@ -786,10 +1091,10 @@ public class InjectionResolver
      * Returns filtered bean set according to the qualifiers.
      *
      * @param remainingSet bean set for filtering by qualifier
-     * @param annotations  qualifiers on injection point
+     * @param qualifierKeys canonical keys of the qualifiers on injection point
      * @return filtered bean set according to the qualifiers
      */
-    private Set<Bean<?>> findByQualifier(Set<Bean<?>> remainingSet, Type type, Annotation... annotations)
+    private Set<Bean<?>> findByQualifier(Set<Bean<?>> remainingSet, AnnotationManager annotationManager, QualifierKey... qualifierKeys)
     {
         Iterator<Bean<?>> it = remainingSet.iterator();
         Set<Bean<?>> result = new HashSet<>();
@@ -800,35 +1105,19 @@ public class InjectionResolver
             Set<Annotation> qTypes = component.getQualifiers();
 
             int i = 0;
-            for (Annotation annot : annotations)
+            for (QualifierKey qualifierKey : qualifierKeys)
             {
-                Iterator<Annotation> itQualifiers = qTypes.iterator();
-                while (itQualifiers.hasNext())
+                for (Annotation qualifier : qTypes)
                 {
-                    Annotation qualifier = itQualifiers.next();
-                    if (annot.annotationType().equals(qualifier.annotationType()))
+                    if (qualifierKey.getAnnotationType() == qualifier.annotationType()
+                        && qualifierKey.equals(annotationManager.getQualifierKey(qualifier)))
                     {
-                        AnnotatedType<?> at = findQualifierModel(qualifier.annotationType());
-                        if (at == null)
-                        {
-                            if (AnnotationUtil.isCdiAnnotationEqual(qualifier, annot))
-                            {
-                                i++;
-                            }
-                        }
-                        else
-                        {
-                            if (AnnotationUtil.isCdiAnnotationEqual(at, qualifier, annot))
-                            {
-                                i++;
-                            }
-                        }
+                        i++;
                     }
-
                 }
             }
 
-            if (i == annotations.length)
+            if (i == qualifierKeys.length)
             {
                 result.add(component);
             }
@@ -837,8 +1126,17 @@ public class InjectionResolver
         return result;
     }
 
-    private AnnotatedType<? extends Annotation> findQualifierModel(final Class<?> qualifier)
+    private static final class NameIndex
     {
-        return webBeansContext.getBeanManagerImpl().getAdditionalAnnotatedTypeQualifiers().get(qualifier);
+        private final int beanSetVersion;
+        private final Map<String, Set<Bean<?>>> beansByName;
+        private final Set<String> namePrefixes;
+
+        private NameIndex(int beanSetVersion, Map<String, Set<Bean<?>>> beansByName, Set<String> namePrefixes)
+        {
+            this.beanSetVersion = beanSetVersion;
+            this.beansByName = beansByName;
+            this.namePrefixes = namePrefixes;
+        }
     }
 }
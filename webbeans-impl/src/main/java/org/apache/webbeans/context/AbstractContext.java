@@ -24,10 +24,10 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 
 import javax.enterprise.context.ContextNotActiveException;
@@ -38,6 +38,7 @@ import javax.enterprise.context.spi.CreationalContext;
 import org.apache.webbeans.container.SerializableBean;
 import org.apache.webbeans.container.SerializableBeanVault;
 import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.spi.MetricsService;
 
 /**
  * Abstract implementation of the {@link javax.enterprise.context.spi.Context} interfaces.
@@ -62,6 +63,9 @@ public abstract class AbstractContext implements AlterableContext, Serializable
     /**Contextual Scope Type*/
     protected Class<? extends Annotation> scopeType;
 
+    /**Number of live contextual instances of this scope, only set if metrics are enabled*/
+    private transient MetricsService.Counter instanceCounter;
+
     @SuppressWarnings("unchecked")
     private <T> BeanInstanceBag<T> createContextualBag(Contextual<T> contextual, CreationalContext<T> creationalContext)
     {
@@ -95,6 +99,15 @@ public abstract class AbstractContext implements AlterableContext, Serializable
 
     }
 
+    /**
+     * Track the number of live contextual instances in the given {@link MetricsService}.
+     * Instances which got created before or which got deserialized are not tracked.
+     */
+    public void trackInstances(MetricsService metricsService)
+    {
+        instanceCounter = metricsService.counter("context.instances." + scopeType.getName());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -156,7 +169,7 @@ public abstract class AbstractContext implements AlterableContext, Serializable
             
             else
             {                
-                instance = bag.create(contextual);    
+                instance = bag.create(contextual, instanceCounter);
             }
         }
 
@@ -204,7 +217,10 @@ public abstract class AbstractContext implements AlterableContext, Serializable
     {
         //Destroy component
         component.destroy(instance,creationalContext);
-        componentInstanceMap.remove(component);
+        if (componentInstanceMap.remove(component) != null && instanceCounter != null)
+        {
+            instanceCounter.decrement();
+        }
     }
     
     /**
@@ -212,7 +228,9 @@ public abstract class AbstractContext implements AlterableContext, Serializable
      */
     public void destroy()
     {
-        Set<Contextual<?>> keySet = new HashSet<>(componentInstanceMap.keySet());
+        // iterators of concurrent maps don't fail if we remove the destroyed instances
+        Collection<Contextual<?>> keySet = componentInstanceMap instanceof ConcurrentMap
+            ? componentInstanceMap.keySet() : new ArrayList<>(componentInstanceMap.keySet());
         for (Contextual<?> contextual: keySet)
         {
             destroyInstance(contextual);
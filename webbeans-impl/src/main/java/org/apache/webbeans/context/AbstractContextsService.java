@@ -30,6 +30,7 @@ import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.conversation.ConversationImpl;
 import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.spi.MetricsService;
 
 public abstract class AbstractContextsService implements ContextsService
 {
@@ -37,12 +38,29 @@ public abstract class AbstractContextsService implements ContextsService
 
     protected boolean supportsConversation;
 
+    /**
+     * The configured {@link MetricsService} or {@code null} if metrics are disabled.
+     */
+    protected final MetricsService metricsService;
 
     protected AbstractContextsService(WebBeansContext webBeansContext)
     {
         this.webBeansContext = webBeansContext;
         supportsConversation = webBeansContext.getOpenWebBeansConfiguration().supportsConversation();
+        metricsService = webBeansContext.getMetricsService();
+    }
 
+    /**
+     * Let the given new context track its live instances if metrics are enabled.
+     * @return the given context
+     */
+    protected <C extends AbstractContext> C trackInstances(C context)
+    {
+        if (metricsService != null)
+        {
+            context.trackInstances(metricsService);
+        }
+        return context;
     }
 
     @Override
@@ -96,14 +114,15 @@ public abstract class AbstractContextsService implements ContextsService
 
     /**
      * Destroy inactive (timed out) conversations.
+     * If the {@link ConversationManager#isConversationReaperEnabled() reaper}
+     * is enabled this only takes care of the current conversation.
      */
     public void destroyOutdatedConversations(ConversationContext currentConversationContext)
     {
-        ConversationManager conversationManager = null;
+        ConversationManager conversationManager = webBeansContext.getConversationManager();
         Context sessionContext = getCurrentContext(SessionScoped.class, false);
-        if (sessionContext != null && sessionContext.isActive())
+        if (!conversationManager.isConversationReaperEnabled() && sessionContext != null && sessionContext.isActive())
         {
-            conversationManager = webBeansContext.getConversationManager();
             Set<ConversationContext> conversationContexts = conversationManager.getSessionConversations(sessionContext, false);
             if (conversationContexts != null)
             {
@@ -127,7 +146,6 @@ public abstract class AbstractContextsService implements ContextsService
             currentConversationContext.getConversation().iDontUseItAnymore();
             if (currentConversationContext.getConversation().isTransient())
             {
-                conversationManager = conversationManager != null ? conversationManager : webBeansContext.getConversationManager();
                 conversationManager.destroyConversationContext(currentConversationContext);
             }
         }
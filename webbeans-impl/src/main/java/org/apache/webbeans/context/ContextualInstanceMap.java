@@ -0,0 +1,336 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.enterprise.context.spi.Contextual;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.container.SerializableBean;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+
+/**
+ * Storage for the contextual instances of a {@link AbstractContext}.
+ *
+ * Beans which got a context slot assigned during deployment
+ * (see {@link org.apache.webbeans.container.BeanManagerImpl#assignContextSlots()})
+ * get stored in an array at their slot index, so no hashing of the bean is needed.
+ * All other Contextuals, e.g. beans which got added after deployment, end up in a map.
+ * So do beans whose slot is already taken by a bean of another scope.
+ * A {@link SerializableBean} uses the slot of the bean it wraps, so both find the same instance.
+ * Both get created on the first write only, thus an unused context allocates nothing.
+ *
+ * Reads don't lock. Writes are synchronized, which is cheap as each bean
+ * gets written only once per context instance.
+ */
+public class ContextualInstanceMap extends AbstractMap<Contextual<?>, BeanInstanceBag<?>>
+    implements ConcurrentMap<Contextual<?>, BeanInstanceBag<?>>
+{
+    private static final int MIN_SLOTS = 8;
+
+    private volatile AtomicReferenceArray<Entry<Contextual<?>, BeanInstanceBag<?>>> slots;
+
+    /**
+     * For Contextuals without a slot. We also need to check it for beans with a slot
+     * as those might have been stored before the slots got assigned.
+     */
+    private volatile ConcurrentMap<Contextual<?>, BeanInstanceBag<?>> others;
+
+    private Set<Entry<Contextual<?>, BeanInstanceBag<?>>> entrySet;
+
+    @Override
+    public BeanInstanceBag<?> get(Object key)
+    {
+        int slot = getSlot(key);
+        if (slot >= 0)
+        {
+            AtomicReferenceArray<Entry<Contextual<?>, BeanInstanceBag<?>>> currentSlots = slots;
+            if (currentSlots != null && slot < currentSlots.length())
+            {
+                Entry<Contextual<?>, BeanInstanceBag<?>> entry = currentSlots.get(slot);
+                if (entry != null && isSameBean(entry.getKey(), key))
+                {
+                    return entry.getValue();
+                }
+            }
+        }
+
+        ConcurrentMap<Contextual<?>, BeanInstanceBag<?>> currentOthers = others;
+        return currentOthers != null ? currentOthers.get(key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return get(key) != null;
+    }
+
+    @Override
+    public synchronized BeanInstanceBag<?> put(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        BeanInstanceBag<?> old = remove(key);
+        store(key, value);
+        return old;
+    }
+
+    @Override
+    public synchronized BeanInstanceBag<?> putIfAbsent(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        BeanInstanceBag<?> existing = get(key);
+        if (existing == null)
+        {
+            store(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public synchronized BeanInstanceBag<?> remove(Object key)
+    {
+        int slot = getSlot(key);
+        if (slot >= 0 && slots != null && slot < slots.length())
+        {
+            Entry<Contextual<?>, BeanInstanceBag<?>> entry = slots.get(slot);
+            if (entry != null && isSameBean(entry.getKey(), key))
+            {
+                slots.set(slot, null);
+                return entry.getValue();
+            }
+        }
+
+        return others != null ? others.remove(key) : null;
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value)
+    {
+        BeanInstanceBag<?> existing = get(key);
+        if (existing != null && existing.equals(value))
+        {
+            remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized boolean replace(Contextual<?> key, BeanInstanceBag<?> oldValue, BeanInstanceBag<?> newValue)
+    {
+        BeanInstanceBag<?> existing = get(key);
+        if (existing != null && existing.equals(oldValue))
+        {
+            put(key, newValue);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized BeanInstanceBag<?> replace(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        return get(key) != null ? put(key, value) : null;
+    }
+
+    @Override
+    public synchronized void clear()
+    {
+        slots = null;
+        others = null;
+    }
+
+    @Override
+    public Set<Entry<Contextual<?>, BeanInstanceBag<?>>> entrySet()
+    {
+        if (entrySet == null)
+        {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Must only get invoked while holding the lock and if the key is not stored yet.
+     */
+    private void store(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        int slot = getSlot(key);
+        if (slot < 0)
+        {
+            storeInOthers(key, value);
+            return;
+        }
+
+        AtomicReferenceArray<Entry<Contextual<?>, BeanInstanceBag<?>>> currentSlots = slots;
+        if (currentSlots != null && slot < currentSlots.length())
+        {
+            Entry<Contextual<?>, BeanInstanceBag<?>> entry = currentSlots.get(slot);
+            if (entry != null && !isSameBean(entry.getKey(), key))
+            {
+                // slots are only unique per scope, e.g. a custom context might hold beans of several scopes
+                storeInOthers(key, value);
+                return;
+            }
+        }
+        else
+        {
+            int length = Math.max(MIN_SLOTS, slot + 1);
+            if (currentSlots != null)
+            {
+                length = Math.max(length, currentSlots.length() * 2);
+            }
+
+            AtomicReferenceArray<Entry<Contextual<?>, BeanInstanceBag<?>>> newSlots = new AtomicReferenceArray<>(length);
+            for (int i = 0; currentSlots != null && i < currentSlots.length(); i++)
+            {
+                newSlots.set(i, currentSlots.get(i));
+            }
+            currentSlots = newSlots;
+        }
+
+        currentSlots.set(slot, new SimpleImmutableEntry<>(key, value));
+        slots = currentSlots;
+    }
+
+    private void storeInOthers(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        if (others == null)
+        {
+            others = new ConcurrentHashMap<>();
+        }
+        others.put(key, value);
+    }
+
+    private static int getSlot(Object key)
+    {
+        Object bean = unwrap(key);
+        return bean instanceof AbstractOwbBean ? ((AbstractOwbBean<?>) bean).getContextSlot() : -1;
+    }
+
+    private static boolean isSameBean(Contextual<?> storedKey, Object key)
+    {
+        return storedKey == key || unwrap(storedKey) == unwrap(key);
+    }
+
+    private static Object unwrap(Object key)
+    {
+        return key instanceof SerializableBean ? ((SerializableBean<?>) key).getBean() : key;
+    }
+
+    /**
+     * Weakly consistent view, just like the one of a {@link ConcurrentHashMap}.
+     * It is thus safe to destroy contextual instances while iterating over it.
+     */
+    private final class EntrySet extends AbstractSet<Entry<Contextual<?>, BeanInstanceBag<?>>>
+    {
+        @Override
+        public Iterator<Entry<Contextual<?>, BeanInstanceBag<?>>> iterator()
+        {
+            return new EntryIterator(slots, others);
+        }
+
+        @Override
+        public int size()
+        {
+            int size = 0;
+            for (Iterator<?> it = iterator(); it.hasNext(); it.next())
+            {
+                size++;
+            }
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return !iterator().hasNext();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<Contextual<?>, BeanInstanceBag<?>>>
+    {
+        private final AtomicReferenceArray<Entry<Contextual<?>, BeanInstanceBag<?>>> iteratedSlots;
+        private final Iterator<Entry<Contextual<?>, BeanInstanceBag<?>>> othersIterator;
+        private int slot;
+        private Entry<Contextual<?>, BeanInstanceBag<?>> next;
+        private Entry<Contextual<?>, BeanInstanceBag<?>> last;
+
+        private EntryIterator(AtomicReferenceArray<Entry<Contextual<?>, BeanInstanceBag<?>>> iteratedSlots,
+                              Map<Contextual<?>, BeanInstanceBag<?>> iteratedOthers)
+        {
+            this.iteratedSlots = iteratedSlots;
+            this.othersIterator = iteratedOthers != null ? iteratedOthers.entrySet().iterator() : null;
+            advance();
+        }
+
+        private void advance()
+        {
+            next = null;
+            while (iteratedSlots != null && slot < iteratedSlots.length())
+            {
+                next = iteratedSlots.get(slot++);
+                if (next != null)
+                {
+                    return;
+                }
+            }
+            if (othersIterator != null && othersIterator.hasNext())
+            {
+                next = othersIterator.next();
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+
+        @Override
+        public Entry<Contextual<?>, BeanInstanceBag<?>> next()
+        {
+            if (next == null)
+            {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            advance();
+            return last;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (last == null)
+            {
+                throw new IllegalStateException();
+            }
+            ContextualInstanceMap.this.remove(last.getKey(), last.getValue());
+            last = null;
+        }
+    }
+}
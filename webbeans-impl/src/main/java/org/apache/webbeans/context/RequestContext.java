@@ -18,7 +18,6 @@
  */
 package org.apache.webbeans.context;
 
-import java.util.HashMap;
 
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.context.spi.Contextual;
@@ -55,7 +54,7 @@ public class RequestContext extends AbstractContext
     @Override
     public void setComponentInstanceMap()
     {
-        componentInstanceMap = new HashMap<>();
+        componentInstanceMap = new ContextualInstanceMap();
     }
 
     /**
@@ -18,7 +18,6 @@
  */
 package org.apache.webbeans.context;
 
-import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.context.SessionScoped;
 import javax.enterprise.context.spi.Contextual;
@@ -40,7 +39,7 @@ public class SessionContext extends PassivatingContext
     @Override
     public void setComponentInstanceMap()
     {
-        componentInstanceMap = new ConcurrentHashMap<>();
+        componentInstanceMap = new ContextualInstanceMap();
     }
 
     @Override
@@ -24,6 +24,8 @@ import java.io.Serializable;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.apache.webbeans.spi.MetricsService;
+
 /**
  * Stores the CreationalContext and the Contextual Instance.
  * This also makes sure that we don't create the same bean
@@ -65,6 +67,17 @@ public class BeanInstanceBag<T> implements Serializable
      * @return the single contextual instance for the context
      */
     public T create(Contextual<T> contextual)
+    {
+        return create(contextual, null);
+    }
+
+    /**
+     * Create the contextual instance in a thread safe fashion
+     * @param contextual
+     * @param createdInstances gets incremented if the instance got created by this invocation, may be {@code null}
+     * @return the single contextual instance for the context
+     */
+    public T create(Contextual<T> contextual, MetricsService.Counter createdInstances)
     {
         try
         {
@@ -74,6 +87,10 @@ public class BeanInstanceBag<T> implements Serializable
             if (beanInstance == null)
             {
                 beanInstance = contextual.create(beanCreationalContext);
+                if (createdInstances != null && beanInstance != null)
+                {
+                    createdInstances.increment();
+                }
             }
             
         }
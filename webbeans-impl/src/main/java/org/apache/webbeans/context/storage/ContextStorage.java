@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context.storage;
+
+/**
+ * Holds a single value for the current thread of execution.
+ * This is what a {@link ThreadLocal} is used for in the contexts handling,
+ * but allows to replace the underlying mechanism, e.g. for running on virtual threads.
+ *
+ * @param <T> type of the stored value
+ * @see ContextStorageFactory
+ */
+public interface ContextStorage<T>
+{
+    /**
+     * @return the value stored for the current thread or {@code null}
+     */
+    T get();
+
+    /**
+     * Store the given value for the current thread.
+     */
+    void set(T value);
+
+    /**
+     * Remove the value for the current thread and release all resources held for it.
+     */
+    void remove();
+
+    /**
+     * Release the storage itself once it is not needed anymore, e.g. when the owning
+     * {@link org.apache.webbeans.spi.ContextsService} gets destroyed.
+     * The value of the current thread gets removed, values of other threads may get dropped lazily.
+     * The storage must not be used afterwards.
+     */
+    void release();
+}
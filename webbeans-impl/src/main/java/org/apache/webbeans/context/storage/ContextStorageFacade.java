@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context.storage;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Provides the {@link ContextStorageFactory} which is used for all {@link ContextStorage}s.
+ *
+ * The storages are shared by all applications in the JVM, just like the static
+ * ThreadLocals they replace. Thus the factory can only get configured via the system property
+ * {@link #OPENWEBBEANS_CONTEXT_STORAGE_FACTORY_PROP}, e.g.
+ * <pre>-Dopenwebbeans.context.storage.factory=org.apache.webbeans.context.storage.SharedSlotContextStorageFactory</pre>
+ */
+public final class ContextStorageFacade
+{
+    public static final String OPENWEBBEANS_CONTEXT_STORAGE_FACTORY_PROP = "openwebbeans.context.storage.factory";
+
+    private static final ContextStorageFactory FACTORY;
+
+    static
+    {
+        String factoryClassname = System.getProperty(OPENWEBBEANS_CONTEXT_STORAGE_FACTORY_PROP);
+        ContextStorageFactory factory = null;
+        if (factoryClassname != null)
+        {
+            try
+            {
+                ClassLoader classloader = Thread.currentThread().getContextClassLoader();
+                if (classloader == null)
+                {
+                    classloader = ContextStorageFacade.class.getClassLoader();
+                }
+                factory = (ContextStorageFactory) classloader.loadClass(factoryClassname).newInstance();
+            }
+            catch (Exception e)
+            {
+                Logger logger = WebBeansLoggerFacade.getLogger(ContextStorageFacade.class);
+                if (logger.isLoggable(Level.SEVERE))
+                {
+                    logger.log(Level.SEVERE, "Cannot create ContextStorageFactory " + factoryClassname
+                        + ", using ThreadLocals instead", e);
+                }
+            }
+        }
+
+        FACTORY = factory != null ? factory : new ThreadLocalContextStorageFactory();
+    }
+
+    private ContextStorageFacade()
+    {
+        // utility class
+    }
+
+    public static ContextStorageFactory getContextStorageFactory()
+    {
+        return FACTORY;
+    }
+
+    public static <T> ContextStorage<T> createStorage()
+    {
+        return FACTORY.createStorage();
+    }
+
+    /**
+     * @return a {@link ThreadLocal} view of a new {@link ContextStorage}, for places which expose their
+     *         per-thread state as ThreadLocal
+     * @see #release(ThreadLocal)
+     */
+    public static <T> ThreadLocal<T> createThreadLocal()
+    {
+        return new ContextStorageThreadLocal<>(FACTORY.<T>createStorage());
+    }
+
+    /**
+     * Releases the {@link ContextStorage} behind a ThreadLocal created by {@link #createThreadLocal()}.
+     * Any other ThreadLocal just gets removed for the current thread.
+     */
+    public static void release(ThreadLocal<?> threadLocal)
+    {
+        if (threadLocal instanceof ContextStorageThreadLocal)
+        {
+            ((ContextStorageThreadLocal<?>) threadLocal).getStorage().release();
+        }
+        else if (threadLocal != null)
+        {
+            threadLocal.remove();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context.storage;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ContextStorageFactory} which consolidates the {@link ThreadLocal}s of all storages
+ * into one single slot array per thread.
+ *
+ * Each thread thus only gets one entry in its ThreadLocalMap instead of one per storage.
+ * This entry gets removed as soon as all storages got removed or {@link ContextStorage#release() released}
+ * on that thread, e.g. at the end of a request.
+ * It does not change what a thread retains otherwise: just like with one ThreadLocal per storage,
+ * a thread which never cleans up its storages keeps its values until the thread ends.
+ *
+ * The slots of {@link ContextStorage#release() released} storages get reused by new storages.
+ * Each slot remembers the storage it got written by, so a new owner never sees the
+ * value another thread still holds for the previous owner.
+ */
+public class SharedSlotContextStorageFactory implements ContextStorageFactory
+{
+    /**
+     * Per thread: the owning storage at {@code 2 * slot} and its value at {@code 2 * slot + 1}.
+     */
+    private final ThreadLocal<Object[]> slots = new ThreadLocal<>();
+    private final AtomicInteger slotCount = new AtomicInteger();
+    private final Queue<Integer> freeSlots = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public <T> ContextStorage<T> createStorage()
+    {
+        Integer slot = freeSlots.poll();
+        return new SharedSlotContextStorage<>(slot != null ? slot : slotCount.getAndIncrement());
+    }
+
+    private final class SharedSlotContextStorage<T> implements ContextStorage<T>
+    {
+        private final int ownerIndex;
+        private final int valueIndex;
+        private volatile boolean released;
+
+        private SharedSlotContextStorage(int slot)
+        {
+            this.ownerIndex = 2 * slot;
+            this.valueIndex = ownerIndex + 1;
+        }
+
+        @Override
+        public T get()
+        {
+            Object[] values = slots.get();
+            if (values == null || valueIndex >= values.length || values[ownerIndex] != this)
+            {
+                return null;
+            }
+            return (T) values[valueIndex];
+        }
+
+        @Override
+        public void set(T value)
+        {
+            if (value == null)
+            {
+                remove();
+                return;
+            }
+            if (released)
+            {
+                throw new IllegalStateException("ContextStorage got already released");
+            }
+
+            Object[] values = slots.get();
+            if (values == null || valueIndex >= values.length)
+            {
+                Object[] newValues = new Object[2 * Math.max(slotCount.get(), ownerIndex / 2 + 1)];
+                if (values != null)
+                {
+                    System.arraycopy(values, 0, newValues, 0, values.length);
+                }
+                values = newValues;
+                slots.set(values);
+            }
+            values[ownerIndex] = this;
+            values[valueIndex] = value;
+        }
+
+        @Override
+        public void remove()
+        {
+            Object[] values = slots.get();
+            if (values == null || valueIndex >= values.length || values[ownerIndex] != this)
+            {
+                return;
+            }
+
+            values[ownerIndex] = null;
+            values[valueIndex] = null;
+            removeIfUnused(values);
+        }
+
+        @Override
+        public synchronized void release()
+        {
+            if (released)
+            {
+                return;
+            }
+            released = true;
+
+            Object[] values = slots.get();
+            if (values != null)
+            {
+                if (valueIndex < values.length && values[ownerIndex] == this)
+                {
+                    values[ownerIndex] = null;
+                    values[valueIndex] = null;
+                }
+                // the last live storage on this thread got released
+                removeIfUnused(values);
+            }
+            freeSlots.offer(ownerIndex / 2);
+        }
+    }
+
+    /**
+     * Drops the slot array of the current thread if it holds no value of a live storage anymore.
+     */
+    private void removeIfUnused(Object[] values)
+    {
+        for (int i = 0; i < values.length; i += 2)
+        {
+            if (values[i] != null && !((SharedSlotContextStorage<?>) values[i]).released)
+            {
+                return;
+            }
+        }
+
+        // nothing stored anymore for this thread
+        slots.remove();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context.storage;
+
+/**
+ * Default {@link ContextStorageFactory} which simply uses one {@link ThreadLocal} per storage.
+ */
+public class ThreadLocalContextStorageFactory implements ContextStorageFactory
+{
+    @Override
+    public <T> ContextStorage<T> createStorage()
+    {
+        return new ThreadLocalContextStorage<>();
+    }
+
+    private static final class ThreadLocalContextStorage<T> implements ContextStorage<T>
+    {
+        private final ThreadLocal<T> threadLocal = new ThreadLocal<>();
+
+        @Override
+        public T get()
+        {
+            return threadLocal.get();
+        }
+
+        @Override
+        public void set(T value)
+        {
+            threadLocal.set(value);
+        }
+
+        @Override
+        public void remove()
+        {
+            threadLocal.remove();
+        }
+
+        @Override
+        public void release()
+        {
+            threadLocal.remove();
+        }
+    }
+}
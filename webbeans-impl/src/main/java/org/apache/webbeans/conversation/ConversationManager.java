@@ -35,13 +35,16 @@ import org.apache.webbeans.annotation.BeforeDestroyedLiteral;
 import org.apache.webbeans.annotation.DefaultLiteral;
 import org.apache.webbeans.annotation.DestroyedLiteral;
 import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.context.ConversationContext;
 import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.ContextsService;
 import org.apache.webbeans.spi.ConversationService;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.util.Asserts;
 
 /**
@@ -60,6 +63,17 @@ public class ConversationManager
     private final WebBeansContext webBeansContext;
     private final Bean<Set<ConversationContext>> conversationStorageBean;
 
+    /**
+     * Delay in ms between two runs of the {@link ConversationReaper}, 0 if it is disabled.
+     * @see OpenWebBeansConfiguration#CONVERSATION_PERIODIC_DELAY
+     */
+    private final long periodicDelay;
+
+    /**
+     * Gets lazily started with the first long running conversation.
+     */
+    private volatile ConversationReaper conversationReaper;
+
     /**
      * Creates new conversation manager
      */
@@ -76,6 +90,63 @@ public class ConversationManager
         // this will return the internally wrapped ThirdPartyBean.
         conversationStorageBean = (Bean<Set<ConversationContext>>)
                 bm.resolve(bm.getBeans(ConversationStorageBean.OWB_INTERNAL_CONVERSATION_STORAGE_BEAN_PASSIVATION_ID));
+
+        long delay;
+        try
+        {
+            delay = Long.parseLong(webBeansContext.getOpenWebBeansConfiguration().
+                    getProperty(OpenWebBeansConfiguration.CONVERSATION_PERIODIC_DELAY, "0").trim());
+        }
+        catch (NumberFormatException e)
+        {
+            delay = 0L;
+        }
+        periodicDelay = delay;
+    }
+
+    /**
+     * @return {@code true} if timed out conversations get destroyed in the background.
+     *         A request then only needs to take care of its own conversation.
+     */
+    public boolean isConversationReaperEnabled()
+    {
+        return periodicDelay > 0L;
+    }
+
+    /**
+     * Stops the background destruction of timed out conversations.
+     */
+    public void stopConversationReaper()
+    {
+        ConversationReaper reaper = conversationReaper;
+        if (reaper != null)
+        {
+            conversationReaper = null;
+            reaper.shutdown();
+        }
+    }
+
+    private void scheduleExpiry(ConversationContext conversationContext, Set<ConversationContext> sessionConversations)
+    {
+        if (periodicDelay <= 0L)
+        {
+            return;
+        }
+
+        ConversationReaper reaper = conversationReaper;
+        if (reaper == null)
+        {
+            synchronized (this)
+            {
+                reaper = conversationReaper;
+                if (reaper == null)
+                {
+                    reaper = new ConversationReaper(this, periodicDelay);
+                    conversationReaper = reaper;
+                }
+            }
+        }
+        reaper.schedule(conversationContext, sessionConversations);
     }
 
 
@@ -100,15 +171,27 @@ public class ConversationManager
                 {
                     if (conversationId.equals(conversationContext.getConversation().getId()))
                     {
-                        if (conversationContext.getConversation().iUseIt() > 1)
+                        // the ConversationReaper checks the timeout under the same lock
+                        synchronized (conversationContext.getConversation())
                         {
-                            problem =  new BusyConversationException("Propogated conversation with cid=" +
-                                    conversationContext.getConversation().getId() +
-                                    " is used by other request. It creates a new transient conversation");
-                            conversationContext.getConversation().setProblemDuringCreation(problem);
+                            if (!conversationContexts.contains(conversationContext))
+                            {
+                                // timed out and destroyed concurrently
+                                break;
+                            }
+
+                            if (conversationContext.getConversation().iUseIt() > 1)
+                            {
+                                problem =  new BusyConversationException("Propogated conversation with cid=" +
+                                        conversationContext.getConversation().getId() +
+                                        " is used by other request. It creates a new transient conversation");
+                                conversationContext.getConversation().setProblemDuringCreation(problem);
+                            }
+
+                            conversationContext.getConversation().updateLastAccessTime();
                         }
-
                         conversationContext.setActive(true);
+                        scheduleExpiry(conversationContext, conversationContexts);
                         return conversationContext;
                     }
                 }
@@ -119,6 +202,11 @@ public class ConversationManager
         }
 
         ConversationContext conversationContext = new ConversationContext(webBeansContext);
+        MetricsService metricsService = webBeansContext.getMetricsService();
+        if (metricsService != null)
+        {
+            conversationContext.trackInstances(metricsService);
+        }
         conversationContext.setActive(true);
         conversationContext.getConversation().setProblemDuringCreation(problem);
 
@@ -146,6 +234,7 @@ public class ConversationManager
 
         // if not, then simply add this conversation
         sessionConversations.add(conversationContext);
+        scheduleExpiry(conversationContext, sessionConversations);
     }
 
     /**
@@ -213,6 +302,33 @@ public class ConversationManager
             getLifecycleEventPayload(ctx), DestroyedLiteral.INSTANCE_CONVERSATION_SCOPED);
     }
 
+    /**
+     * Destroy the given ConversationContext from a thread without an active request,
+     * e.g. the {@link ConversationReaper}.
+     * A RequestContext gets started for the time of the destroy, as &#064;PreDestroy methods and the
+     * observers of the &#064;Destroyed event might use request scoped beans.
+     */
+    void destroyConversationContextOutsideOfRequest(ConversationContext ctx)
+    {
+        ContextsService contextsService = webBeansContext.getContextsService();
+        boolean startRequest = contextsService.getCurrentContext(RequestScoped.class, false) == null;
+        if (startRequest)
+        {
+            contextsService.startContext(RequestScoped.class, null);
+        }
+        try
+        {
+            destroyConversationContext(ctx);
+        }
+        finally
+        {
+            if (startRequest)
+            {
+                contextsService.endContext(RequestScoped.class, null);
+            }
+        }
+    }
+
     public Object getLifecycleEventPayload(ConversationContext ctx)
     {
         Object payLoad = null;
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.conversation;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.context.BusyConversationException;
+
+import org.apache.webbeans.context.ConversationContext;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Destroys timed out conversations in a low priority background thread.
+ * The conversations are kept in a queue ordered by their expiry time, so each run
+ * only looks at the conversations which might have timed out.
+ * A conversation which got used in the meantime simply gets queued again
+ * with its new expiry time.
+ */
+class ConversationReaper implements Runnable
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ConversationReaper.class);
+
+    private final ConversationManager conversationManager;
+    private final long periodicDelay;
+
+    private final DelayQueue<ConversationExpiry> expiries = new DelayQueue<>();
+    private final Set<ConversationContext> queuedConversations = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    private final ScheduledExecutorService executor;
+
+    ConversationReaper(ConversationManager conversationManager, long periodicDelay)
+    {
+        this.conversationManager = conversationManager;
+        this.periodicDelay = periodicDelay;
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        executor = Executors.newSingleThreadScheduledExecutor(r ->
+        {
+            Thread thread = new Thread(r, "OwbConversationReaper");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this, periodicDelay, periodicDelay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Watch the given long running conversation.
+     * Does nothing if the conversation is already watched.
+     *
+     * @param conversationContext the conversation to watch
+     * @param sessionConversations the conversation storage of the session the conversation belongs to
+     */
+    void schedule(ConversationContext conversationContext, Set<ConversationContext> sessionConversations)
+    {
+        if (queuedConversations.add(conversationContext))
+        {
+            expiries.add(new ConversationExpiry(conversationContext, sessionConversations,
+                expiryTime(conversationContext.getConversation())));
+        }
+    }
+
+    @Override
+    public void run()
+    {
+        ConversationExpiry expiry;
+        while ((expiry = expiries.poll()) != null)
+        {
+            ConversationContext conversationContext = expiry.conversationContext;
+            try
+            {
+                if (!expiry.sessionConversations.contains(conversationContext))
+                {
+                    // ended or the session got destroyed
+                    queuedConversations.remove(conversationContext);
+                }
+                else if (removeIfTimedOut(conversationContext, expiry.sessionConversations))
+                {
+                    queuedConversations.remove(conversationContext);
+                    conversationManager.destroyConversationContextOutsideOfRequest(conversationContext);
+                }
+                else if (!expiry.sessionConversations.contains(conversationContext))
+                {
+                    // ended in the meantime
+                    queuedConversations.remove(conversationContext);
+                }
+                else
+                {
+                    // got used in the meantime
+                    expiries.add(new ConversationExpiry(conversationContext, expiry.sessionConversations,
+                        expiryTime(conversationContext.getConversation())));
+                }
+            }
+            catch (RuntimeException e)
+            {
+                queuedConversations.remove(conversationContext);
+                logger.log(Level.WARNING, "Could not destroy timed out conversation " + conversationContext.getConversation(), e);
+            }
+        }
+    }
+
+    /**
+     * A request restoring the conversation touches it under the same lock,
+     * so it either sees the conversation removed or the conversation did not time out.
+     */
+    private boolean removeIfTimedOut(ConversationContext conversationContext, Set<ConversationContext> sessionConversations)
+    {
+        synchronized (conversationContext.getConversation())
+        {
+            return conversationManager.conversationTimedOut(conversationContext.getConversation())
+                && sessionConversations.remove(conversationContext);
+        }
+    }
+
+    void shutdown()
+    {
+        executor.shutdownNow();
+        expiries.clear();
+        queuedConversations.clear();
+    }
+
+    private long expiryTime(ConversationImpl conversation)
+    {
+        long now = System.currentTimeMillis();
+        try
+        {
+            long timeout = conversation.getTimeout();
+            if (timeout > 0L)
+            {
+                // a conversation only times out once the timeout got exceeded
+                return Math.max(conversation.getLastAccessTime() + timeout + 1, now + 1);
+            }
+        }
+        catch (BusyConversationException bce)
+        {
+            // currently used, so surely not timed out
+        }
+
+        // look at it again with the next run
+        return now + periodicDelay;
+    }
+
+    private static final class ConversationExpiry implements Delayed
+    {
+        private final ConversationContext conversationContext;
+        private final Set<ConversationContext> sessionConversations;
+        private final long expiryTime;
+
+        private ConversationExpiry(ConversationContext conversationContext, Set<ConversationContext> sessionConversations,
+                                   long expiryTime)
+        {
+            this.conversationContext = conversationContext;
+            this.sessionConversations = sessionConversations;
+            this.expiryTime = expiryTime;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit)
+        {
+            return unit.convert(expiryTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other)
+        {
+            return Long.compare(expiryTime, ((ConversationExpiry) other).expiryTime);
+        }
+    }
+}
@@ -72,6 +72,9 @@ public class ConversationStorageBean implements Bean<Set<ConversationContext>>,
         {
             conversationManager.destroyConversationContext(conversationContext);
         }
+
+        // lets the ConversationReaper know that those conversations are gone
+        instance.clear();
     }
 
     @Override
@@ -18,21 +18,34 @@
  */
 package org.apache.webbeans.corespi;
 
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.spi.SingletonService;
 import org.apache.webbeans.util.Asserts;
 
+/**
+ * Default {@link SingletonService} which holds one {@link WebBeansContext} per ClassLoader.
+ *
+ * Lookups are lock-free. The registered contexts are kept in an immutable array
+ * which gets replaced on each modification. As there usually are only a handful
+ * of applications per JVM a linear scan over this array is faster than any hashing.
+ * The ClassLoaders are only weakly referenced, just like with a WeakHashMap.
+ */
 public class DefaultSingletonService implements SingletonService<WebBeansContext>
 {
+    private static final SingletonEntry[] NO_ENTRIES = new SingletonEntry[0];
+
     /**
-     * Keys --> ClassLoaders
-     * Values --> WebBeansContext
+     * Immutable snapshot of all ClassLoader --&gt; WebBeansContext entries.
+     * Only gets written while holding the {@link #writeLock}.
      */
-    private final Map<ClassLoader, WebBeansContext> singletonMap = new WeakHashMap<>();
-    
+    private volatile SingletonEntry[] entries = NO_ENTRIES;
+
+    private final Object writeLock = new Object();
+
     /**
      * Gets singleton instance for deployment.
      * @return signelton instance for this deployment
@@ -42,31 +55,36 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
     {
         assertClassLoaderKey(key);
         ClassLoader classLoader = (ClassLoader) key;
-        synchronized (singletonMap)
+
+        WebBeansContext webBeansContext = find(entries, classLoader);
+        if (webBeansContext != null)
         {
-            //util.Track.sync(key);
-            
-            WebBeansContext webBeansContext = singletonMap.get(classLoader);
-            //util.Track.get(key);
+            return webBeansContext;
+        }
 
+        synchronized (writeLock)
+        {
+            webBeansContext = find(entries, classLoader);
             if (webBeansContext == null)
             {
                 webBeansContext = new WebBeansContext();
-                singletonMap.put(classLoader, webBeansContext);
+                add(classLoader, webBeansContext);
             }
 
             return webBeansContext;
-
         }
     }
 
     public void register(ClassLoader key, WebBeansContext context)
     {
-        if (singletonMap.containsKey(key))
+        synchronized (writeLock)
         {
-            throw new IllegalArgumentException(key + " is already registered");
+            if (find(entries, key) != null)
+            {
+                throw new IllegalArgumentException(key + " is already registered");
+            }
+            add(key, context);
         }
-        singletonMap.putIfAbsent(key, context);
     }
 
     /**
@@ -76,9 +94,9 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
     public void clearInstances(ClassLoader classLoader)
     {
         Asserts.assertNotNull(classLoader, "classloader");
-        synchronized (singletonMap)
+        synchronized (writeLock)
         {
-            singletonMap.remove(classLoader);
+            entries = copyEntries(classLoader);
         }
     }
 
@@ -104,4 +122,57 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
         }
     }
 
+    private static WebBeansContext find(SingletonEntry[] currentEntries, ClassLoader classLoader)
+    {
+        for (SingletonEntry entry : currentEntries)
+        {
+            if (entry.get() == classLoader)
+            {
+                return entry.webBeansContext;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Must only get called while holding the {@link #writeLock}.
+     */
+    private void add(ClassLoader classLoader, WebBeansContext webBeansContext)
+    {
+        SingletonEntry[] newEntries = copyEntries(null);
+        SingletonEntry[] withNewEntry = new SingletonEntry[newEntries.length + 1];
+        System.arraycopy(newEntries, 0, withNewEntry, 0, newEntries.length);
+        withNewEntry[newEntries.length] = new SingletonEntry(classLoader, webBeansContext);
+        entries = withNewEntry;
+    }
+
+    /**
+     * Copy all entries which still have a ClassLoader.
+     * Must only get called while holding the {@link #writeLock}.
+     * @param toRemove ClassLoader whose entry should not get copied, or {@code null}
+     */
+    private SingletonEntry[] copyEntries(ClassLoader toRemove)
+    {
+        List<SingletonEntry> liveEntries = new ArrayList<>(entries.length);
+        for (SingletonEntry entry : entries)
+        {
+            ClassLoader classLoader = entry.get();
+            if (classLoader != null && classLoader != toRemove)
+            {
+                liveEntries.add(entry);
+            }
+        }
+        return liveEntries.isEmpty() ? NO_ENTRIES : liveEntries.toArray(new SingletonEntry[liveEntries.size()]);
+    }
+
+    private static final class SingletonEntry extends WeakReference<ClassLoader>
+    {
+        private final WebBeansContext webBeansContext;
+
+        private SingletonEntry(ClassLoader classLoader, WebBeansContext webBeansContext)
+        {
+            super(classLoader);
+            this.webBeansContext = webBeansContext;
+        }
+    }
 }
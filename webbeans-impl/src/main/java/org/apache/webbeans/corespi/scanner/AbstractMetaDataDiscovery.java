@@ -111,7 +111,9 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         }
 
         Filter userFilter = webBeansContext().getService(Filter.class);
-        archive = new CdiArchive(beanArchiveService, WebBeansUtil.getCurrentClassLoader(), getBeanDeploymentUrls(), userFilter, getAdditionalArchive());
+        boolean useIndex = webBeansContext().getOpenWebBeansConfiguration().useBeanArchiveIndex();
+        archive = new CdiArchive(beanArchiveService, WebBeansUtil.getCurrentClassLoader(), getBeanDeploymentUrls(), userFilter,
+                getAdditionalArchive(), useIndex);
         finder = new OwbAnnotationFinder(archive);
 
         return finder;
@@ -399,7 +401,9 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
                         if (scanModeAnnotated)
                         {
                             // in this case we need to find out whether we should keep this class in the Archive
-                            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
+                            AnnotationFinder.ClassInfo classInfo = foundClasses.getIndex() != null
+                                ? foundClasses.getIndex().getClassInfo(finder, className)
+                                : finder.getClassInfo(className);
                             if (classInfo == null || !isBeanAnnotatedClass(classInfo))
                             {
                                 continue;
@@ -20,6 +20,7 @@ package org.apache.webbeans.corespi.scanner.xbean;
 
 import java.util.List;
 
+import org.apache.webbeans.proxy.AbstractProxyFactory;
 import org.apache.webbeans.spi.BeanArchiveService.BeanArchiveInformation;
 import org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
 import org.apache.xbean.finder.filter.Filter;
@@ -58,6 +59,12 @@ public class BeanArchiveFilter implements Filter
             return false;
         }
 
+        if (name.contains(AbstractProxyFactory.GENERATED_CLASS_NAME_MARKER))
+        {
+            // proxies which got generated at build time are no beans
+            return false;
+        }
+
         urlClasses.add(name);
         return true;
     }
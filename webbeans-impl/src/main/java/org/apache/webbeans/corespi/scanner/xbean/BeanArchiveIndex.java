@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.proxy.AbstractProxyFactory;
+import org.apache.xbean.finder.AnnotationFinder;
+import org.apache.xbean.finder.util.Files;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Index of a single bean archive which got created at build time.
+ *
+ * It contains the names of all classes in the archive together with the names
+ * of their class level annotations. If a fresh index is present, the scanner can use it
+ * instead of parsing the bytecode of all classes in the archive.
+ *
+ * The index is a small text file stored as {@link #INDEX_RESOURCE} in the archive.
+ * It is considered fresh if the {@code .class} files and the {@code META-INF/beans.xml}
+ * of the archive still match the fingerprint stored in the index.
+ * The fingerprint is a checksum over the path and the CRC-32 of each class file.
+ * For jars the CRC-32 is taken from the jar directory, so no class file needs to be read.
+ *
+ * @see BeanArchiveIndexWriter
+ */
+public final class BeanArchiveIndex
+{
+    public static final String INDEX_RESOURCE = "META-INF/openwebbeans/bean-archive.index";
+
+    static final int VERSION = 2;
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(BeanArchiveIndex.class);
+
+    private static final String HEADER = "# OpenWebBeans bean archive index";
+    private static final String VERSION_KEY = "version=";
+    private static final String FINGERPRINT_KEY = "fingerprint=";
+    private static final String BEANS_XML_KEY = "beans-xml=";
+    private static final String BEANS_XML = "META-INF/beans.xml";
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String NONE = "-";
+
+    /**
+     * key: class name
+     * value: names of the class level annotations
+     */
+    private final Map<String, List<String>> classes;
+
+    BeanArchiveIndex(Map<String, List<String>> classes)
+    {
+        this.classes = classes;
+    }
+
+    /**
+     * @return all class names of the archive
+     */
+    public Collection<String> getClassNames()
+    {
+        return classes.keySet();
+    }
+
+    /**
+     * @return the names of the class level annotations of the given class
+     */
+    public List<String> getAnnotations(String className)
+    {
+        List<String> annotations = classes.get(className);
+        return annotations != null ? annotations : Collections.<String>emptyList();
+    }
+
+    /**
+     * The returned ClassInfo only contains the class level annotations, which is all
+     * the scanner looks at to decide whether a class of an 'annotated' bean archive gets kept.
+     *
+     * @param finder the finder the ClassInfo gets created for
+     * @return the ClassInfo of the given class as far as it is known by the index
+     */
+    public AnnotationFinder.ClassInfo getClassInfo(AnnotationFinder finder, String className)
+    {
+        AnnotationFinder.ClassInfo classInfo = finder.new ClassInfo(className, null);
+        for (String annotationName : getAnnotations(className))
+        {
+            // AnnotationInfo expects a type descriptor
+            classInfo.getAnnotations().add(finder.new AnnotationInfo('L' + annotationName.replace('.', '/') + ';'));
+        }
+        return classInfo;
+    }
+
+    /**
+     * Read the index of the given bean archive.
+     *
+     * @param url the deployment URL of the bean archive
+     * @return the index or {@code null} if the archive has no index or it is stale
+     */
+    public static BeanArchiveIndex read(URL url)
+    {
+        File file;
+        try
+        {
+            file = Files.toFile(url);
+        }
+        catch (IllegalArgumentException e)
+        {
+            // not a file based archive
+            return null;
+        }
+        if (file == null || !file.exists())
+        {
+            return null;
+        }
+
+        try
+        {
+            if (file.isDirectory())
+            {
+                File indexFile = new File(file, INDEX_RESOURCE);
+                if (!indexFile.isFile())
+                {
+                    return null;
+                }
+                try (InputStream in = new FileInputStream(indexFile))
+                {
+                    return read(url, in, fingerprint(file), beansXmlChecksum(file));
+                }
+            }
+
+            try (JarFile jar = new JarFile(file))
+            {
+                JarEntry indexEntry = jar.getJarEntry(INDEX_RESOURCE);
+                if (indexEntry == null)
+                {
+                    return null;
+                }
+                try (InputStream in = jar.getInputStream(indexEntry))
+                {
+                    return read(url, in, fingerprint(jar), beansXmlChecksum(jar));
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Cannot read bean archive index of " + url, e);
+            return null;
+        }
+    }
+
+    private static BeanArchiveIndex read(URL url, InputStream in, Fingerprint fingerprint, String beansXmlChecksum)
+        throws IOException
+    {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        if (!HEADER.equals(reader.readLine())
+            || !(VERSION_KEY + VERSION).equals(reader.readLine())
+            || !(FINGERPRINT_KEY + fingerprint).equals(reader.readLine())
+            || !(BEANS_XML_KEY + beansXmlChecksum).equals(reader.readLine()))
+        {
+            logStale(url);
+            return null;
+        }
+
+        Map<String, List<String>> classes = new LinkedHashMap<>();
+        String line;
+        while ((line = reader.readLine()) != null)
+        {
+            if (line.isEmpty())
+            {
+                continue;
+            }
+            String[] parts = line.split("\t");
+            classes.put(parts[0], parts.length == 1
+                ? Collections.<String>emptyList()
+                : Collections.unmodifiableList(Arrays.asList(parts).subList(1, parts.length)));
+        }
+        return new BeanArchiveIndex(classes);
+    }
+
+    private static void logStale(URL url)
+    {
+        if (logger.isLoggable(Level.INFO))
+        {
+            logger.info("Ignoring stale bean archive index of " + url.toExternalForm());
+        }
+    }
+
+    private static void write(Writer writer, File dir, Map<String, List<String>> classes) throws IOException
+    {
+        BufferedWriter out = new BufferedWriter(writer);
+        out.write(HEADER);
+        out.newLine();
+        out.write(VERSION_KEY + VERSION);
+        out.newLine();
+        out.write(FINGERPRINT_KEY + fingerprint(dir));
+        out.newLine();
+        out.write(BEANS_XML_KEY + beansXmlChecksum(dir));
+        out.newLine();
+        for (Map.Entry<String, List<String>> entry : classes.entrySet())
+        {
+            out.write(entry.getKey());
+            for (String annotation : entry.getValue())
+            {
+                out.write('\t');
+                out.write(annotation);
+            }
+            out.newLine();
+        }
+        out.flush();
+    }
+
+    static void write(File dir, Map<String, List<String>> classes) throws IOException
+    {
+        File indexFile = new File(dir, INDEX_RESOURCE);
+        if (!indexFile.getParentFile().isDirectory() && !indexFile.getParentFile().mkdirs())
+        {
+            throw new IOException("Cannot create " + indexFile.getParentFile());
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(indexFile), StandardCharsets.UTF_8))
+        {
+            write(writer, dir, classes);
+        }
+    }
+
+    static boolean isIndexedClassFile(String path)
+    {
+        // proxies generated at build time might get added after the index got written
+        return path.endsWith(CLASS_SUFFIX) && !path.contains(AbstractProxyFactory.GENERATED_CLASS_NAME_MARKER);
+    }
+
+    private static Fingerprint fingerprint(File dir) throws IOException
+    {
+        Fingerprint fingerprint = new Fingerprint();
+        fingerprint.addDirectory(dir, "");
+        return fingerprint;
+    }
+
+    private static Fingerprint fingerprint(JarFile jar) throws IOException
+    {
+        Fingerprint fingerprint = new Fingerprint();
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements())
+        {
+            JarEntry entry = entries.nextElement();
+            if (!entry.isDirectory() && isIndexedClassFile(entry.getName()))
+            {
+                long crc = entry.getCrc();
+                if (crc == -1)
+                {
+                    try (InputStream in = jar.getInputStream(entry))
+                    {
+                        crc = crc(in);
+                    }
+                }
+                fingerprint.add(entry.getName(), crc);
+            }
+        }
+        return fingerprint;
+    }
+
+    private static String beansXmlChecksum(File dir) throws IOException
+    {
+        File beansXml = new File(dir, BEANS_XML);
+        if (!beansXml.isFile())
+        {
+            return NONE;
+        }
+        try (InputStream in = new FileInputStream(beansXml))
+        {
+            return checksum(in);
+        }
+    }
+
+    private static String beansXmlChecksum(JarFile jar) throws IOException
+    {
+        JarEntry beansXml = jar.getJarEntry(BEANS_XML);
+        if (beansXml == null)
+        {
+            return NONE;
+        }
+        try (InputStream in = jar.getInputStream(beansXml))
+        {
+            return checksum(in);
+        }
+    }
+
+    private static String checksum(InputStream in) throws IOException
+    {
+        return Long.toHexString(crc(in));
+    }
+
+    private static long crc(InputStream in) throws IOException
+    {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) >= 0)
+        {
+            crc.update(buffer, 0, read);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Path and CRC-32 of all class files of an archive.
+     * The entries get sorted by their path, so a directory and a jar
+     * with the same content get the same fingerprint.
+     */
+    private static final class Fingerprint
+    {
+        private final Map<String, Long> entries = new TreeMap<>();
+
+        private void addDirectory(File dir, String path) throws IOException
+        {
+            File[] files = dir.listFiles();
+            if (files == null)
+            {
+                return;
+            }
+            for (File file : files)
+            {
+                String filePath = path + file.getName();
+                if (file.isDirectory())
+                {
+                    addDirectory(file, filePath + '/');
+                }
+                else if (isIndexedClassFile(filePath))
+                {
+                    try (InputStream in = new FileInputStream(file))
+                    {
+                        add(filePath, crc(in));
+                    }
+                }
+            }
+        }
+
+        private void add(String path, long crc)
+        {
+            entries.put(path, crc);
+        }
+
+        @Override
+        public String toString()
+        {
+            CRC32 checksum = new CRC32();
+            for (Map.Entry<String, Long> entry : entries.entrySet())
+            {
+                checksum.update((entry.getKey() + '=' + Long.toHexString(entry.getValue()) + '\n').getBytes(StandardCharsets.UTF_8));
+            }
+            return entries.size() + ":" + Long.toHexString(checksum.getValue());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import org.apache.xbean.finder.AnnotationFinder;
+import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.archive.FileArchive;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes the {@link BeanArchiveIndex} of a directory with compiled classes at build time.
+ *
+ * The bytecode of all classes gets parsed once, so the container can skip this
+ * when it gets started. This class gets used by the openwebbeans-maven-plugin and
+ * openwebbeans-gradle build integration.
+ */
+public class BeanArchiveIndexWriter
+{
+    private final File classesDirectory;
+
+    public BeanArchiveIndexWriter(File classesDirectory)
+    {
+        this.classesDirectory = classesDirectory;
+    }
+
+    /**
+     * @param args the directory with the compiled classes
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length != 1)
+        {
+            throw new IllegalArgumentException("Usage: BeanArchiveIndexWriter <classesDirectory>");
+        }
+        new BeanArchiveIndexWriter(new File(args[0])).write();
+    }
+
+    /**
+     * Scan the classes directory and write the index into it.
+     * @return the number of indexed classes
+     */
+    public int write() throws IOException
+    {
+        if (!classesDirectory.isDirectory())
+        {
+            return 0;
+        }
+
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null)
+        {
+            loader = BeanArchiveIndexWriter.class.getClassLoader();
+        }
+        OwbAnnotationFinder finder = new OwbAnnotationFinder(new FileArchive(loader, classesDirectory));
+
+        // sorted to get reproducible builds
+        Map<String, List<String>> classes = new TreeMap<>();
+        for (Archive.Entry entry : finder.getArchive())
+        {
+            String className = entry.getName();
+            if (!BeanArchiveIndex.isIndexedClassFile(className.replace('.', '/') + ".class"))
+            {
+                continue;
+            }
+
+            List<String> annotations = new ArrayList<>();
+            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
+            if (classInfo != null)
+            {
+                for (AnnotationFinder.AnnotationInfo annotationInfo : classInfo.getAnnotations())
+                {
+                    annotations.add(annotationInfo.getName());
+                }
+            }
+            classes.put(className, annotations);
+        }
+
+        BeanArchiveIndex.write(classesDirectory, classes);
+        return classes.size();
+    }
+}
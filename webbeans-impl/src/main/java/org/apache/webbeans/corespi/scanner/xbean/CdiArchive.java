@@ -54,6 +54,15 @@ public class CdiArchive implements Archive
 
     public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
                       Filter userFilter, Archive customArchive)
+    {
+        this(beanArchiveService, loader, urls, userFilter, customArchive, false);
+    }
+
+    /**
+     * @param useIndex whether a fresh {@link BeanArchiveIndex} should be used instead of scanning the bytecode
+     */
+    public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
+                      Filter userFilter, Archive customArchive, boolean useIndex)
     {
         Collection<Archive> archives = new ArrayList<>();
         boolean customAdded = false;
@@ -63,16 +72,27 @@ public class CdiArchive implements Archive
 
             BeanArchiveInformation beanArchiveInfo = beanArchiveService.getBeanArchiveInformation(url);
             final boolean custom = "openwebbeans".equals(url.getProtocol());
-            Archive archive = new FilteredArchive(
-                    custom ? customArchive : ClasspathArchive.archive(loader, url),
-                    new BeanArchiveFilter(beanArchiveInfo, urlClasses, userFilter));
+            BeanArchiveFilter filter = new BeanArchiveFilter(beanArchiveInfo, urlClasses, userFilter);
+
+            BeanArchiveIndex index = useIndex && !custom ? BeanArchiveIndex.read(url) : null;
+            if (index != null)
+            {
+                // no need to scan this archive, the filter collects the urlClasses
+                for (String className : index.getClassNames())
+                {
+                    filter.accept(className);
+                }
+            }
+            else
+            {
+                archives.add(new FilteredArchive(custom ? customArchive : ClasspathArchive.archive(loader, url), filter));
+            }
             if (!customAdded && custom)
             {
                 customAdded = true;
             }
 
-            classesByUrl.put(url.toExternalForm(), new FoundClasses(url, urlClasses, beanArchiveInfo));
-            archives.add(archive);
+            classesByUrl.put(url.toExternalForm(), new FoundClasses(url, urlClasses, beanArchiveInfo, index));
         }
         if (!customAdded && customArchive != null)
         {
@@ -109,12 +129,20 @@ public class CdiArchive implements Archive
         private URL url;
         private Collection<String> classNames;
         private BeanArchiveInformation beanArchiveInfo;
+        private BeanArchiveIndex index;
 
         public FoundClasses(URL url, Collection<String> classNames, BeanArchiveInformation beanArchiveInfo)
+        {
+            this(url, classNames, beanArchiveInfo, null);
+        }
+
+        public FoundClasses(URL url, Collection<String> classNames, BeanArchiveInformation beanArchiveInfo,
+                            BeanArchiveIndex index)
         {
             this.url = url;
             this.classNames = classNames;
             this.beanArchiveInfo = beanArchiveInfo;
+            this.index = index;
         }
 
         public URL getUrl()
@@ -131,5 +159,13 @@ public class CdiArchive implements Archive
         {
             return classNames;
         }
+
+        /**
+         * @return the index the classes got read from or {@code null} if the bytecode got scanned
+         */
+        public BeanArchiveIndex getIndex()
+        {
+            return index;
+        }
     }
 }
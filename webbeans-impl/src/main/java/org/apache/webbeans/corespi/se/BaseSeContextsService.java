@@ -41,6 +41,8 @@ import org.apache.webbeans.context.ConversationContext;
 import org.apache.webbeans.context.DependentContext;
 import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.context.SessionContext;
+import org.apache.webbeans.context.storage.ContextStorage;
+import org.apache.webbeans.context.storage.ContextStorageFacade;
 import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
@@ -48,22 +50,22 @@ import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 
 public abstract class BaseSeContextsService extends AbstractContextsService
 {
-    private static ThreadLocal<RequestContext> requestContext;
+    private static ContextStorage<RequestContext> requestContext;
 
-    private static ThreadLocal<SessionContext> sessionContext;
+    private static ContextStorage<SessionContext> sessionContext;
 
-    private static ThreadLocal<ConversationContext> conversationContext;
+    private static ContextStorage<ConversationContext> conversationContext;
 
-    private static ThreadLocal<DependentContext> dependentContext;
+    private static ContextStorage<DependentContext> dependentContext;
 
     private ApplicationContext applicationContext;
 
     static
     {
-        requestContext = new ThreadLocal<>();
-        sessionContext = new ThreadLocal<>();
-        conversationContext = new ThreadLocal<>();
-        dependentContext = new ThreadLocal<>();
+        requestContext = ContextStorageFacade.createStorage();
+        sessionContext = ContextStorageFacade.createStorage();
+        conversationContext = ContextStorageFacade.createStorage();
+        dependentContext = ContextStorageFacade.createStorage();
     }
 
     protected BaseSeContextsService(final WebBeansContext webBeansContext)
@@ -290,7 +292,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
             return;
         }
 
-        ApplicationContext ctx = new ApplicationContext();
+        ApplicationContext ctx = trackInstances(new ApplicationContext());
         ctx.setActive(true);
 
         applicationContext = ctx;
@@ -322,7 +324,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     private void startRequestContext()
     {
         
-        RequestContext ctx = new RequestContext();
+        RequestContext ctx = trackInstances(new RequestContext());
         ctx.setActive(true);
         
         requestContext.set(ctx);
@@ -333,7 +335,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     
     private void startSessionContext()
     {
-        SessionContext ctx = new SessionContext();
+        SessionContext ctx = trackInstances(new SessionContext());
         ctx.setActive(true);
         
         sessionContext.set(ctx);
@@ -22,15 +22,17 @@ import javax.enterprise.context.spi.Context;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.SingletonContext;
+import org.apache.webbeans.context.storage.ContextStorage;
+import org.apache.webbeans.context.storage.ContextStorageFacade;
 
 
 public class DefaultContextsService extends BaseSeContextsService
 {
-    private static ThreadLocal<SingletonContext> singletonContext;
+    private static ContextStorage<SingletonContext> singletonContext;
 
     static
     {
-        singletonContext = new ThreadLocal<>();
+        singletonContext = ContextStorageFacade.createStorage();
     }
 
     public DefaultContextsService(final WebBeansContext webBeansContext)
@@ -60,7 +62,7 @@ public class DefaultContextsService extends BaseSeContextsService
     @Override
     protected void createSingletonContext()
     {
-        final SingletonContext ctx = new SingletonContext();
+        final SingletonContext ctx = trackInstances(new SingletonContext());
         ctx.setActive(true);
         
         singletonContext.set(ctx);
@@ -35,7 +35,7 @@ public class StandaloneContextsService extends BaseSeContextsService
     @Override
     protected void createSingletonContext()
     {
-        singletonContext = new SingletonContext();
+        singletonContext = trackInstances(new SingletonContext());
         singletonContext.setActive(true);
     }
 
@@ -24,6 +24,9 @@ import java.util.Map;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.Bean;
 
+import org.apache.webbeans.context.storage.ContextStorage;
+import org.apache.webbeans.context.storage.ContextStorageFacade;
+
 /**
  * The ELContextStore serves two different purposes
  *
@@ -44,7 +47,7 @@ import javax.enterprise.inject.spi.Bean;
  */
 public final class ELContextStore
 {
-    private static ThreadLocal<ELContextStore> contextStores = new ThreadLocal<>();
+    private static ContextStorage<ELContextStore> contextStores = ContextStorageFacade.createStorage();
 
     /**
      * @param createIfNotExist if <code>false</code> doesn't create a new ELContextStore if none exists
@@ -200,7 +203,6 @@ public final class ELContextStore
     public void destroyELContextStore()
     {
         normalScopedObjects.clear();
-        contextStores.set(null);
         contextStores.remove();
     }
 }
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.event;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Default Executor for asynchronous observer methods if no {@link java.util.concurrent.Executor} SPI is configured.
+ * It uses a fixed number of daemon threads and a bounded queue, so a burst of
+ * fireAsync calls cannot pile up an unbounded number of pending tasks.
+ *
+ * @see OpenWebBeansConfiguration#ASYNC_EVENT_REJECTION_POLICY
+ */
+class AsyncEventExecutor extends ThreadPoolExecutor implements Closeable
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(AsyncEventExecutor.class);
+
+    /**
+     * How long pending notifications may still run once the container shuts down.
+     */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+
+    AsyncEventExecutor(OpenWebBeansConfiguration configuration)
+    {
+        super(configuration.getAsyncEventThreads(), configuration.getAsyncEventThreads(),
+            60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(configuration.getAsyncEventQueueSize()),
+            new AsyncEventThreadFactory(),
+            rejectionHandler(configuration.getAsyncEventRejectionPolicy()));
+
+        // don't keep idle threads around, e.g. for applications which never fire async events
+        allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void close()
+    {
+        // pending notifications still get processed, but not after the container is gone
+        shutdown();
+        try
+        {
+            if (awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+            {
+                return;
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        int dropped = shutdownNow().size();
+        logger.warning("Async observers did not finish within " + SHUTDOWN_TIMEOUT_SECONDS
+            + " seconds, interrupted them and dropped " + dropped + " pending notifications");
+    }
+
+    private static RejectedExecutionHandler rejectionHandler(String policy)
+    {
+        if ("block".equalsIgnoreCase(policy))
+        {
+            return (runnable, executor) ->
+            {
+                if (executor.isShutdown())
+                {
+                    throw new RejectedExecutionException("CDI executor is shutdown");
+                }
+                if (isPoolThread(executor))
+                {
+                    // an async observer firing an async event would wait for itself
+                    throw new RejectedExecutionException("CDI executor queue is full, " +
+                        "not waiting for it from within the executor itself");
+                }
+                try
+                {
+                    executor.getQueue().put(runnable);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for the CDI executor", e);
+                }
+            };
+        }
+        if ("abort".equalsIgnoreCase(policy))
+        {
+            return new AbortPolicy();
+        }
+
+        throw new WebBeansConfigurationException("Unknown " + OpenWebBeansConfiguration.ASYNC_EVENT_REJECTION_POLICY
+            + " '" + policy + "', supported are 'block' and 'abort'");
+    }
+
+    private static boolean isPoolThread(ThreadPoolExecutor executor)
+    {
+        Thread current = Thread.currentThread();
+        return current instanceof AsyncEventThread
+            && ((AsyncEventThread) current).threadFactory == executor.getThreadFactory();
+    }
+
+    private static final class AsyncEventThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger threadCount = new AtomicInteger();
+        private final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new AsyncEventThread(this, runnable, "OwbAsyncEvent-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }
+    }
+
+    private static final class AsyncEventThread extends Thread
+    {
+        private final ThreadFactory threadFactory;
+
+        private AsyncEventThread(ThreadFactory threadFactory, Runnable runnable, String name)
+        {
+            super(runnable, name);
+            this.threadFactory = threadFactory;
+        }
+    }
+}
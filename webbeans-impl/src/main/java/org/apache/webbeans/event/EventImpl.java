@@ -22,7 +22,9 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletionStage;
 
 import javax.enterprise.event.Event;
@@ -47,6 +49,11 @@ public class EventImpl<T> implements Event<T>, Serializable
 
     private transient WebBeansContext webBeansContext;
 
+    /**
+     * The validated metadata for each runtime class of the fired events.
+     */
+    private transient volatile Map<Class<?>, EventMetadataImpl> metadataPerEventClass;
+
     /**
      * Creates a new event.
      * 
@@ -78,9 +85,7 @@ public class EventImpl<T> implements Event<T>, Serializable
     @Override
     public void fire(T event)
     {
-        Type eventType = event.getClass();
-        webBeansContext.getWebBeansUtil().validEventType(eventType.getClass(), metadata.getType());
-        webBeansContext.getBeanManagerImpl().fireEvent(event, metadata.select(eventType), false);
+        webBeansContext.getBeanManagerImpl().fireEvent(event, getMetadata(event.getClass()), false);
     }
 
     @Override
@@ -92,12 +97,33 @@ public class EventImpl<T> implements Event<T>, Serializable
     @Override
     public <U extends T> CompletionStage<U> fireAsync(U event, NotificationOptions notificationOptions)
     {
-        Type eventType = event.getClass();
-        webBeansContext.getWebBeansUtil().validEventType(eventType.getClass(), metadata.getType());
-        return webBeansContext.getNotificationManager().fireEvent(event, metadata.select(eventType), false,
+        return webBeansContext.getNotificationManager().fireEvent(event, getMetadata(event.getClass()), false,
                     notificationOptions);
     }
 
+    /**
+     * @return the metadata of an event with the given runtime class, validated on first use
+     */
+    private EventMetadataImpl getMetadata(Class<?> eventClass)
+    {
+        Map<Class<?>, EventMetadataImpl> cache = metadataPerEventClass;
+        if (cache == null)
+        {
+            cache = new ConcurrentHashMap<>();
+            metadataPerEventClass = cache;
+        }
+
+        EventMetadataImpl eventMetadata = cache.get(eventClass);
+        if (eventMetadata == null)
+        {
+            Type eventType = eventClass;
+            webBeansContext.getWebBeansUtil().validEventType(eventType.getClass(), metadata.getType());
+            eventMetadata = metadata.select(eventType);
+            cache.putIfAbsent(eventClass, eventMetadata);
+        }
+        return eventMetadata;
+    }
+
     /**
      * {@inheritDoc}
      */
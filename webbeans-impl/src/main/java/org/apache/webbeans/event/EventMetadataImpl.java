@@ -53,6 +53,12 @@ public class EventMetadataImpl implements EventMetadata, Serializable
     private final Set<Annotation> qualifiers;
     private transient WebBeansContext webBeansContext;
 
+    /**
+     * The observer lookup key of the last event fired with this metadata.
+     * Also marks the class of that event as no container event.
+     */
+    private transient volatile NotificationManager.ObserverCacheKey observerCacheKey;
+
     public EventMetadataImpl(Type selectType, Type type, InjectionPoint injectionPoint, Annotation[] qualifiers, WebBeansContext context)
     {
         context.getAnnotationManager().checkQualifierConditions(qualifiers);
@@ -145,6 +151,16 @@ public class EventMetadataImpl implements EventMetadata, Serializable
         return new EventMetadataImpl(type, subtype, injectionPoint, newQualifiers.toArray(new Annotation[newQualifiers.size()]), webBeansContext);
     }
     
+    NotificationManager.ObserverCacheKey getObserverCacheKey()
+    {
+        return observerCacheKey;
+    }
+
+    void setObserverCacheKey(NotificationManager.ObserverCacheKey observerCacheKey)
+    {
+        this.observerCacheKey = observerCacheKey;
+    }
+
     private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException
     {
         in.defaultReadObject();
@@ -19,20 +19,17 @@
 
 package org.apache.webbeans.event;
 
-import java.io.Closeable;
-import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -41,10 +38,10 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -64,8 +61,11 @@ import javax.enterprise.inject.spi.ObserverMethod;
 import javax.enterprise.inject.spi.ProcessAnnotatedType;
 import javax.enterprise.inject.spi.ProcessProducer;
 
+import org.apache.webbeans.annotation.AnnotationManager;
+import org.apache.webbeans.annotation.QualifierKey;
 import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.config.StartupProfiler;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
@@ -75,6 +75,7 @@ import org.apache.webbeans.portable.events.generics.GProcessObserverMethod;
 import org.apache.webbeans.portable.events.generics.GenericBeanEvent;
 import org.apache.webbeans.portable.events.generics.GenericProducerObserverEvent;
 import org.apache.webbeans.portable.events.generics.TwoParametersGenericBeanEvent;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.spi.TransactionService;
 import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
@@ -84,11 +85,29 @@ import org.apache.webbeans.util.WebBeansUtil;
 
 public final class NotificationManager
 {
+    private static final ObserverMethod<? super Object>[] NO_OBSERVER_METHODS = new ObserverMethod[0];
+
     private final Map<Type, Set<ObserverMethod<?>>> observers = new ConcurrentHashMap<>();
     private final WebBeansContext webBeansContext;
 
     private final NotificationOptions defaultNotificationOptions;
 
+    /**
+     * Whether all async observers of an event get notified in a single task.
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#ASYNC_EVENT_BATCH_OBSERVERS
+     */
+    private final boolean batchAsyncObservers;
+
+    /**
+     * Only set if a {@link MetricsService} is configured.
+     */
+    private final MetricsService metricsService;
+
+    /**
+     * Only set while the BeansDeployer deploys with an enabled {@link StartupProfiler}.
+     */
+    private StartupProfiler startupProfiler;
+
     /**
      * Contains information whether certain Initialized and Destroyed events have observer methods.
      */
@@ -101,6 +120,29 @@ public final class NotificationManager
     private final ConcurrentHashMap<Class<?>, Set<ObserverMethod<?>>> observersByRawType
         = new ConcurrentHashMap<>();
 
+    /**
+     * Resolved, sorted and sync/async partitioned ObserverMethods
+     * cached by the event class, the declared event type and the event qualifiers.
+     * This allows to fire an event without any further resolution once the container is started.
+     * The cache is bounded and simply gets cleared once it is full.
+     *
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#OBSERVER_CACHE_SIZE
+     */
+    private final ConcurrentMap<ObserverCacheKey, ObserverDispatch> observerDispatchCache
+        = new ConcurrentHashMap<>();
+
+    private final int observerDispatchCacheSize;
+
+    /**
+     * Routing index for container lifecycle events, keyed by the fired event type.
+     * A route only contains the observed types which can receive this kind of event at all,
+     * so that firing e.g. a ProcessAnnotatedType only has to check their generic parameters.
+     * The first route gets built for the BeforeBeanDiscovery event, and all of them get
+     * dropped whenever an observer method is added.
+     */
+    private final ConcurrentMap<Type, ExtensionEventRoute> extensionEventRoutes
+        = new ConcurrentHashMap<>();
+
     // this is actually faster than a lambda Comparator.comparingInt(ObserverMethod::getPriority)
     private Comparator<? super ObserverMethod<? super Object>> observerMethodComparator
         = new Comparator<ObserverMethod<? super Object>>()
@@ -116,6 +158,25 @@ public final class NotificationManager
     {
         this.webBeansContext = webBeansContext;
         this.defaultNotificationOptions = NotificationOptions.ofExecutor(getDefaultExecutor());
+        this.batchAsyncObservers = webBeansContext.getOpenWebBeansConfiguration().isAsyncEventBatchObservers();
+        this.observerDispatchCacheSize = webBeansContext.getOpenWebBeansConfiguration().getObserverCacheSize();
+        this.metricsService = webBeansContext.getMetricsService();
+        if (metricsService != null)
+        {
+            registerQueueDepthGauge(defaultNotificationOptions.getExecutor());
+        }
+    }
+
+    private void registerQueueDepthGauge(Executor executor)
+    {
+        if (executor instanceof ThreadPoolExecutor)
+        {
+            metricsService.gauge("events.async.pending", () -> ((ThreadPoolExecutor) executor).getQueue().size());
+        }
+        else if (executor instanceof ForkJoinPool)
+        {
+            metricsService.gauge("events.async.pending", ((ForkJoinPool) executor)::getQueuedSubmissionCount);
+        }
     }
 
     private Executor getDefaultExecutor()
@@ -123,9 +184,22 @@ public final class NotificationManager
         // here it would be nice to support to use a produced bean like @Named("openwebbeansCdiExecutor")
         // instead of a direct spi
         //
-        // logic is: if an Executor is registered as a spi use it, otherwise use JVM default one
+        // logic is: if an Executor is registered as a spi use it, otherwise use a bounded default one
         Executor service = webBeansContext.getService(Executor.class);
-        return service != null ? service : new CloseableExecutor();
+        return service != null ? service : new AsyncEventExecutor(webBeansContext.getOpenWebBeansConfiguration());
+    }
+
+    /**
+     * Shuts down the default Executor for async observer methods if no Executor SPI is used.
+     * Already pending notifications still get processed for a limited time.
+     */
+    public void shutdownDefaultExecutor()
+    {
+        Executor executor = defaultNotificationOptions.getExecutor();
+        if (executor instanceof AsyncEventExecutor)
+        {
+            ((AsyncEventExecutor) executor).close();
+        }
     }
 
     /**
@@ -136,6 +210,7 @@ public final class NotificationManager
     public void clearCaches()
     {
         observersByRawType.clear();
+        observerDispatchCache.clear();
         hasContextLifecycleEventObservers.clear();
     }
 
@@ -189,6 +264,11 @@ public final class NotificationManager
         }
 
         set.add(observer);
+
+        // a new observer might change the resolution result of already fired events
+        observersByRawType.clear();
+        observerDispatchCache.clear();
+        extensionEventRoutes.clear();
     }
 
 
@@ -214,6 +294,107 @@ public final class NotificationManager
         return observersMethods;
     }
 
+    /**
+     * Whether any Extension observes container lifecycle events of the given type.
+     * This allows to not even fire events which nobody is interested in.
+     *
+     * @param eventType the type of the container lifecycle event, e.g. GProcessInjectionPoint
+     * @return {@code false} if no observer method would get notified
+     */
+    public boolean hasExtensionObserver(Type eventType)
+    {
+        return getExtensionEventRoute(eventType).observedTypes.length > 0;
+    }
+
+    /**
+     * Like {@link #hasExtensionObserver(Type)} but also checks the type parameter of the observed
+     * {@link ProcessAnnotatedType} and the &#064;WithAnnotations of the observer methods against the given type.
+     *
+     * @param eventType either GProcessAnnotatedType or GProcessSyntheticAnnotatedType
+     * @param annotatedType the AnnotatedType the event would get fired for
+     * @return {@code false} if no observer method would get notified
+     */
+    public boolean hasProcessAnnotatedTypeObserver(Type eventType, AnnotatedType<?> annotatedType)
+    {
+        Class<?> beanClass = annotatedType.getJavaClass();
+        for (ExtensionObserverRoute observed : getExtensionEventRoute(eventType).observedTypes)
+        {
+            if (observed.parametrized && !isParametrizedForBeanClass((ParameterizedType) observed.observedType, beanClass))
+            {
+                continue;
+            }
+            if (observed.withAnnotations == null || annotatedTypeHasAnnotations(annotatedType, observed.withAnnotations))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ExtensionEventRoute getExtensionEventRoute(Type eventType)
+    {
+        ExtensionEventRoute route = extensionEventRoutes.get(eventType);
+        if (route == null)
+        {
+            route = buildExtensionEventRoute(eventType);
+            ExtensionEventRoute existing = extensionEventRoutes.putIfAbsent(eventType, route);
+            if (existing != null)
+            {
+                route = existing;
+            }
+        }
+        return route;
+    }
+
+    /**
+     * Picks all observed types which can receive the given container lifecycle event
+     * regardless of the actual event payload.
+     */
+    private ExtensionEventRoute buildExtensionEventRoute(Type eventType)
+    {
+        Class<?> eventClass = ClassUtil.getClazz(eventType);
+
+        int kind = ExtensionEventRoute.OTHER_EVENT;
+        if (WebBeansUtil.isExtensionBeanEventType(eventType))
+        {
+            kind = ExtensionEventRoute.BEAN_EVENT;
+        }
+        else if (WebBeansUtil.isExtensionProducerOrObserverEventType(eventType))
+        {
+            kind = ExtensionEventRoute.PRODUCER_OR_OBSERVER_EVENT;
+        }
+
+        List<ExtensionObserverRoute> observedTypes = new ArrayList<>();
+        for (Map.Entry<Type, Set<ObserverMethod<?>>> observerEntry : observers.entrySet())
+        {
+            Type type = observerEntry.getKey();
+            Class<?> observerClass = ClassUtil.getClazz(type);
+            if (observerClass == null || !observerClass.isAssignableFrom(eventClass))
+            {
+                continue;
+            }
+
+            boolean defaultEventType = false;
+            if (kind == ExtensionEventRoute.BEAN_EVENT)
+            {
+                //ProcessBean,ProcessAnnotateType, ProcessInjectionTarget
+                if (!WebBeansUtil.isDefaultExtensionBeanEventType(observerClass))
+                {
+                    continue;
+                }
+            }
+            else if (kind == ExtensionEventRoute.PRODUCER_OR_OBSERVER_EVENT)
+            {
+                //ProcessProducer, ProcessProducerMethod, ProcessProducerField,ProcessObserverMEthod
+                defaultEventType = WebBeansUtil.isDefaultExtensionProducerOrObserverEventType(observerClass);
+            }
+
+            observedTypes.add(new ExtensionObserverRoute(type, observerClass, defaultEventType, observerEntry.getValue()));
+        }
+
+        return new ExtensionEventRoute(kind, observedTypes.toArray(new ExtensionObserverRoute[observedTypes.size()]));
+    }
+
     private <T> Collection<ObserverMethod<? super T>> filterByWithAnnotations(Collection<ObserverMethod<? super T>> observersMethods, AnnotatedType annotatedType)
     {
         List<ObserverMethod<? super T>> observerMethodsWithAnnotations = new ArrayList<>();
@@ -335,7 +516,7 @@ public final class NotificationManager
 
         Set<ObserverMethod<? super T>> matching = new HashSet<>();
 
-        Set<Type> eventTypes = GenericsUtil.getTypeClosure(declaredEventType, eventClass);
+        Set<Type> eventTypes = webBeansContext.getGenericsCache().getTypeClosure(declaredEventType, eventClass);
         if (GenericsUtil.containTypeVariable(eventTypes))
         {
             throw new IllegalArgumentException("event type may not contain unbound type variable: " + eventTypes);
@@ -347,8 +528,8 @@ public final class NotificationManager
             for (Type eventType : eventTypes)
             {
                 if ((ParameterizedType.class.isInstance(eventType) && Class.class.isInstance(observedType)
-                        && GenericsUtil.isAssignableFrom(true, false, observedType, ParameterizedType.class.cast(eventType).getRawType(), new HashMap<>()))
-                    || GenericsUtil.isAssignableFrom(true, false, observedType, eventType, new HashMap<>()))
+                        && webBeansContext.getGenericsCache().isAssignableFrom(true, false, observedType, ParameterizedType.class.cast(eventType).getRawType()))
+                    || webBeansContext.getGenericsCache().isAssignableFrom(true, false, observedType, eventType))
                 {
                     Set<ObserverMethod<?>> observerMethods = observerEntry.getValue();
 
@@ -371,93 +552,61 @@ public final class NotificationManager
     
     private <T> Set<ObserverMethod<? super T>> filterByExtensionEventType(T event, Type eventType)
     {
-        Class<?> eventClass = ClassUtil.getClazz(eventType);
+        ExtensionEventRoute route = getExtensionEventRoute(eventType);
+        if (route.observedTypes.length == 0)
+        {
+            return Collections.emptySet();
+        }
+
         Set<ObserverMethod<? super T>> matching = new HashSet<>();
-        Set<Type> keySet = observers.keySet();
-        for (Type type : keySet)
+        for (ExtensionObserverRoute observed : route.observedTypes)
         {
-            Class<?> beanClass;
-            Class<?> observerClass = ClassUtil.getClazz(type);
-            
-            if(observerClass != null)
+            Type type = observed.observedType;
+            if (!observed.parametrized)
+            {
+                addToMatching(type, matching);
+            }
+            //ProcessBean,ProcessAnnotateType, ProcessInjectionTarget
+            else if (route.kind == ExtensionEventRoute.BEAN_EVENT)
             {
-                if(observerClass.isAssignableFrom(eventClass))
+                GenericBeanEvent genericBeanEvent = (GenericBeanEvent)event;
+                Class<?> beanClass = genericBeanEvent.getBeanClassFor(observed.observerClass);
+
+                Type secondParam = null;
+                if (TwoParametersGenericBeanEvent.class.isInstance(event))
                 {
-                    //ProcessBean,ProcessAnnotateType, ProcessInjectionTarget
-                    if(WebBeansUtil.isExtensionBeanEventType(eventType))
-                    {
-                        if(WebBeansUtil.isDefaultExtensionBeanEventType(observerClass))
-                        {                
-                            GenericBeanEvent genericBeanEvent = (GenericBeanEvent)event;
-                            beanClass = genericBeanEvent.getBeanClassFor(observerClass);
-                            
-                            if(ClassUtil.isParametrizedType(type))
-                            {
-                                Type secondParam = null;
-                                if (TwoParametersGenericBeanEvent.class.isInstance(event))
-                                {
-                                    secondParam = TwoParametersGenericBeanEvent.class.cast(event).getInjectionType();
-                                }
-                                addToMatchingWithParametrizedForBeans(type, matching, beanClass, secondParam);
-                            }
-                            else
-                            {
-                                addToMatching(type, matching);
-                            }
-                        }
-                    }
-                    //ProcessProducer, ProcessProducerMethod, ProcessProducerField,ProcessObserverMEthod
-                    else if(WebBeansUtil.isExtensionProducerOrObserverEventType(eventType))
-                    {
-                        GenericProducerObserverEvent genericBeanEvent = (GenericProducerObserverEvent)event;
-                        beanClass = genericBeanEvent.getBeanClass();
-                        Class<?> producerOrObserverReturnClass = genericBeanEvent.getProducerOrObserverType();
-
-                        if(WebBeansUtil.isDefaultExtensionProducerOrObserverEventType(observerClass))
-                        {   
-                            boolean processProducerEvent = false;
-                            if(observerClass.equals(ProcessProducer.class))
-                            {
-                                processProducerEvent = true;
-                            }
-                            
-                            if(ClassUtil.isParametrizedType(type))
-                            {
-                                addToMatchingWithParametrizedForProducers(processProducerEvent,type, beanClass, producerOrObserverReturnClass, matching);
-                            }
-                            else
-                            {
-                                addToMatching(type, matching);
-                            }
-                        }
-                        else if(observerClass.isAssignableFrom(eventClass))
-                        {
-                            if(ClassUtil.isParametrizedType(type))
-                            {
-                                addToMatchingWithParametrizedForBeans(type, matching, beanClass, null);
-                            }
-                            else
-                            {
-                                addToMatching(type, matching);
-                            }                            
-                        }
-                    }
-                    //BeforeBeanDiscovery,AfterBeanDiscovery,AfterDeploymentValidation
-                    //BeforeShutDown Events
-                    else
-                    {
-                        if(observerClass.isAssignableFrom(eventClass))
-                        {                
-                            addToMatching(type, matching);
-                        }
-                    }                
-                }                            
-            }            
-        }            
-        
-        return matching;        
+                    secondParam = TwoParametersGenericBeanEvent.class.cast(event).getInjectionType();
+                }
+                addToMatchingWithParametrizedForBeans(type, matching, beanClass, secondParam);
+            }
+            //ProcessProducer, ProcessProducerMethod, ProcessProducerField,ProcessObserverMEthod
+            else if (route.kind == ExtensionEventRoute.PRODUCER_OR_OBSERVER_EVENT)
+            {
+                GenericProducerObserverEvent genericBeanEvent = (GenericProducerObserverEvent)event;
+                Class<?> beanClass = genericBeanEvent.getBeanClass();
+
+                if (observed.defaultEventType)
+                {
+                    boolean processProducerEvent = observed.observerClass.equals(ProcessProducer.class);
+                    addToMatchingWithParametrizedForProducers(processProducerEvent, type, beanClass,
+                            genericBeanEvent.getProducerOrObserverType(), matching);
+                }
+                else
+                {
+                    addToMatchingWithParametrizedForBeans(type, matching, beanClass, null);
+                }
+            }
+            //BeforeBeanDiscovery,AfterBeanDiscovery,AfterDeploymentValidation
+            //BeforeShutDown Events
+            else
+            {
+                addToMatching(type, matching);
+            }
+        }
+
+        return matching;
     }
-    
+
     /**
      * Returns true if fired event class is assignable with 
      * given observer type argument.
@@ -499,7 +648,7 @@ public final class NotificationManager
         }
         else if (observerTypeActualArg instanceof ParameterizedType)
         {
-            return GenericsUtil.isAssignableFrom(false, true, observerTypeActualArg, beanClass, new HashMap<>());
+            return webBeansContext.getGenericsCache().isAssignableFrom(false, true, observerTypeActualArg, beanClass);
         }
         
         return false;
@@ -515,6 +664,19 @@ public final class NotificationManager
         }        
     }
     
+    /**
+     * Checks the first type parameter of an observed ProcessAnnotatedType, ProcessBean, etc. against the bean class.
+     */
+    private boolean isParametrizedForBeanClass(ParameterizedType observedType, Class<?> beanClass)
+    {
+        Type[] actualArgs = observedType.getActualTypeArguments();
+        if (actualArgs.length == 0)
+        {
+            return ((Class<?>) observedType.getRawType()).isAssignableFrom(beanClass);
+        }
+        return checkEventTypeParameterForExtensions(beanClass, actualArgs[0]);
+    }
+
     private <T> void addToMatchingWithParametrizedForBeans(Type type, Set<ObserverMethod<? super T>> matching,
                                                            Class<?> beanClass, Type secondParam)
     {
@@ -534,7 +696,7 @@ public final class NotificationManager
             if(checkEventTypeParameterForExtensions(beanClass, actualArgs[0])
                     && (secondParam == null || actualArgs.length == 1
                             || checkEventTypeParameterForExtensions(secondParam, actualArgs[1])
-                            || GenericsUtil.isAssignableFrom(true, false, actualArgs[1], secondParam, new HashMap<>())))
+                            || webBeansContext.getGenericsCache().isAssignableFrom(true, false, actualArgs[1], secondParam)))
             {
                 addToMatching(type, matching);   
             }
@@ -597,6 +759,8 @@ public final class NotificationManager
     private <T> Collection<ObserverMethod<? super T>> filterByQualifiers(Collection<ObserverMethod<? super T>> observers, Set<Annotation> eventQualifiers)
     {
         List<ObserverMethod<? super T>> matching = new ArrayList<>(observers.size());
+        AnnotationManager annotationManager = webBeansContext.getAnnotationManager();
+        QualifierKey[] eventQualifierKeys = null;
 
         search: for (ObserverMethod<? super T> ob : observers)
         {
@@ -606,14 +770,19 @@ public final class NotificationManager
             {
                 continue;
             }
-            
+
+            if (!qualifiers.isEmpty() && eventQualifierKeys == null)
+            {
+                eventQualifierKeys = annotationManager.getQualifierKeys(eventQualifiers.toArray(new Annotation[eventQualifiers.size()]));
+            }
 
             for (Annotation qualifier : qualifiers)
             {
+                QualifierKey qualifierKey = annotationManager.getQualifierKey(qualifier);
                 boolean found = false;
-                for(Annotation inList : eventQualifiers)
+                for (QualifierKey inList : eventQualifierKeys)
                 {
-                    if(AnnotationUtil.isCdiAnnotationEqual(inList, qualifier))
+                    if (inList.equals(qualifierKey))
                     {
                         found = true;
                         break;
@@ -632,6 +801,11 @@ public final class NotificationManager
         return matching;
     }
 
+    public void setStartupProfiler(StartupProfiler startupProfiler)
+    {
+        this.startupProfiler = startupProfiler;
+    }
+
     public NotificationOptions getDefaultNotificationOptions()
     {
         return defaultNotificationOptions;
@@ -643,37 +817,45 @@ public final class NotificationManager
      */
     public <T> CompletionStage<T> fireEvent(Object event, EventMetadataImpl metadata, boolean isLifecycleEvent, NotificationOptions notificationOptions)
     {
-        boolean async = notificationOptions != null;
+        if (metricsService == null)
+        {
+            return doFireEvent(event, metadata, isLifecycleEvent, notificationOptions);
+        }
 
-        if (!isLifecycleEvent && webBeansContext.getWebBeansUtil().isContainerEventType(event))
+        long start = System.nanoTime();
+        try
         {
-            throw new IllegalArgumentException("Firing container events is forbidden");
+            return doFireEvent(event, metadata, isLifecycleEvent, notificationOptions);
+        }
+        finally
+        {
+            // for async events this only covers the dispatch, not the observer invocations
+            metricsService.timer("events.fire." + event.getClass().getName()).record(System.nanoTime() - start);
         }
+    }
 
-        LinkedList<ObserverMethod<? super Object>> observerMethods = new LinkedList<>(resolveObservers(event, metadata, isLifecycleEvent));
+    private <T> CompletionStage<T> doFireEvent(Object event, EventMetadataImpl metadata, boolean isLifecycleEvent, NotificationOptions notificationOptions)
+    {
+        boolean async = notificationOptions != null;
 
-        // async doesn't apply to Extension lifecycle events
-        if (!isLifecycleEvent)
+        if (!isLifecycleEvent && !isKnownApplicationEvent(event, metadata) && webBeansContext.getWebBeansUtil().isContainerEventType(event))
         {
-            // filter for all async or all synchronous observermethods
-            // oldschool and not Streams, because of performance and avoiding tons of temporary objects
-            Iterator<ObserverMethod<? super Object>> observerMethodIterator = observerMethods.iterator();
-            while (observerMethodIterator.hasNext())
-            {
-                if (async != observerMethodIterator.next().isAsync())
-                {
-                    observerMethodIterator.remove();
-                }
-            }
+            throw new IllegalArgumentException("Firing container events is forbidden");
         }
 
-        // new in CDI-2.0: sort observers
-        if (observerMethods.size() > 1)
+        ObserverMethod<? super Object>[] observerMethods;
+        if (isLifecycleEvent)
+        {
+            // async doesn't apply to Extension lifecycle events
+            observerMethods = toSortedArray(resolveObservers(event, metadata, true));
+        }
+        else
         {
-            observerMethods.sort(observerMethodComparator);
+            ObserverDispatch observerDispatch = getObserverDispatch(event, metadata);
+            observerMethods = async ? observerDispatch.asyncObservers : observerDispatch.syncObservers;
         }
 
-        List<CompletableFuture<Void>> completableFutures = async ? new ArrayList<>() : null;
+        List<CompletableFuture<Void>> completableFutures = async && !batchAsyncObservers ? new ArrayList<>() : null;
 
         for (ObserverMethod<? super Object> observer : observerMethods)
         {
@@ -708,7 +890,15 @@ public final class NotificationManager
                 {
                     if (async)
                     {
-                        completableFutures.add(invokeObserverMethodAsync(event, metadata, observer, notificationOptions));
+                        if (completableFutures != null)
+                        {
+                            completableFutures.add(invokeObserverMethodAsync(event, metadata, observer, notificationOptions));
+                        }
+                        // else all of them get notified at once below
+                    }
+                    else if (isLifecycleEvent && startupProfiler != null)
+                    {
+                        invokeProfiledObserverMethod(event, metadata, observer);
                     }
                     else
                     {
@@ -758,7 +948,89 @@ public final class NotificationManager
             }
         }
 
-        return async ? complete(completableFutures, (T) event) : null;
+        if (!async)
+        {
+            return null;
+        }
+        return completableFutures != null
+            ? complete(completableFutures, (T) event)
+            : invokeObserverMethodsAsync((T) event, metadata, observerMethods, notificationOptions);
+    }
+
+    /**
+     * @return the sorted and partitioned ObserverMethods for the given non-lifecycle event.
+     *         The result gets cached, so firing the same kind of event again does no resolution work.
+     */
+    private ObserverDispatch getObserverDispatch(Object event, EventMetadataImpl metadata)
+    {
+        // EventImpl reuses the metadata per event class, so the key only gets created once
+        ObserverCacheKey cacheKey = metadata.getObserverCacheKey();
+        if (cacheKey == null || cacheKey.eventClass != event.getClass())
+        {
+            cacheKey = new ObserverCacheKey(event.getClass(), metadata.validatedType(), metadata.getQualifiers());
+            metadata.setObserverCacheKey(cacheKey);
+        }
+        ObserverDispatch observerDispatch = observerDispatchCache.get(cacheKey);
+        if (observerDispatch == null)
+        {
+            Collection<ObserverMethod<? super Object>> resolved = resolveObservers(event, metadata, false);
+
+            // new in CDI-2.0: sort observers
+            // oldschool and not Streams, because of performance and avoiding tons of temporary objects
+            List<ObserverMethod<? super Object>> syncObservers = new ArrayList<>(resolved.size());
+            List<ObserverMethod<? super Object>> asyncObservers = new ArrayList<>(resolved.size());
+            for (ObserverMethod<? super Object> observerMethod : resolved)
+            {
+                if (observerMethod.isAsync())
+                {
+                    asyncObservers.add(observerMethod);
+                }
+                else
+                {
+                    syncObservers.add(observerMethod);
+                }
+            }
+
+            observerDispatch = new ObserverDispatch(toSortedArray(syncObservers), toSortedArray(asyncObservers));
+            if (observerDispatchCacheSize <= 0)
+            {
+                return observerDispatch;
+            }
+            if (observerDispatchCache.size() >= observerDispatchCacheSize)
+            {
+                observerDispatchCache.clear();
+            }
+            ObserverDispatch existing = observerDispatchCache.putIfAbsent(cacheKey, observerDispatch);
+            if (existing != null)
+            {
+                observerDispatch = existing;
+            }
+        }
+        return observerDispatch;
+    }
+
+    /**
+     * @return {@code true} if an event of the same class already got fired with the given metadata
+     */
+    private boolean isKnownApplicationEvent(Object event, EventMetadataImpl metadata)
+    {
+        ObserverCacheKey cacheKey = metadata.getObserverCacheKey();
+        return cacheKey != null && cacheKey.eventClass == event.getClass();
+    }
+
+    private ObserverMethod<? super Object>[] toSortedArray(Collection<ObserverMethod<? super Object>> observerMethods)
+    {
+        if (observerMethods.isEmpty())
+        {
+            return NO_OBSERVER_METHODS;
+        }
+
+        ObserverMethod<? super Object>[] sorted = observerMethods.toArray(new ObserverMethod[observerMethods.size()]);
+        if (sorted.length > 1)
+        {
+            Arrays.sort(sorted, observerMethodComparator);
+        }
+        return sorted;
     }
 
     private <T> CompletableFuture<T> complete(List<CompletableFuture<Void>> completableFutures, T event)
@@ -786,18 +1058,101 @@ public final class NotificationManager
                                            NotificationOptions notificationOptions)
     {
         CompletableFuture<?> future = new CompletableFuture<>();
-        CompletableFuture.runAsync(() -> {
+        try
+        {
+            CompletableFuture.runAsync(() -> {
+                try
+                {
+                    runAsync(event, metadata, observer);
+                    future.complete(null);
+                }
+                catch (WebBeansException wbe)
+                {
+                    future.completeExceptionally(wbe.getCause());
+                }
+            }, notificationOptions.getExecutor() == null ? defaultNotificationOptions.getExecutor() : notificationOptions.getExecutor());
+        }
+        catch (RejectedExecutionException ree)
+        {
+            // e.g. the queue of the Executor is full, fireAsync itself must not fail
+            future.completeExceptionally(ree);
+        }
+        return future;
+    }
+
+    /**
+     * Notifies all the given async observers in a single task and RequestContext.
+     */
+    private <T> CompletableFuture<T> invokeObserverMethodsAsync(T event,
+                                                                EventMetadataImpl metadata,
+                                                                ObserverMethod<? super Object>[] observerMethods,
+                                                                NotificationOptions notificationOptions)
+    {
+        if (observerMethods.length == 0)
+        {
+            return CompletableFuture.completedFuture(event);
+        }
+
+        CDICompletionFuture<T> future = new CDICompletionFuture<>(event, observerMethods.length);
+        Executor executor = notificationOptions.getExecutor() == null ? defaultNotificationOptions.getExecutor() : notificationOptions.getExecutor();
+        try
+        {
+            executor.execute(() -> notifyObserverMethods(event, metadata, observerMethods, future));
+        }
+        catch (RejectedExecutionException ree)
+        {
+            // e.g. the queue of the Executor is full, fireAsync itself must not fail
+            for (int i = 0; i < observerMethods.length; i++)
+            {
+                future.addResult(ree);
+            }
+        }
+        return future;
+    }
+
+    private <T> void notifyObserverMethods(T event,
+                                           EventMetadataImpl metadata,
+                                           ObserverMethod<? super Object>[] observerMethods,
+                                           CDICompletionFuture<T> future)
+    {
+        int notified = 0;
+        try
+        {
+            webBeansContext.getContextsService().startContext(RequestScoped.class, null);
             try
             {
-                runAsync(event, metadata, observer);
-                future.complete(null);
+                for (ObserverMethod<? super Object> observer : observerMethods)
+                {
+                    Throwable failure = null;
+                    try
+                    {
+                        invokeObserverMethod(event, metadata, observer);
+                    }
+                    catch (WebBeansException wbe)
+                    {
+                        failure = wbe.getCause() != null ? wbe.getCause() : wbe;
+                    }
+                    catch (RuntimeException re)
+                    {
+                        failure = re;
+                    }
+                    notified++;
+                    future.addResult(failure);
+                }
+            }
+            finally
+            {
+                webBeansContext.getContextsService().endContext(RequestScoped.class, null);
             }
-            catch (WebBeansException wbe)
+        }
+        catch (RuntimeException re)
+        {
+            // e.g. the RequestContext could not get started
+            for (; notified < observerMethods.length; notified++)
             {
-                future.completeExceptionally(wbe.getCause());
+                future.addResult(re);
             }
-        }, notificationOptions.getExecutor() == null ? defaultNotificationOptions.getExecutor() : notificationOptions.getExecutor());
-        return future;
+        }
     }
 
     private void runAsync(Object event, EventMetadataImpl metadata, ObserverMethod<? super Object> observer)
@@ -819,6 +1174,23 @@ public final class NotificationManager
         observer.notify(new EventContextImpl(event, metadata));
     }
 
+    private <T> void invokeProfiledObserverMethod(T event, EventMetadataImpl metadata, ObserverMethod<?> observer)
+    {
+        String method = observer instanceof ObserverMethodImpl
+                ? ((ObserverMethodImpl<?>) observer).getObserverMethod().getJavaMember().getName()
+                : "notify";
+        StartupProfiler.Step step = startupProfiler.startObserver(
+                observer.getBeanClass().getName() + "#" + method + "(" + observer.getObservedType().getTypeName() + ")");
+        try
+        {
+            invokeObserverMethod(event, metadata, observer);
+        }
+        finally
+        {
+            step.end();
+        }
+    }
+
     /**
      * Gets observer method from given annotated method.
      * @param <T> bean type info
@@ -875,6 +1247,126 @@ public final class NotificationManager
         return webBeansContext.getWebBeansUtil().isContainerEventType(paramType);
     }
 
+    /**
+     * Key for the {@link #observerDispatchCache}.
+     * The qualifiers are taken from the {@link EventMetadataImpl} and are already immutable.
+     */
+    static final class ObserverCacheKey
+    {
+        private final Class<?> eventClass;
+        private final Type eventType;
+        private final Set<Annotation> qualifiers;
+        private final int hashCode;
+
+        private ObserverCacheKey(Class<?> eventClass, Type eventType, Set<Annotation> qualifiers)
+        {
+            this.eventClass = eventClass;
+            this.eventType = eventType;
+            this.qualifiers = qualifiers;
+            this.hashCode = 31 * (31 * eventClass.hashCode() + eventType.hashCode()) + qualifiers.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+
+            ObserverCacheKey other = (ObserverCacheKey) o;
+            return hashCode == other.hashCode
+                && eventClass == other.eventClass
+                && eventType.equals(other.eventType)
+                && qualifiers.equals(other.qualifiers);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+
+    /**
+     * All observed types which can receive a certain container lifecycle event.
+     */
+    private static final class ExtensionEventRoute
+    {
+        private static final int OTHER_EVENT = 0;
+        private static final int BEAN_EVENT = 1;
+        private static final int PRODUCER_OR_OBSERVER_EVENT = 2;
+
+        private final int kind;
+        private final ExtensionObserverRoute[] observedTypes;
+
+        private ExtensionEventRoute(int kind, ExtensionObserverRoute[] observedTypes)
+        {
+            this.kind = kind;
+            this.observedTypes = observedTypes;
+        }
+    }
+
+    /**
+     * A single observed type within an {@link ExtensionEventRoute}.
+     */
+    private static final class ExtensionObserverRoute
+    {
+        private final Type observedType;
+        private final Class<?> observerClass;
+        private final boolean parametrized;
+        private final boolean defaultEventType;
+
+        /**
+         * The &#064;WithAnnotations of all observer methods of this type,
+         * or {@code null} if at least one of them has none.
+         */
+        private final Class<? extends Annotation>[] withAnnotations;
+
+        private ExtensionObserverRoute(Type observedType, Class<?> observerClass, boolean defaultEventType,
+                                       Set<ObserverMethod<?>> observerMethods)
+        {
+            this.observedType = observedType;
+            this.observerClass = observerClass;
+            this.parametrized = ClassUtil.isParametrizedType(observedType);
+            this.defaultEventType = defaultEventType;
+
+            Set<Class> allWithAnnotations = new HashSet<>();
+            for (ObserverMethod<?> observerMethod : observerMethods)
+            {
+                Class[] observerWithAnnotations = observerMethod instanceof ContainerEventObserverMethodImpl
+                    ? ((ContainerEventObserverMethodImpl) observerMethod).getWithAnnotations() : null;
+                if (observerWithAnnotations == null || observerWithAnnotations.length == 0)
+                {
+                    allWithAnnotations = null;
+                    break;
+                }
+                Collections.addAll(allWithAnnotations, observerWithAnnotations);
+            }
+            this.withAnnotations = allWithAnnotations == null
+                ? null : allWithAnnotations.toArray(new Class[allWithAnnotations.size()]);
+        }
+    }
+
+    /**
+     * The already sorted synchronous and asynchronous ObserverMethods for an event.
+     */
+    private static final class ObserverDispatch
+    {
+        private final ObserverMethod<? super Object>[] syncObservers;
+        private final ObserverMethod<? super Object>[] asyncObservers;
+
+        private ObserverDispatch(ObserverMethod<? super Object>[] syncObservers, ObserverMethod<? super Object>[] asyncObservers)
+        {
+            this.syncObservers = syncObservers;
+            this.asyncObservers = asyncObservers;
+        }
+    }
+
     // this behaves as a future aggregator, we don't strictly need to represent it but found it more expressive
     private static final class CDICompletionFuture<T> extends CompletableFuture<T>
     {
@@ -912,48 +1404,4 @@ public final class NotificationManager
             return this;
         }
     }
-
-    private static final class CloseableExecutor implements Executor, Closeable
-    {
-        private final Collection<Runnable> tracker = new CopyOnWriteArrayList<>();
-        private volatile boolean reject;
-
-        @Override
-        public void close() throws IOException
-        {
-            reject = true;
-            tracker.forEach(r -> {
-                try
-                {
-                    r.run();
-                }
-                catch (RuntimeException re)
-                {
-                    WebBeansLoggerFacade.getLogger(NotificationManager.class).warning(re.getMessage());
-                }
-            });
-        }
-
-        @Override
-        public void execute(Runnable command)
-        {
-            if (reject)
-            {
-                throw new RejectedExecutionException("CDI executor is shutdown");
-            }
-
-            tracker.add(command);
-            ForkJoinPool.commonPool().execute(() ->
-            {
-                try
-                {
-                    command.run();
-                }
-                finally
-                {
-                    tracker.remove(command);
-                }
-            });
-        }
-    }
 }
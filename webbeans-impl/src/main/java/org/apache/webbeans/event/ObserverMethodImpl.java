@@ -19,6 +19,9 @@
 package org.apache.webbeans.event;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -54,6 +57,7 @@ import org.apache.webbeans.component.WebBeansType;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.container.InjectionResolver;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansException;
@@ -118,15 +122,59 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
     private boolean isAsync;
     
+    /**
+     * Precompiled invoker of the observer method taking the receiver and the
+     * argument array. Lazily created on the first notification.
+     */
+    private volatile MethodHandle invoker;
+
+    /** the resolved parameter beans, cached as long as the set of beans does not change */
+    private volatile ObserverParameters parameters;
+
+    /**
+     * @deprecated only used by {@link #getMethodArguments(Object, EventMetadata)}
+     */
+    @Deprecated
     private static class ObserverParams
     {
         private Bean<Object> bean;
-        
+
         private Object instance;
-        
+
         private CreationalContext<Object> creational;
-        
+
         private boolean isBean;
+
+        private static ObserverParams ofEvent(Object event)
+        {
+            ObserverParams param = new ObserverParams();
+            param.instance = event;
+            return param;
+        }
+    }
+
+    private static final class ObserverParameters
+    {
+        private final int version;
+
+        private final InjectionPoint[] injectionPoints;
+
+        private final Bean<Object>[] beans;
+
+        /** the contextual reference of normal scoped parameter beans, null for all other beans */
+        private final Object[] references;
+
+        private final boolean[] dependent;
+
+        private ObserverParameters(int version, InjectionPoint[] injectionPoints, Bean<Object>[] beans,
+                                   Object[] references, boolean[] dependent)
+        {
+            this.version = version;
+            this.injectionPoints = injectionPoints;
+            this.beans = beans;
+            this.references = references;
+            this.dependent = dependent;
+        }
     }
 
     /**
@@ -263,41 +311,17 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
             return;
         }
 
-        Object object = null;
-        
-        List<ObserverParams> methodArgsMap = getMethodArguments(event, metadata);
-        
         BeanManagerImpl manager = ownerBean.getWebBeansContext().getBeanManagerImpl();
-        CreationalContextImpl<Object> creationalContext = manager.createCreationalContext(component);
-        if (metadata != null)
-        {
-            creationalContext.putInjectionPoint(metadata.getInjectionPoint());
-            creationalContext.putEventMetadata(metadata);
-        }
-        
-        ObserverParams[] obargs = null;
+        boolean isStatic = Modifier.isStatic(view.getModifiers());
+
+        Object object = null;
+        CreationalContextImpl<Object> creationalContext = null;
+        ObserverParameters params = null;
+        Object[] args = null;
+        CreationalContextImpl<Object>[] parameterCreationalContexts = null;
         try
         {
-            obargs = new ObserverParams[methodArgsMap.size()];
-            obargs = methodArgsMap.toArray(obargs);
-            Object[] args = new Object[obargs.length];
-            int i = 0;
-            for(ObserverParams param : obargs)
-            {
-                args[i++] = param.instance;
-            }
-
-            //Static or not
-            if (Modifier.isStatic(view.getModifiers()))
-            {
-                if (!view.isAccessible())
-                {
-                    view.setAccessible(true);
-                }
-                //Invoke Method
-                view.invoke(null, args);
-            }
-            else
+            if (!isStatic)
             {
                 Context context;
                 try
@@ -314,7 +338,6 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
                     logger.log(Level.INFO, OWBLogConst.INFO_0010, ownerBean);
                     return;
                 }
-                
 
                 // on Reception.IF_EXISTS: ignore this bean if a the contextual instance doesn't already exist
                 object = context.get(component);
@@ -326,6 +349,7 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
                 if (object == null)
                 {
+                    creationalContext = createCreationalContext(manager, component, metadata);
                     object = context.get(component, creationalContext);
                 }
 
@@ -342,29 +366,56 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
                     }
 
                     object = manager.getReference(component, t, creationalContext);
+                }
 
+                if (object == null)
+                {
+                    return;
                 }
 
-                if (object != null)
+                if (Modifier.isPrivate(view.getModifiers()))
                 {
-                    if (!view.isAccessible())
+                    // since private methods cannot be intercepted, we have to unwrap anny possible proxy
+                    if (object instanceof OwbNormalScopeProxy)
                     {
-                        ownerBean.getWebBeansContext().getSecurityService().doPrivilegedSetAccessible(view, true);
+                        object = getWebBeansContext().getInterceptorDecoratorProxyFactory().unwrapInstance(object);
                     }
+                }
+            }
 
-                    if (Modifier.isPrivate(view.getModifiers()))
+            params = getParameters(manager);
+            int eventPosition = annotatedObservesParameter.getPosition();
+            args = new Object[params.beans.length + 1];
+            args[eventPosition] = event;
+            for (int i = 0; i < params.beans.length; i++)
+            {
+                Object instance = params.references[i];
+                if (instance == null)
+                {
+                    CreationalContextImpl<Object> creational = createCreationalContext(manager, params.beans[i], metadata);
+                    instance = getParameterReference(manager, params, i, creational, metadata);
+
+                    if (params.dependent[i])
                     {
-                        // since private methods cannot be intercepted, we have to unwrap anny possible proxy
-                        if (object instanceof OwbNormalScopeProxy)
+                        if (parameterCreationalContexts == null)
                         {
-                            object = getWebBeansContext().getInterceptorDecoratorProxyFactory().unwrapInstance(object);
+                            parameterCreationalContexts = new CreationalContextImpl[params.beans.length];
                         }
+                        parameterCreationalContexts[i] = creational;
                     }
-
-                    //Invoke Method
-                    invoke(object, args);
                 }
-            }                        
+                args[i < eventPosition ? i : i + 1] = instance;
+            }
+
+            if (isStatic)
+            {
+                invokeObserver(null, args);
+            }
+            else
+            {
+                //Invoke Method
+                invoke(object, args);
+            }
         }
         catch (InvocationTargetException ite)
         {
@@ -376,22 +427,27 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         }
         finally
         {
-            creationalContext.removeEventMetadata();
-            creationalContext.removeInjectionPoint();
+            if (creationalContext != null && metadata != null)
+            {
+                creationalContext.removeEventMetadata();
+                creationalContext.removeInjectionPoint();
+            }
+
             //Destory bean instance
-            if (component.getScope().equals(Dependent.class) && object != null)
+            if (object != null && creationalContext != null && component.getScope().equals(Dependent.class))
             {
                 component.destroy(object, creationalContext);
             }
-            
+
             //Destroy observer method dependent instances
-            if(methodArgsMap != null)
+            if (parameterCreationalContexts != null)
             {
-                for(ObserverParams param : obargs)
+                int eventPosition = annotatedObservesParameter.getPosition();
+                for (int i = 0; i < parameterCreationalContexts.length; i++)
                 {
-                    if(param.isBean && param.bean.getScope().equals(Dependent.class))
+                    if (parameterCreationalContexts[i] != null)
                     {
-                        param.bean.destroy(param.instance, param.creational);
+                        params.beans[i].destroy(args[i < eventPosition ? i : i + 1], parameterCreationalContexts[i]);
                     }
                 }
             }
@@ -401,62 +457,163 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
     protected void invoke(Object object, Object[] args) throws IllegalAccessException, InvocationTargetException
     {
-        view.invoke(object, args);
+        invokeObserver(object, args);
     }
 
     /**
-     * Gets observer method parameters.
-     * @param event event payload
-     * @return observer method parameters
+     * Invokes the observer method through its precompiled {@link MethodHandle}.
+     * Any exception thrown by the observer method gets wrapped into an {@link InvocationTargetException}
+     * to keep the contract of {@link Method#invoke(Object, Object...)}.
      */
-    protected List<ObserverParams> getMethodArguments(Object event, EventMetadata metadata)
+    private void invokeObserver(Object object, Object[] args) throws IllegalAccessException, InvocationTargetException
     {
-        List<ObserverParams> list = new ArrayList<>();
-        if (annotatedObservesParameter.getPosition() == 0)
+        MethodHandle handle = invoker;
+        if (handle == null)
         {
-            ObserverParams param = new ObserverParams();
-            param.instance = event;
-            list.add(param);
+            handle = createInvoker();
+            invoker = handle;
         }
-        WebBeansContext webBeansContext = ownerBean.getWebBeansContext();
-        BeanManagerImpl manager = webBeansContext.getBeanManagerImpl();
 
-        for (InjectionPoint injectionPoint: injectionPoints)
+        try
         {
-            Bean<Object> injectedBean = (Bean<Object>)manager.getInjectionResolver().getInjectionPointBean(injectionPoint);
-            
-            CreationalContextImpl<Object> creational = manager.createCreationalContext(injectedBean);
-            creational.putInjectionPoint(metadata.getInjectionPoint());
-            creational.putInjectionPoint(injectionPoint);
-            creational.putEventMetadata(metadata);
-            Object instance;
-            try
-            {
-                instance = manager.getReference(injectedBean, null, creational);
-            }
-            finally
+            Object ignored = (Object) handle.invokeExact(object, args);
+        }
+        catch (Throwable t)
+        {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Unreflects the observer method and adapts it to a common (Object, Object[])Object shape.
+     * Static methods simply ignore the receiver.
+     */
+    private MethodHandle createInvoker() throws IllegalAccessException
+    {
+        if (!view.isAccessible())
+        {
+            ownerBean.getWebBeansContext().getSecurityService().doPrivilegedSetAccessible(view, true);
+        }
+
+        MethodHandle handle = MethodHandles.lookup().unreflect(view);
+        int parameterCount = view.getParameterTypes().length;
+        if (Modifier.isStatic(view.getModifiers()))
+        {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        return handle.asType(MethodType.genericMethodType(parameterCount + 1))
+                .asSpreader(Object[].class, parameterCount);
+    }
+
+    private Object getParameterReference(BeanManagerImpl manager, ObserverParameters params, int i,
+                                         CreationalContextImpl<Object> creational, EventMetadata metadata)
+    {
+        creational.putInjectionPoint(params.injectionPoints[i]);
+        try
+        {
+            return manager.getReference(params.beans[i], null, creational);
+        }
+        finally
+        {
+            creational.removeInjectionPoint();
+            if (metadata != null)
             {
                 creational.removeEventMetadata();
                 creational.removeInjectionPoint();
-                creational.removeInjectionPoint();
             }
-                                
+        }
+    }
+
+    /**
+     * @deprecated the parameters of the observer method get resolved once and cached now.
+     *             This method is not used for notifying the observer anymore and only kept for subclasses calling it.
+     */
+    @Deprecated
+    protected List<ObserverParams> getMethodArguments(Object event, EventMetadata metadata)
+    {
+        BeanManagerImpl manager = ownerBean.getWebBeansContext().getBeanManagerImpl();
+        ObserverParameters params = getParameters(manager);
+        int eventPosition = annotatedObservesParameter.getPosition();
+
+        List<ObserverParams> list = new ArrayList<>(params.beans.length + 1);
+        for (int i = 0; i < params.beans.length; i++)
+        {
+            if (list.size() == eventPosition)
+            {
+                list.add(ObserverParams.ofEvent(event));
+            }
+
+            CreationalContextImpl<Object> creational = createCreationalContext(manager, params.beans[i], metadata);
             ObserverParams param = new ObserverParams();
             param.isBean = true;
             param.creational = creational;
-            param.instance = instance;
-            param.bean = injectedBean;
+            param.instance = getParameterReference(manager, params, i, creational, metadata);
+            param.bean = params.beans[i];
             list.add(param);
+        }
+        if (list.size() == eventPosition)
+        {
+            list.add(ObserverParams.ofEvent(event));
+        }
+        return list;
+    }
 
-            if (list.size() == annotatedObservesParameter.getPosition())
+    private <X> CreationalContextImpl<X> createCreationalContext(BeanManagerImpl manager, Bean<X> bean, EventMetadata metadata)
+    {
+        CreationalContextImpl<X> creational = manager.createCreationalContext(bean);
+        if (metadata != null)
+        {
+            creational.putInjectionPoint(metadata.getInjectionPoint());
+            creational.putEventMetadata(metadata);
+        }
+        return creational;
+    }
+
+    /**
+     * Resolves the beans of the observer method parameters.
+     * The result gets cached as long as the set of beans does not change.
+     * Normal scoped beans only get resolved to their contextual reference once,
+     * so only &#064;Dependent and other pseudo scoped parameters need a
+     * {@link javax.enterprise.context.spi.CreationalContext} on notification.
+     */
+    @SuppressWarnings("unchecked")
+    private ObserverParameters getParameters(BeanManagerImpl manager)
+    {
+        InjectionResolver injectionResolver = manager.getInjectionResolver();
+        int version = injectionResolver.getBeanSetVersion();
+
+        ObserverParameters params = parameters;
+        if (params != null && params.version == version)
+        {
+            return params;
+        }
+
+        InjectionPoint[] ips = injectionPoints.toArray(new InjectionPoint[injectionPoints.size()]);
+        Bean<Object>[] beans = new Bean[ips.length];
+        Object[] references = new Object[ips.length];
+        boolean[] dependent = new boolean[ips.length];
+        for (int i = 0; i < ips.length; i++)
+        {
+            beans[i] = (Bean<Object>) injectionResolver.getInjectionPointBean(ips[i]);
+            dependent[i] = Dependent.class.equals(beans[i].getScope());
+            if (manager.isNormalScope(beans[i].getScope()))
             {
-                param = new ObserverParams();
-                param.instance = event;
-                list.add(param);                 
+                Object reference = manager.getReference(beans[i], null, manager.createCreationalContext(beans[i]));
+                if (reference instanceof OwbNormalScopeProxy)
+                {
+                    // the proxy is the same for all notifications, other references (e.g. EJB) get created each time
+                    references[i] = reference;
+                }
             }
         }
-                
-        return list;
+
+        params = new ObserverParameters(version, ips, beans, references, dependent);
+        if (!injectionResolver.isStartup())
+        {
+            parameters = params;
+        }
+        return params;
     }
 
     /**
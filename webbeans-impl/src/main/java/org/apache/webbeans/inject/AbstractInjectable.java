@@ -56,13 +56,16 @@ public abstract class AbstractInjectable<T>
     
     protected final CreationalContextImpl<?> creationalContext;
     
-    protected CreationalContextImpl<?> transientCreationalContext;
+    /**
+     * The CreationalContext for &#064;TransientReference parameters.
+     * Only gets created if needed, see {@link #getTransientCreationalContext()}.
+     */
+    private CreationalContextImpl<?> transientCreationalContext;
 
     protected AbstractInjectable(Producer<?> owner, CreationalContextImpl<?> creationalContext)
     {
         this.owner = owner;
         this.creationalContext = creationalContext;
-        this.transientCreationalContext = creationalContext.getWebBeansContext().getBeanManagerImpl().createCreationalContext(creationalContext.getContextual());
     }
 
     /**
@@ -71,6 +74,32 @@ public abstract class AbstractInjectable<T>
      * @return current bean instance in the resolved bean scope
      */
     public T inject(InjectionPoint injectionPoint)
+    {
+        CreationalContext<?> injectionPointContext;
+        if (injectionPoint.getAnnotated().isAnnotationPresent(TransientReference.class))
+        {
+            injectionPointContext = getTransientCreationalContext();
+        }
+        else
+        {
+            injectionPointContext = creationalContext;
+        }
+
+        return injectReference(injectionPoint, creationalContext, injectionPointContext);
+    }
+
+    /**
+     * Gets the injected bean instance in its scoped context without the need for an AbstractInjectable.
+     * This allows to reuse precomputed injectors for many instances.
+     *
+     * @param injectionPoint injection point definition
+     * @param creationalContext the CreationalContext of the instance which gets injected
+     * @param injectionPointContext the CreationalContext to use for the injected reference,
+     *                              differs from the creationalContext for &#064;TransientReference
+     * @return current bean instance in the resolved bean scope
+     */
+    public static <T> T injectReference(InjectionPoint injectionPoint, CreationalContextImpl<?> creationalContext,
+                                        CreationalContext<?> injectionPointContext)
     {
         T injected;
         BeanManagerImpl beanManager = creationalContext.getWebBeansContext().getBeanManagerImpl();
@@ -85,16 +114,6 @@ public abstract class AbstractInjectable<T>
         {
             dependentProducer = true;
         }
-        
-        CreationalContext<?> injectionPointContext;
-        if (injectionPoint.getAnnotated().isAnnotationPresent(TransientReference.class))
-        {
-            injectionPointContext = transientCreationalContext;
-        }
-        else
-        {
-            injectionPointContext = creationalContext;
-        }
 
         //Gets injectable reference for injected bean
         injected = (T) beanManager.getInjectableReference(injectionPoint, injectionPointContext);
@@ -125,6 +144,26 @@ public abstract class AbstractInjectable<T>
         return injected;
     }
     
+    protected CreationalContextImpl<?> getTransientCreationalContext()
+    {
+        if (transientCreationalContext == null)
+        {
+            transientCreationalContext = getWebBeansContext().getBeanManagerImpl().createCreationalContext(creationalContext.getContextual());
+        }
+        return transientCreationalContext;
+    }
+
+    /**
+     * Releases the dependent instances of &#064;TransientReference parameters, if any.
+     */
+    protected void releaseTransientCreationalContext()
+    {
+        if (transientCreationalContext != null)
+        {
+            transientCreationalContext.release();
+        }
+    }
+
     protected Contextual<?> getBean()
     {
         return creationalContext.getBean();
@@ -36,11 +36,22 @@ public class InjectableField<T> extends AbstractInjectable<T>
 {
     protected Field field;
     protected Object instance;
+    protected InjectionPoint injectionPoint;
 
     public InjectableField(Field field, Object instance, InjectionTarget<T> owner, CreationalContextImpl<T> creationalContext)
+    {
+        this(field, null, instance, owner, creationalContext);
+    }
+
+    /**
+     * @param injectionPoint the InjectionPoint of the field or {@code null} to look it up from the owner
+     */
+    public InjectableField(Field field, InjectionPoint injectionPoint, Object instance, InjectionTarget<T> owner,
+                           CreationalContextImpl<T> creationalContext)
     {
         super(owner,creationalContext);
         this.field = field;
+        this.injectionPoint = injectionPoint;
         this.instance = instance;
     }
 
@@ -48,7 +59,7 @@ public class InjectableField<T> extends AbstractInjectable<T>
     {
         try
         {
-            InjectionPoint injectedField = getInjectionPoints(field).get(0);
+            InjectionPoint injectedField = injectionPoint != null ? injectionPoint : getInjectionPoints(field).get(0);
             
             if (!field.isAccessible())
             {
@@ -161,7 +161,7 @@ public class InjectableMethod<T> extends AbstractInjectable<T>
         }
         finally
         {
-            transientCreationalContext.release();
+            releaseTransientCreationalContext();
         }
     }
 
@@ -34,6 +34,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.context.spi.AlterableContext;
 import javax.enterprise.context.spi.Context;
@@ -64,6 +65,12 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
 {
     private static final long serialVersionUID = -8401944412490389024L;
 
+    /**
+     * Maximum number of {@link #select(Annotation...)} resolutions kept per injected Instance,
+     * protects against selects with ever changing qualifier values.
+     */
+    private static final int MAX_CACHED_SELECTS = 32;
+
     /** Injected class type */
     private Type injectionClazz;
 
@@ -82,6 +89,30 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
 
     private boolean strictValidation;
 
+    /**
+     * The beans resolved for this Instance, reused as long as the set of beans does not change.
+     */
+    private transient volatile Resolution resolution;
+
+    /**
+     * The resolutions of all Instances selected from this one, keyed by the chain of select arguments.
+     * Only used on the Instance which was not created by a select call.
+     * The selected Instances themselves are not cached, as they track the &#064;Dependent
+     * instances they created.
+     */
+    private transient volatile Map<SelectKey, Resolution> selectResolutions;
+
+    /**
+     * The Instance holding the {@link #selectResolutions}, or {@code null} if this Instance
+     * was not created by a select call.
+     */
+    private transient InstanceImpl<?> selectRoot;
+
+    /**
+     * The select arguments which lead from the {@link #selectRoot} to this Instance.
+     */
+    private transient SelectKey selectKey;
+
     /**
      * Creates new instance.
      * 
@@ -120,19 +151,101 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     @Override
     public T get()
     {
+        return get(resolve());
+    }
+
+    /**
+     * Resolves the bean once and returns a handle to look up the contextual reference repeatedly.
+     * For normal-scoped beans the handle just returns the client proxy.
+     * In contrast to this Instance the handle keeps the resolved bean,
+     * even if beans get added to the BeanManager later on.
+     *
+     * @return a handle for the bean resolved for this Instance
+     * @throws javax.enterprise.inject.UnsatisfiedResolutionException if no bean matches
+     * @throws javax.enterprise.inject.AmbiguousResolutionException if more than one bean matches
+     */
+    public Provider<T> resolveHandle()
+    {
+        Resolution resolved = resolve();
+        Bean<?> bean = resolveBean(resolved);
+        if (webBeansContext.getBeanManagerImpl().isNormalScope(bean.getScope()))
+        {
+            T reference = get(resolved);
+            return () -> reference;
+        }
+        return () -> create(bean);
+    }
 
-        Set<Bean<?>> beans = resolveBeans();
+    @SuppressWarnings("unchecked")
+    private T get(Resolution resolved)
+    {
+        Object reference = resolved.normalScopedReference;
+        if (reference != null)
+        {
+            return (T) reference;
+        }
 
-        Bean<?> bean = webBeansContext.getBeanManagerImpl().resolve(beans);
+        T instance = create(resolveBean(resolved));
+        if (instance instanceof OwbNormalScopeProxy)
+        {
+            // the client proxy of a normal-scoped bean never changes
+            resolved.normalScopedReference = instance;
+        }
+        return instance;
+    }
 
+    private Bean<?> resolveBean(Resolution resolved)
+    {
+        Bean<?> bean = resolved.bean;
         if (bean == null)
         {
-            Annotation[] anns = new Annotation[qualifierAnnotations.size()];
-            anns = qualifierAnnotations.toArray(anns);
-            InjectionExceptionUtil.throwUnsatisfiedResolutionException(ClassUtil.getClazz(injectionClazz), injectionPoint, anns);
+            bean = webBeansContext.getBeanManagerImpl().resolve(resolved.beans);
+
+            if (bean == null)
+            {
+                Annotation[] anns = new Annotation[qualifierAnnotations.size()];
+                anns = qualifierAnnotations.toArray(anns);
+                InjectionExceptionUtil.throwUnsatisfiedResolutionException(ClassUtil.getClazz(injectionClazz), injectionPoint, anns);
+            }
+            resolved.bean = bean;
         }
+        return bean;
+    }
 
-        return create(bean);
+    /**
+     * @return the resolution of this Instance, cached as long as the set of beans does not change
+     */
+    private Resolution resolve()
+    {
+        InjectionResolver injectionResolver = webBeansContext.getBeanManagerImpl().getInjectionResolver();
+        int version = injectionResolver.getBeanSetVersion();
+
+        Resolution resolved = resolution;
+        if (resolved != null && resolved.version == version)
+        {
+            return resolved;
+        }
+
+        if (selectRoot != null)
+        {
+            resolved = selectRoot.getSelectResolution(selectKey);
+            if (resolved != null && resolved.version == version)
+            {
+                resolution = resolved;
+                return resolved;
+            }
+        }
+
+        resolved = new Resolution(version, resolveBeans());
+        if (!injectionResolver.isStartup())
+        {
+            resolution = resolved;
+            if (selectRoot != null)
+            {
+                selectRoot.putSelectResolution(selectKey, resolved);
+            }
+        }
+        return resolved;
     }
 
 
@@ -164,7 +277,7 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     @Override
     public boolean isAmbiguous()
     {
-        Set<Bean<?>> beans = resolveBeans();
+        Set<Bean<?>> beans = resolve().beans;
         
         return beans.size() > 1;
     }
@@ -175,7 +288,7 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     @Override
     public boolean isUnsatisfied()
     {
-        Set<Bean<?>> beans = resolveBeans();
+        Set<Bean<?>> beans = resolve().beans;
         
         return beans.isEmpty();
     }
@@ -192,9 +305,9 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         }
 
         Annotation[] newQualifiersArray = qualifiers;
-        return new InstanceImpl<>(
+        return selected(new SelectKey(selectKey, null, qualifiers), new InstanceImpl<>(
             injectionClazz, injectionPoint == null ? null : new InstanceInjectionPoint(injectionPoint, newQualifiersArray),
-            webBeansContext, parentCreationalContext, newQualifiersArray);
+            webBeansContext, parentCreationalContext, newQualifiersArray));
     }
 
     /**
@@ -222,7 +335,45 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
             ? qualifiers
             : qualifierAnnotations.toArray(new Annotation[qualifierAnnotations.size()]);
 
-        return new InstanceImpl<>(sub, injectionPoint, webBeansContext, parentCreationalContext, effectiveQualifiers);
+        return selected(new SelectKey(selectKey, subtype, qualifiers),
+            new InstanceImpl<>(sub, injectionPoint, webBeansContext, parentCreationalContext, effectiveQualifiers));
+    }
+
+    /**
+     * Lets the selected Instance share the resolutions cached for the select chain.
+     */
+    private <U> InstanceImpl<U> selected(SelectKey key, InstanceImpl<U> selected)
+    {
+        selected.selectRoot = selectRoot != null ? selectRoot : this;
+        selected.selectKey = key;
+        return selected;
+    }
+
+    private Resolution getSelectResolution(SelectKey key)
+    {
+        Map<SelectKey, Resolution> cache = selectResolutions;
+        return cache != null ? cache.get(key) : null;
+    }
+
+    private void putSelectResolution(SelectKey key, Resolution resolved)
+    {
+        Map<SelectKey, Resolution> cache = selectResolutions;
+        if (cache == null)
+        {
+            synchronized (this)
+            {
+                cache = selectResolutions;
+                if (cache == null)
+                {
+                    cache = new ConcurrentHashMap<>();
+                    selectResolutions = cache;
+                }
+            }
+        }
+        if (cache.size() < MAX_CACHED_SELECTS || cache.containsKey(key))
+        {
+            cache.put(key, resolved);
+        }
     }
 
     /**
@@ -240,7 +391,7 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     @Override
     public Iterator<T> iterator()
     {
-        Set<Bean<?>> beans = resolveBeans();
+        Set<Bean<?>> beans = resolve().beans;
         List<T> instances = new ArrayList<>();
         parentCreationalContext.putInjectionPoint(injectionPoint);
         try
@@ -373,6 +524,73 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         }
     }
 
+    /**
+     * The result of resolving the beans for an Instance.
+     */
+    private static final class Resolution
+    {
+        private final int version;
+        private final Set<Bean<?>> beans;
+
+        /**
+         * The single bean out of {@link #beans}, resolved on first use.
+         */
+        private volatile Bean<?> bean;
+
+        /**
+         * The client proxy if {@link #bean} is normal-scoped.
+         */
+        private volatile Object normalScopedReference;
+
+        private Resolution(int version, Set<Bean<?>> beans)
+        {
+            this.version = version;
+            this.beans = beans;
+        }
+    }
+
+    /**
+     * The arguments of a select call, together with the ones of the select calls before.
+     */
+    private static final class SelectKey
+    {
+        private final SelectKey parent;
+        private final Class<?> subtype;
+        private final List<Annotation> qualifiers;
+        private final int hashCode;
+
+        private SelectKey(SelectKey parent, Class<?> subtype, Annotation[] qualifiers)
+        {
+            this.parent = parent;
+            this.subtype = subtype;
+            this.qualifiers = qualifiers == null ? Collections.emptyList() : Arrays.asList(qualifiers.clone());
+            hashCode = 31 * (31 * (parent == null ? 0 : parent.hashCode) + (subtype == null ? 0 : subtype.hashCode()))
+                + this.qualifiers.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof SelectKey))
+            {
+                return false;
+            }
+            SelectKey other = (SelectKey) o;
+            return subtype == other.subtype && qualifiers.equals(other.qualifiers)
+                && (parent == null ? other.parent == null : parent.equals(other.parent));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+
     private static class InstanceInjectionPoint implements InjectionPoint, Serializable
     {
         private InjectionPoint delegate;
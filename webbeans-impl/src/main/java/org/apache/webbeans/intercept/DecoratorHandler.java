@@ -23,6 +23,8 @@ import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.intercept.InterceptorResolutionService.BeanInterceptorInfo;
 import org.apache.webbeans.intercept.InterceptorResolutionService.BusinessMethodInterceptorInfo;
 import org.apache.webbeans.portable.AbstractProducer;
+import org.apache.webbeans.proxy.InterceptedMethodInvoker;
+import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.InterceptorHandler;
 import org.apache.webbeans.util.ExceptionUtil;
 import org.apache.webbeans.util.WebBeansUtil;
@@ -59,7 +61,21 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
     private Object target;
     private String passivationId;
 
+    /**
+     * Generated invoker for the decorated methods of the target or {@code null} if reflection shall be used.
+     */
+    private transient InterceptedMethodInvoker methodInvoker;
+
     public DecoratorHandler(BeanInterceptorInfo interceptorInfo, List<Decorator<?>> decorators, Map<Decorator<?>, ?> instances, int index, Object target, String passivationId)
+    {
+        this(interceptorInfo, decorators, instances, index, target, passivationId, null);
+    }
+
+    /**
+     * @param methodInvoker generated invoker for the decorated methods or {@code null} to use reflection
+     */
+    public DecoratorHandler(BeanInterceptorInfo interceptorInfo, List<Decorator<?>> decorators, Map<Decorator<?>, ?> instances, int index, Object target,
+                            String passivationId, InterceptedMethodInvoker methodInvoker)
     {
         this.interceptorInfo = interceptorInfo;
         this.instances = instances;
@@ -67,6 +83,7 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
         this.index = index;
         this.target = target;
         this.passivationId = passivationId;
+        this.methodInvoker = methodInvoker;
     }
 
     public DecoratorHandler()
@@ -108,6 +125,15 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
         }
         try
         {
+            if (methodInvoker != null)
+            {
+                int methodIndex = methodInvoker.getMethodIndex(method);
+                if (methodIndex >= 0)
+                {
+                    return methodInvoker.invoke(methodIndex, target, args);
+                }
+            }
+
             if (!method.isAccessible())
             {
                 method.setAccessible(true);
@@ -153,11 +179,11 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
         BeanManager beanManager = webBeansContext.getBeanManagerImpl();
         Bean<?> bean = beanManager.getPassivationCapableBean(passivationId);
 
-        return webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(
-            webBeansContext.getInterceptorDecoratorProxyFactory().getCachedProxyClass(bean),
-            target,
-            this
-        );
+        InterceptorDecoratorProxyFactory proxyFactory = webBeansContext.getInterceptorDecoratorProxyFactory();
+        Class<?> proxyClass = proxyFactory.getCachedProxyClass(bean);
+        methodInvoker = proxyFactory.getMethodInvoker(proxyClass);
+
+        return proxyFactory.createProxyInstance((Class<Object>) proxyClass, target, this);
     }
 
     @Override
@@ -23,6 +23,8 @@ import org.apache.webbeans.component.SelfInterceptorBean;
 import org.apache.webbeans.component.WebBeansType;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.portable.InjectionTargetImpl;
+import org.apache.webbeans.proxy.InterceptedMethodInvoker;
+import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.InterceptorHandler;
 import org.apache.webbeans.util.ExceptionUtil;
 import org.apache.webbeans.util.WebBeansUtil;
@@ -39,9 +41,9 @@ import java.io.NotSerializableException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.ObjectStreamException;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -75,6 +77,16 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
     private Map<Method, List<Interceptor<?>>> interceptors;
     private Map<Interceptor<?>, ?> instances;
 
+    /**
+     * Provides the {@link #delegate} for the InvocationContexts.
+     */
+    private transient Provider<T> delegateProvider;
+
+    /**
+     * Generated invoker for the intercepted methods or {@code null} if reflection shall be used.
+     */
+    private transient InterceptedMethodInvoker methodInvoker;
+
     /**
      * InterceptorHandler wich gets used in our InjectionTargets which
      * support interceptors and decorators
@@ -89,12 +101,28 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
                                      Map<Method, List<Interceptor<?>>> interceptors,
                                      Map<Interceptor<?>, ?> instances,
                                      String beanPassivationId)
+    {
+        this(target, delegate, interceptors, instances, beanPassivationId, null);
+    }
+
+    /**
+     * @param methodInvoker generated invoker for the intercepted methods or {@code null} to use reflection
+     * @see #DefaultInterceptorHandler(Object, Object, Map, Map, String)
+     */
+    public DefaultInterceptorHandler(T target,
+                                     T delegate,
+                                     Map<Method, List<Interceptor<?>>> interceptors,
+                                     Map<Interceptor<?>, ?> instances,
+                                     String beanPassivationId,
+                                     InterceptedMethodInvoker methodInvoker)
     {
         this.target = target;
         this.delegate = delegate;
         this.instances = instances;
         this.interceptors = interceptors;
         this.beanPassivationId = beanPassivationId;
+        this.methodInvoker = methodInvoker;
+        delegateProvider = new InstanceProvider<>(delegate);
     }
 
     public DefaultInterceptorHandler()
@@ -127,14 +155,21 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
     {
         try
         {
+            int methodIndex = methodInvoker != null ? methodInvoker.getMethodIndex(method) : -1;
+
             List<Interceptor<?>> methodInterceptors = interceptors.get(method);
-            if (methodInterceptors == null)
+            if (methodInterceptors == null || methodInterceptors.isEmpty())
             {
-                methodInterceptors = Collections.emptyList();
+                // only decorated, so there is no need for an InvocationContext
+                if (methodIndex >= 0)
+                {
+                    return methodInvoker.invoke(methodIndex, delegate, parameters);
+                }
+                return invokeDelegate(method, parameters);
             }
 
-            InterceptorInvocationContext<T> ctx
-                = new InterceptorInvocationContext<T>(new InstanceProvider(delegate), InterceptionType.AROUND_INVOKE, methodInterceptors, instances, method, parameters);
+            InterceptorInvocationContext<T> ctx = new InterceptorInvocationContext<>(
+                delegateProvider, InterceptionType.AROUND_INVOKE, methodInterceptors, instances, method, parameters, methodInvoker, methodIndex);
 
             return ctx.proceed();
         }
@@ -144,6 +179,24 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         }
     }
 
+    private Object invokeDelegate(Method method, Object[] parameters) throws Exception
+    {
+        if (!method.isAccessible())
+        {
+            method.setAccessible(true);
+        }
+
+        try
+        {
+            return method.invoke(delegate, parameters);
+        }
+        catch (InvocationTargetException ite)
+        {
+            // unpack the reflection Exception
+            throw ExceptionUtil.throwAsRuntimeException(ite.getCause());
+        }
+    }
+
     /**
      * The following code gets generated into the proxy:
      *
@@ -165,11 +218,11 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         BeanManager beanManager = webBeansContext.getBeanManagerImpl();
         Bean<T> bean = (Bean<T>) beanManager.getPassivationCapableBean(beanPassivationId);
 
-        return webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(
-            webBeansContext.getInterceptorDecoratorProxyFactory().getCachedProxyClass(bean),
-            target,
-            this
-        );
+        InterceptorDecoratorProxyFactory proxyFactory = webBeansContext.getInterceptorDecoratorProxyFactory();
+        Class<T> proxyClass = proxyFactory.getCachedProxyClass(bean);
+        methodInvoker = proxyFactory.getMethodInvoker(proxyClass);
+
+        return proxyFactory.createProxyInstance(proxyClass, target, this);
     }
 
     @Override
@@ -225,6 +278,7 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         {
             delegate = (T) in.readObject();
         }
+        delegateProvider = new InstanceProvider<>(delegate);
 
         int instancesSize = in.readInt();
         WebBeansContext webBeansContext = WebBeansContext.getInstance();
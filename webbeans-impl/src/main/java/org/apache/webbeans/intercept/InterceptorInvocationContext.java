@@ -26,6 +26,8 @@ import javax.enterprise.inject.spi.InterceptionType;
 import javax.enterprise.inject.spi.Interceptor;
 import javax.inject.Provider;
 
+import org.apache.webbeans.proxy.InterceptedMethodInvoker;
+
 /**
  * InvocationContext for business method interceptors
  */
@@ -36,15 +38,35 @@ public class InterceptorInvocationContext<T> extends AbstractInvocationContext<T
     protected List<Interceptor<?>> interceptors;
     protected Map<Interceptor<?>, ?> instances;
     protected int index;
-    
+
+    /**
+     * Optional generated invoker for calling the target method without reflection.
+     */
+    private final InterceptedMethodInvoker methodInvoker;
+    private final int methodIndex;
+
     public InterceptorInvocationContext(Provider<T> provider, InterceptionType type,
                                         List<Interceptor<?>> interceptors, Map<Interceptor<?>, ?> instances,
                                         AccessibleObject method, Object[] parameters)
+    {
+        this(provider, type, interceptors, instances, method, parameters, null, -1);
+    }
+
+    /**
+     * @param methodInvoker generated invoker for the target method or {@code null} to use reflection
+     * @param methodIndex the index of the method in the methodInvoker or {@code -1} to use reflection
+     */
+    public InterceptorInvocationContext(Provider<T> provider, InterceptionType type,
+                                        List<Interceptor<?>> interceptors, Map<Interceptor<?>, ?> instances,
+                                        AccessibleObject method, Object[] parameters,
+                                        InterceptedMethodInvoker methodInvoker, int methodIndex)
     {
         super(provider, method, parameters);
         this.type = type;
         this.interceptors = interceptors;
         this.instances = instances;
+        this.methodInvoker = methodInvoker;
+        this.methodIndex = methodIndex;
     }
 
     @Override
@@ -78,4 +100,14 @@ public class InterceptorInvocationContext<T> extends AbstractInvocationContext<T
             return super.proceed();
         }
     }
+
+    @Override
+    public Object directProceed() throws Exception
+    {
+        if (methodIndex >= 0)
+        {
+            return methodInvoker.invoke(methodIndex, target.get(), parameters);
+        }
+        return super.directProceed();
+    }
 }
@@ -30,6 +30,7 @@ import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.portable.AnnotatedElementFactory;
+import org.apache.webbeans.proxy.InterceptedMethodInvoker;
 import org.apache.webbeans.proxy.InterceptorHandler;
 import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
@@ -842,6 +843,8 @@ public class InterceptorResolutionService
             interceptorInstances.put(interceptorInfo.getSelfInterceptorBean(), instance);
         }
 
+        InterceptedMethodInvoker methodInvoker = webBeansContext.getInterceptorDecoratorProxyFactory().getMethodInvoker(proxyClass);
+
         T delegate = instance;
         if (interceptorInfo.getDecorators() != null && !isDelegateInjection.apply(creationalContextImpl))
         {
@@ -855,10 +858,11 @@ public class InterceptorResolutionService
                 Object decoratorInstance = decorator.create(creationalContext);
                 instances.put(decorator, decoratorInstance);
                 delegate = webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(proxyClass, instance,
-                        new DecoratorHandler(interceptorInfo, decorators, instances, i - 1, instance, passivationId));
+                        new DecoratorHandler(interceptorInfo, decorators, instances, i - 1, instance, passivationId, methodInvoker));
             }
         }
-        InterceptorHandler interceptorHandler = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptors, interceptorInstances, passivationId);
+        InterceptorHandler interceptorHandler = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptors, interceptorInstances, passivationId,
+                methodInvoker);
 
         return webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(proxyClass, instance, interceptorHandler);
     }
@@ -22,6 +22,9 @@ import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import java.util.HashMap;
 
+import org.apache.webbeans.context.storage.ContextStorage;
+import org.apache.webbeans.context.storage.ContextStorageFacade;
+
 
 /**
  * <p>This is a {@link javax.inject.Provider} especially
@@ -39,12 +42,11 @@ public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterce
     /**
      * Cached bean instance for each thread
      */
-    private static ThreadLocal<HashMap<Bean<?>, Object>> cachedInstances = new ThreadLocal<>();
+    private static ContextStorage<HashMap<Bean<?>, Object>> cachedInstances = ContextStorageFacade.createStorage();
 
 
     public static void removeThreadLocals()
     {
-        cachedInstances.set(null);
         cachedInstances.remove();
     }
 
@@ -128,7 +128,7 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
         logger.fine("Scanning classpaths for beans artifacts.");
 
         //Scan
-        scannerService.scan();
+        deployer.getStartupProfiler().run("scan", scannerService::scan);
         
         //Deploy beans
         logger.fine("Deploying scanned beans.");
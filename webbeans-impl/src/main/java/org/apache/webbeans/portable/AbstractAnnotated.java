@@ -34,7 +34,6 @@ import javax.enterprise.inject.spi.Annotated;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.util.Asserts;
-import org.apache.webbeans.util.GenericsUtil;
 
 import static java.util.Collections.singleton;
 import static java.util.stream.Collectors.toList;
@@ -234,7 +233,7 @@ public abstract class AbstractAnnotated implements Annotated
 
     protected Set<Type> extractTypeClojure(Type baseType)
     {
-        return GenericsUtil.getTypeClosure(baseType, getOwningClass());
+        return webBeansContext.getGenericsCache().getTypeClosure(baseType, getOwningClass());
     }
 
     /**
@@ -18,11 +18,13 @@
  */
 package org.apache.webbeans.portable;
 
+import org.apache.webbeans.component.ProducerMethodBean;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansCreationException;
 import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.inject.AbstractInjectable;
 import org.apache.webbeans.inject.InjectableConstructor;
 import org.apache.webbeans.inject.InjectableField;
 import org.apache.webbeans.inject.InjectableMethod;
@@ -34,6 +36,7 @@ import org.apache.webbeans.intercept.LifecycleInterceptorInvocationContext;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.InterceptorHandler;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
 import org.apache.webbeans.proxy.OwbInterceptorProxy;
 import org.apache.webbeans.proxy.OwbNormalScopeProxy;
 import org.apache.webbeans.spi.ResourceInjectionService;
@@ -45,6 +48,7 @@ import javax.enterprise.event.Observes;
 import javax.enterprise.event.ObservesAsync;
 import javax.enterprise.inject.Disposes;
 import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.TransientReference;
 import javax.enterprise.inject.spi.AnnotatedConstructor;
 import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.inject.spi.AnnotatedParameter;
@@ -62,13 +66,13 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -113,6 +117,12 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
 
     private List<Interceptor<?>> aroundConstructInterceptors;
 
+    /**
+     * The ordered steps to perform for {@link #inject(Object, CreationalContext)}.
+     * Lazily created on the first injection.
+     */
+    private volatile InjectionStep<T>[] injectionPlan;
+
     public InjectionTargetImpl(AnnotatedType<T> annotatedType, Set<InjectionPoint> injectionPoints, WebBeansContext webBeansContext,
                                List<AnnotatedMethod<?>> postConstructMethods, List<AnnotatedMethod<?>> preDestroyMethods)
     {
@@ -200,23 +210,58 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
     @Override
     public void inject(T instance, CreationalContext<T> context)
     {
-        inject(instance.getClass(), unwrapProxyInstance(instance), (CreationalContextImpl<T>) context);
+        T internalInstance = unwrapProxyInstance(instance);
+        for (InjectionStep<T> step : getInjectionPlan())
+        {
+            step.inject(internalInstance, (CreationalContextImpl<T>) context);
+        }
     }
 
-    private void inject(Class<?> type, T instance, CreationalContextImpl<T> context)
+    /**
+     * The injection plan gets created lazily on the first injection
+     * as the InjectionPoints might still get changed during deployment.
+     */
+    private InjectionStep<T>[] getInjectionPlan()
     {
-        if (type == null || type.equals(Object.class))
+        InjectionStep<T>[] plan = injectionPlan;
+        if (plan == null)
         {
-            return;
+            plan = createInjectionPlan();
+            injectionPlan = plan;
+        }
+        return plan;
+    }
+
+    /**
+     * Creates the ordered injection steps for the class hierarchy of the AnnotatedType.
+     * For each class in the hierarchy (superclass first) we first inject the fields,
+     * then the methods with injection points and then the initializer methods without parameters.
+     * Java EE resources get injected only once, after the topmost class got injected.
+     */
+    @SuppressWarnings("unchecked")
+    private InjectionStep<T>[] createInjectionPlan()
+    {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> type = annotatedType.getJavaClass(); type != null && !type.equals(Object.class); type = type.getSuperclass())
+        {
+            hierarchy.add(0, type);
+        }
+
+        List<InjectionStep<T>> steps = new ArrayList<>();
+        for (Class<?> type : hierarchy)
+        {
+            addFieldInjectionSteps(type, steps);
+            addMethodInjectionSteps(type, steps);
+            addInitializerMethodInjectionSteps(type, steps);
+            if (type == hierarchy.get(0))
+            {
+                steps.add(new ResourceInjectionStep());
+            }
         }
-        inject(type.getSuperclass(), instance, context);
-        injectFields(type, instance, context);
-        injectMethods(type, instance, context);
-        injectInitializerMethods(type, instance, context);
-        injectResources(instance);
+        return steps.toArray(new InjectionStep[steps.size()]);
     }
 
-    private void injectFields(Class<?> type, T instance, CreationalContextImpl<T> context)
+    private void addFieldInjectionSteps(Class<?> type, List<InjectionStep<T>> steps)
     {
         for (InjectionPoint injectionPoint : getInjectionPoints())
         {
@@ -224,47 +269,55 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
             {
                 if (injectionPoint.getMember() instanceof Field)
                 {
-                    new InjectableField<>((Field) injectionPoint.getMember(), instance, this, context).doInjection();
+                    Field field = (Field) injectionPoint.getMember();
+                    if (!field.isAccessible())
+                    {
+                        webBeansContext.getSecurityService().doPrivilegedSetAccessible(field, true);
+                    }
+                    steps.add(new FieldInjectionStep(field, injectionPoint));
                 }
             }
         }
     }
 
-    private void injectMethods(Class<?> type, T instance, CreationalContextImpl<T> context)
+    private void addMethodInjectionSteps(Class<?> type, List<InjectionStep<T>> steps)
     {
-        Set<Member> injectedMethods = new HashSet<>();
+        Map<Method, Set<InjectionPoint>> injectedMethods = new LinkedHashMap<>();
         for (InjectionPoint injectionPoint : getInjectionPoints())
         {
             if (injectionPoint.getMember().getDeclaringClass().equals(type))
             {
                 if (injectionPoint.getMember() instanceof Method
-                        && !injectedMethods.contains(injectionPoint.getMember())
                         && !isProducerMethod(injectionPoint)
                         && !isDisposalMethod(injectionPoint)
                         && !isObserverMethod(injectionPoint))
                 {
-                    new InjectableMethod<>((Method) injectionPoint.getMember(), instance, this, context).doInjection();
-                    injectedMethods.add(injectionPoint.getMember());
+                    injectedMethods.computeIfAbsent((Method) injectionPoint.getMember(), m -> new HashSet<>()).add(injectionPoint);
                 }
             }
         }
+
+        for (Map.Entry<Method, Set<InjectionPoint>> injectedMethod : injectedMethods.entrySet())
+        {
+            steps.add(new MethodInjectionStep(injectedMethod.getKey(), injectedMethod.getValue()));
+        }
     }
 
     /**
-     * Performs injection on initializer methods, which are methods that are annotated with &#64;Inject,
+     * Adds the injection of initializer methods, which are methods that are annotated with &#64;Inject,
      * but have no parameter and thus no injection point.
      */
-    private void injectInitializerMethods(Class<?> declaringType, T instance, CreationalContextImpl<T> context)
+    private void addInitializerMethodInjectionSteps(Class<?> declaringType, List<InjectionStep<T>> steps)
     {
         for (AnnotatedMethod<? super T> method : webBeansContext.getAnnotatedElementFactory().getFilteredAnnotatedMethods(annotatedType))
         {
             if (method.getDeclaringType().getJavaClass().equals(declaringType) && method.isAnnotationPresent(Inject.class) && method.getParameters().isEmpty())
             {
-                new InjectableMethod<>(method.getJavaMember(), instance, this, context).doInjection();
+                steps.add(new MethodInjectionStep(method.getJavaMember(), Collections.<InjectionPoint>emptySet()));
             }
         }
     }
-    
+
     private void injectResources(T instance)
     {
         try
@@ -468,6 +521,137 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
         return lifecycleInterceptors;
     }
 
+    /**
+     * A single step of the injection plan.
+     */
+    private interface InjectionStep<T>
+    {
+        void inject(T instance, CreationalContextImpl<T> context);
+    }
+
+    /**
+     * Injects a single field. Everything which doesn't depend on the instance is computed upfront.
+     */
+    private class FieldInjectionStep implements InjectionStep<T>
+    {
+        private final Field field;
+        private final InjectionPoint injectionPoint;
+        private final boolean delegate;
+        private final boolean transientReference;
+
+        FieldInjectionStep(Field field, InjectionPoint injectionPoint)
+        {
+            this.field = field;
+            this.injectionPoint = injectionPoint;
+            this.delegate = injectionPoint.isDelegate();
+            this.transientReference = injectionPoint.getAnnotated().isAnnotationPresent(TransientReference.class);
+        }
+
+        @Override
+        public void inject(T instance, CreationalContextImpl<T> context)
+        {
+            if (transientReference)
+            {
+                // rare case which needs its own CreationalContext
+                new InjectableField<>(field, injectionPoint, instance, InjectionTargetImpl.this, context).doInjection();
+                return;
+            }
+
+            Object value = delegate ? context.getDelegate() : AbstractInjectable.injectReference(injectionPoint, context, context);
+            try
+            {
+                field.set(instance, value);
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new WebBeansException(e);
+            }
+        }
+    }
+
+    /**
+     * Injects a single initializer method. The parameters are sorted by their position upfront.
+     */
+    private class MethodInjectionStep implements InjectionStep<T>
+    {
+        private final Method method;
+        private final Set<InjectionPoint> injectionPoints;
+        private final InjectionPoint[] parameters;
+        private final boolean simple;
+
+        MethodInjectionStep(Method method, Set<InjectionPoint> injectionPoints)
+        {
+            this.method = method;
+            this.injectionPoints = injectionPoints;
+
+            parameters = new InjectionPoint[injectionPoints.size()];
+            boolean simpleParameters = true;
+            for (InjectionPoint injectionPoint : injectionPoints)
+            {
+                AnnotatedParameter<?> parameter = (AnnotatedParameter<?>) injectionPoint.getAnnotated();
+                if (parameter.getPosition() >= parameters.length
+                        || parameter.isAnnotationPresent(TransientReference.class)
+                        || parameter.getBaseType().equals(InjectionPoint.class))
+                {
+                    simpleParameters = false;
+                }
+                else
+                {
+                    parameters[parameter.getPosition()] = injectionPoint;
+                }
+            }
+            simple = simpleParameters;
+
+            if (!method.isAccessible())
+            {
+                webBeansContext.getSecurityService().doPrivilegedSetAccessible(method, true);
+            }
+        }
+
+        @Override
+        public void inject(T instance, CreationalContextImpl<T> context)
+        {
+            if (!simple || context.getBean() instanceof ProducerMethodBean)
+            {
+                // @TransientReference and InjectionPoint parameters need the full handling
+                new InjectableMethod<>(method, instance, InjectionTargetImpl.this, context, injectionPoints).doInjection();
+                return;
+            }
+
+            Object[] arguments = new Object[parameters.length];
+            for (int i = 0; i < parameters.length; i++)
+            {
+                InjectionPoint parameter = parameters[i];
+                arguments[i] = parameter.isDelegate()
+                    ? context.getDelegate() : AbstractInjectable.injectReference(parameter, context, context);
+            }
+
+            Object owner = instance;
+            if (owner instanceof OwbNormalScopeProxy)
+            {
+                owner = NormalScopeProxyFactory.unwrapInstance(owner);
+            }
+
+            try
+            {
+                method.invoke(owner, arguments);
+            }
+            catch (Exception e)
+            {
+                throw new WebBeansException(e);
+            }
+        }
+    }
+
+    private class ResourceInjectionStep implements InjectionStep<T>
+    {
+        @Override
+        public void inject(T instance, CreationalContextImpl<T> context)
+        {
+            injectResources(instance);
+        }
+    }
+
     private static class ConstructorInstanceProvider<T> implements Provider<T>
     {
         private ConstructorInterceptorInvocationContext<T> context;
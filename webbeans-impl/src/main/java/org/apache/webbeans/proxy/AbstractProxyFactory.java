@@ -22,17 +22,36 @@ import static org.apache.xbean.asm7.ClassReader.SKIP_CODE;
 import static org.apache.xbean.asm7.ClassReader.SKIP_DEBUG;
 import static org.apache.xbean.asm7.ClassReader.SKIP_FRAMES;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.DefiningClassService;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.xbean.asm7.ClassReader;
 import org.apache.xbean.asm7.ClassWriter;
 import org.apache.xbean.asm7.MethodVisitor;
@@ -47,6 +66,20 @@ public abstract class AbstractProxyFactory
 {
     public static final int MAX_CLASSLOAD_TRIES = 10000;
 
+    /**
+     * Resource which lists the names of all proxy classes which got generated at build time,
+     * one class name per line.
+     * @see ProxyPregenerator
+     */
+    public static final String PREGENERATED_PROXIES_RESOURCE = "META-INF/openwebbeans/pregenerated-proxies.list";
+
+    /**
+     * All classes generated by OWB contain this marker in their name.
+     */
+    public static final String GENERATED_CLASS_NAME_MARKER = "$$Owb";
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(AbstractProxyFactory.class);
+
     /**
      * This is needed as the Modifier#VARARGS is not (yet) public.
      * Note that the bitcode is the same as Modifier#TRANSIENT.
@@ -62,6 +95,27 @@ public abstract class AbstractProxyFactory
 
     private final int javaVersion;
 
+    /**
+     * The names of the pre-generated proxy classes available in each ClassLoader.
+     */
+    private final Map<ClassLoader, Set<String>> pregeneratedProxyClassNames = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Only set at build time, see {@link #recordProxyClasses()}.
+     */
+    private volatile Map<String, byte[]> recordedProxyClasses;
+
+    /**
+     * Number of proxy classes generated by this factory.
+     */
+    private final LongAdder generatedProxies = new LongAdder();
+
+    /**
+     * Only set if the proxy bytecode cache is enabled.
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#PROXY_CACHE_DIRECTORY
+     */
+    private final ProxyClassCache proxyClassCache;
+
 
     /**
      * The name of the field which stores the passivationID of the Bean this proxy serves.
@@ -77,6 +131,23 @@ public abstract class AbstractProxyFactory
         javaVersion = determineDefaultJavaVersion();
         unsafe = new Unsafe();
         definingService = webBeansContext.getService(DefiningClassService.class);
+
+        String proxyCacheDirectory = webBeansContext.getOpenWebBeansConfiguration().getProxyCacheDirectory();
+        proxyClassCache = proxyCacheDirectory == null ? null : new ProxyClassCache(Paths.get(proxyCacheDirectory), getClass(), javaVersion);
+
+        MetricsService metricsService = webBeansContext.getMetricsService();
+        if (metricsService != null)
+        {
+            metricsService.gauge("proxies.generated." + getClass().getSimpleName(), generatedProxies::sum);
+        }
+    }
+
+    /**
+     * @return the number of proxy classes which got generated by this factory
+     */
+    public long getGeneratedProxyCount()
+    {
+        return generatedProxies.sum();
     }
 
     private int determineDefaultJavaVersion()
@@ -211,6 +282,202 @@ public abstract class AbstractProxyFactory
         throw new WebBeansException("Unable to detect a free proxy class name based on: " + proxyClassName);
     }
 
+    /**
+     * Switch this factory into build time mode.
+     * All proxy classes will from now on get generated with their deterministic name,
+     * see {@link #getPregeneratedProxyClassName(String, Class, Method[], Method[])},
+     * and their bytecode gets kept for {@link #getRecordedProxyClasses()}.
+     */
+    public void recordProxyClasses()
+    {
+        recordedProxyClasses = Collections.synchronizedMap(new LinkedHashMap<>());
+    }
+
+    /**
+     * @return the bytecode of all proxy classes generated since {@link #recordProxyClasses()} got invoked,
+     *         keyed by the class name.
+     */
+    public Map<String, byte[]> getRecordedProxyClasses()
+    {
+        return recordedProxyClasses == null ? Collections.<String, byte[]>emptyMap() : recordedProxyClasses;
+    }
+
+    /**
+     * Use a pre-generated proxy class if one is available in the given ClassLoader,
+     * otherwise generate a new proxy class.
+     *
+     * @param proxyClassNamePrefix the name of the proxy class without the counter suffix
+     * @see #getUnusedProxyClassName(ClassLoader, String)
+     */
+    protected <T> Class<T> createOrLoadProxyClass(ClassLoader classLoader, String proxyClassNamePrefix, Class<T> classToProxy,
+                                                  Method[] interceptedMethods, Method[] nonInterceptedMethods)
+            throws ProxyGenerationException
+    {
+        Map<String, byte[]> recorded = recordedProxyClasses;
+
+        // don't hash the proxied classes if there is nothing to look up
+        String pregeneratedName = recorded != null || proxyClassCache != null || !getPregeneratedProxyClassNames(classLoader).isEmpty()
+                ? getPregeneratedProxyClassName(proxyClassNamePrefix, classToProxy, interceptedMethods, nonInterceptedMethods)
+                : null;
+        if (pregeneratedName == null)
+        {
+            return createProxyClass(classLoader, getUnusedProxyClassName(classLoader, proxyClassNamePrefix),
+                    classToProxy, interceptedMethods, nonInterceptedMethods);
+        }
+
+        if (recorded != null)
+        {
+            if (recorded.containsKey(pregeneratedName))
+            {
+                // another bean with exactly the same proxy shape
+                return loadPregeneratedProxyClass(classLoader, pregeneratedName);
+            }
+
+            byte[] proxyBytes = generateProxy(classLoader, pregeneratedName, classToProxy, interceptedMethods, nonInterceptedMethods, null);
+            recorded.put(pregeneratedName, proxyBytes);
+            return defineAndLoadClass(classLoader, pregeneratedName, proxyBytes, classToProxy);
+        }
+
+        if (getPregeneratedProxyClassNames(classLoader).contains(pregeneratedName))
+        {
+            Class<T> pregenerated = loadPregeneratedProxyClass(classLoader, pregeneratedName);
+            if (pregenerated != null)
+            {
+                return pregenerated;
+            }
+        }
+
+        if (proxyClassCache != null)
+        {
+            Class<T> cached = createOrLoadCachedProxyClass(classLoader, pregeneratedName, classToProxy, interceptedMethods, nonInterceptedMethods);
+            if (cached != null)
+            {
+                return cached;
+            }
+        }
+
+        return createProxyClass(classLoader, getUnusedProxyClassName(classLoader, proxyClassNamePrefix),
+                classToProxy, interceptedMethods, nonInterceptedMethods);
+    }
+
+    /**
+     * Load the proxy class from the proxy bytecode cache or generate and store it.
+     * Cached proxy classes use the deterministic name of pre-generated proxy classes,
+     * as the name is part of the bytecode.
+     *
+     * @return the proxy class or {@code null} if it cannot be cached
+     */
+    private <T> Class<T> createOrLoadCachedProxyClass(ClassLoader classLoader, String proxyClassName, Class<T> classToProxy,
+                                                      Method[] interceptedMethods, Method[] nonInterceptedMethods)
+            throws ProxyGenerationException
+    {
+        String key = proxyClassCache.getKey(proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods);
+        if (key == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            // another bean with exactly the same proxy shape
+            return (Class<T>) Class.forName(proxyClassName, true, classLoader);
+        }
+        catch (ClassNotFoundException e)
+        {
+            // not defined yet
+        }
+
+        byte[] proxyBytes = proxyClassCache.load(key, proxyClassName);
+        if (proxyBytes != null)
+        {
+            try
+            {
+                return defineAndLoadClass(classLoader, proxyClassName, proxyBytes, classToProxy);
+            }
+            catch (ProxyGenerationException | LinkageError e)
+            {
+                logger.log(Level.WARNING, "Cannot define cached proxy class " + proxyClassName + ", generating it instead", e);
+                proxyClassCache.remove(key);
+                return null;
+            }
+        }
+
+        proxyBytes = generateProxy(classLoader, proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods, null);
+        Class<T> proxyClass = defineAndLoadClass(classLoader, proxyClassName, proxyBytes, classToProxy);
+        proxyClassCache.store(key, proxyBytes);
+        return proxyClass;
+    }
+
+    /**
+     * The name of a pre-generated proxy class is a SHA-256 hash over the OpenWebBeans version,
+     * the proxied class, the signatures of all proxied methods split by whether they are intercepted,
+     * which reflects the interceptor bindings, and the bytecode of all classes declaring them.
+     * A proxy class generated at build time thus never gets used once any of them changed.
+     *
+     * @return the name or {@code null} if the bytecode of a proxied class is not available
+     */
+    protected String getPregeneratedProxyClassName(String proxyClassNamePrefix, Class<?> classToProxy,
+                                                   Method[] interceptedMethods, Method[] nonInterceptedMethods)
+    {
+        MessageDigest digest = ProxyClassCache.newDigest();
+        ProxyClassCache.update(digest, String.valueOf(AbstractProxyFactory.class.getPackage().getImplementationVersion()));
+        ProxyClassCache.update(digest, "|" + classToProxy.getName());
+        if (!ProxyClassCache.updateProxiedClasses(digest, classToProxy, interceptedMethods, nonInterceptedMethods))
+        {
+            return null;
+        }
+
+        return fixPreservedPackages(proxyClassNamePrefix) + "P" + ProxyClassCache.toHex(digest.digest());
+    }
+
+    private <T> Class<T> loadPregeneratedProxyClass(ClassLoader classLoader, String proxyClassName)
+    {
+        try
+        {
+            return (Class<T>) Class.forName(proxyClassName, true, classLoader);
+        }
+        catch (ClassNotFoundException | LinkageError e)
+        {
+            logger.log(Level.WARNING, "Cannot load pre-generated proxy class " + proxyClassName + ", generating it instead", e);
+            return null;
+        }
+    }
+
+    private Set<String> getPregeneratedProxyClassNames(ClassLoader classLoader)
+    {
+        Set<String> classNames = pregeneratedProxyClassNames.get(classLoader);
+        if (classNames == null)
+        {
+            classNames = new HashSet<>();
+            try
+            {
+                Enumeration<URL> indexes = classLoader.getResources(PREGENERATED_PROXIES_RESOURCE);
+                while (indexes.hasMoreElements())
+                {
+                    URL index = indexes.nextElement();
+                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8)))
+                    {
+                        String line;
+                        while ((line = reader.readLine()) != null)
+                        {
+                            line = line.trim();
+                            if (!line.isEmpty() && !line.startsWith("#"))
+                            {
+                                classNames.add(line);
+                            }
+                        }
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                logger.log(Level.WARNING, "Cannot read " + PREGENERATED_PROXIES_RESOURCE, e);
+            }
+            pregeneratedProxyClassNames.put(classLoader, classNames);
+        }
+        return classNames;
+    }
+
     protected  <T> String getSignedClassProxyName(final Class<T> classToProxy)
     {
         // avoid java.lang.SecurityException: class's signer information
@@ -263,21 +530,52 @@ public abstract class AbstractProxyFactory
                                                       Constructor<T> constructor)
             throws ProxyGenerationException
     {
-        String proxyClassFileName = proxyClassName.replace('.', '/');
+        byte[] proxyBytes = generateProxy(classLoader, proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods, constructor);
+
+        return defineAndLoadClass(classLoader, proxyClassName, proxyBytes, classToProxy);
+    }
 
-        byte[] proxyBytes = generateProxy(classLoader,
+    private byte[] generateProxy(ClassLoader classLoader, String proxyClassName, Class<?> classToProxy,
+                                 Method[] interceptedMethods, Method[] nonInterceptedMethods, Constructor<?> constructor)
+            throws ProxyGenerationException
+    {
+        generatedProxies.increment();
+        return generateProxy(classLoader,
                 classToProxy,
                 proxyClassName,
-                proxyClassFileName,
+                proxyClassName.replace('.', '/'),
                 sortOutDuplicateMethods(interceptedMethods),
                 sortOutDuplicateMethods(nonInterceptedMethods),
                 constructor);
+    }
 
+    /**
+     * Define the given generated class.
+     * If a {@link DefiningClassService} is configured then it will define the class,
+     * otherwise it gets defined in the given ClassLoader.
+     *
+     * @param classLoader the ClassLoader to define the class in
+     * @param className the name of the generated class
+     * @param classBytes the bytecode of the generated class
+     * @param classToProxy the class the generated class is created for
+     */
+    protected <T> Class<T> defineAndLoadClass(ClassLoader classLoader, String className, byte[] classBytes, Class<?> classToProxy)
+            throws ProxyGenerationException
+    {
         if (definingService != null)
         {
-            return definingService.defineAndLoad(proxyClassName, proxyBytes, classToProxy);
+            return definingService.defineAndLoad(className, classBytes, (Class<T>) classToProxy);
         }
-        return unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes);
+        return unsafe.defineAndLoadClass(classLoader, className, classBytes);
+    }
+
+    /**
+     * @return {@code true} if generated classes get defined by a {@link DefiningClassService}
+     *         and thus might end up in another ClassLoader than the one passed to the factory.
+     */
+    protected boolean hasDefiningClassService()
+    {
+        return definingService != null;
     }
 
     private Method[] sortOutDuplicateMethods(Method[] methods)
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Invokes the intercepted or decorated methods of a class without using reflection.
+ * Subclasses get generated by the {@link InterceptorDecoratorProxyFactory}
+ * if {@link org.apache.webbeans.config.OpenWebBeansConfiguration#GENERATE_METHOD_INVOKERS} is enabled.
+ *
+ * Methods which cannot be invoked from the generated class, e.g. package private methods
+ * of a class in another ClassLoader, do not have an index and must be invoked via reflection.
+ */
+public abstract class InterceptedMethodInvoker
+{
+    /**
+     * The index of each method the generated {@link #invoke(int, Object, Object[])} supports.
+     */
+    private Map<Method, Integer> methodIndexes;
+
+    void setMethodIndexes(Map<Method, Integer> methodIndexes)
+    {
+        this.methodIndexes = methodIndexes;
+    }
+
+    /**
+     * @return the index to be used for {@link #invoke(int, Object, Object[])}
+     *         or {@code -1} if the method must be invoked via reflection.
+     */
+    public int getMethodIndex(Method method)
+    {
+        Integer index = methodIndexes.get(method);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Invoke the method with the given index on the target instance.
+     * Exceptions thrown by the target method are not wrapped.
+     *
+     * @param methodIndex the index as returned by {@link #getMethodIndex(Method)}
+     * @param target the instance to invoke the method on
+     * @param parameters the method parameters
+     * @return the return value or {@code null} for void methods
+     */
+    public abstract Object invoke(int methodIndex, Object target, Object[] parameters) throws Exception;
+}
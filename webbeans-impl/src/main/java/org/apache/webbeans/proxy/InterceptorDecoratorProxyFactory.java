@@ -39,7 +39,11 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
@@ -74,10 +78,19 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
     private ConcurrentMap<Bean<?>, Class<?>> cachedProxyClasses = new ConcurrentHashMap<>();
     private ConcurrentMap<AnnotatedType<?>, Class<?>> cachedProxyClassesByAt = new ConcurrentHashMap<>();
 
+    /**
+     * The generated method invokers for each proxy class.
+     * Only filled if {@link org.apache.webbeans.config.OpenWebBeansConfiguration#GENERATE_METHOD_INVOKERS} is enabled.
+     */
+    private ConcurrentMap<Class<?>, InterceptedMethodInvoker> methodInvokers = new ConcurrentHashMap<>();
+
+    private final boolean generateMethodInvokers;
+
 
     public InterceptorDecoratorProxyFactory(WebBeansContext webBeansContext)
     {
         super(webBeansContext);
+        generateMethodInvokers = webBeansContext.getOpenWebBeansConfiguration().generateMethodInvokers();
     }
 
     public <T> T createProxyInstance(Class<? extends T> proxyClass, T instance, InterceptorHandler interceptorDecoratorStack)
@@ -208,12 +221,11 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
                                           Method[] interceptedMethods, Method[] nonInterceptedMethods)
             throws ProxyGenerationException
     {
-        String proxyClassName = getUnusedProxyClassName(
-                classLoader,
-                (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + "$$OwbInterceptProxy");
+        String proxyClassNamePrefix
+                = (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + "$$OwbInterceptProxy";
 
 
-        Class<T> clazz = createProxyClass(classLoader, proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods);
+        Class<T> clazz = createOrLoadProxyClass(classLoader, proxyClassNamePrefix, classToProxy, interceptedMethods, nonInterceptedMethods);
 
         try
         {
@@ -226,9 +238,201 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
             throw new ProxyGenerationException(e);
         }
 
+        if (generateMethodInvokers && interceptedMethods != null && interceptedMethods.length > 0)
+        {
+            methodInvokers.put(clazz, createMethodInvoker(classLoader, classToProxy, interceptedMethods));
+        }
+
         return clazz;
     }
 
+    /**
+     * @param proxyClass the proxy class created by this factory
+     * @return the generated method invoker for the given proxy class
+     *         or {@code null} if {@link org.apache.webbeans.config.OpenWebBeansConfiguration#GENERATE_METHOD_INVOKERS} is disabled.
+     */
+    public InterceptedMethodInvoker getMethodInvoker(Class<?> proxyClass)
+    {
+        if (proxyClass == null)
+        {
+            return null;
+        }
+        return methodInvokers.get(proxyClass);
+    }
+
+    /**
+     * Generate a subclass of {@link InterceptedMethodInvoker} which directly invokes
+     * all the given methods which are accessible from the generated class.
+     */
+    private InterceptedMethodInvoker createMethodInvoker(ClassLoader classLoader, Class<?> classToProxy, Method[] interceptedMethods)
+            throws ProxyGenerationException
+    {
+        boolean signed = classToProxy.getSigners() != null;
+        String invokerClassName = getUnusedProxyClassName(
+                classLoader,
+                (signed ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + "$$OwbMethodInvoker");
+
+        // package private and protected methods are only accessible from within the same runtime package
+        boolean samePackage = !signed
+                && !hasDefiningClassService()
+                && classToProxy.getClassLoader() == classLoader
+                && invokerClassName.startsWith(classToProxy.getName());
+
+        Map<Method, Integer> methodIndexes = new HashMap<>();
+        List<Method> directMethods = new ArrayList<>();
+        for (Method method : interceptedMethods)
+        {
+            if (!methodIndexes.containsKey(method) && isDirectlyInvokable(method, classToProxy, samePackage))
+            {
+                methodIndexes.put(method, directMethods.size());
+                directMethods.add(method);
+            }
+        }
+
+        byte[] invokerBytes = generateMethodInvoker(invokerClassName.replace('.', '/'), classToProxy, directMethods);
+        Class<InterceptedMethodInvoker> invokerClass = defineAndLoadClass(classLoader, invokerClassName, invokerBytes, classToProxy);
+
+        try
+        {
+            InterceptedMethodInvoker invoker = invokerClass.newInstance();
+            invoker.setMethodIndexes(methodIndexes);
+            return invoker;
+        }
+        catch (Exception e)
+        {
+            throw new ProxyGenerationException(e);
+        }
+    }
+
+    private boolean isDirectlyInvokable(Method method, Class<?> classToProxy, boolean samePackage)
+    {
+        int modifiers = method.getModifiers();
+        if (unproxyableMethod(method) || Modifier.isAbstract(modifiers) && !classToProxy.isInterface())
+        {
+            return false;
+        }
+        if (classToProxy.isInterface() && method.getDeclaringClass() == Object.class)
+        {
+            return false;
+        }
+        if (!Modifier.isPublic(classToProxy.getModifiers()) && !samePackage)
+        {
+            return false;
+        }
+        if (Modifier.isPublic(modifiers))
+        {
+            return true;
+        }
+
+        // protected and package private methods
+        return samePackage
+                && method.getDeclaringClass().getClassLoader() == classToProxy.getClassLoader()
+                && getPackageName(method.getDeclaringClass()).equals(getPackageName(classToProxy));
+    }
+
+    private static String getPackageName(Class<?> clazz)
+    {
+        String className = clazz.getName();
+        int lastDot = className.lastIndexOf('.');
+        return lastDot > 0 ? className.substring(0, lastDot) : "";
+    }
+
+    /**
+     * The generated {@link InterceptedMethodInvoker#invoke(int, Object, Object[])} looks like:
+     * <pre>
+     * switch (methodIndex)
+     * {
+     *     case 0: return ((ClassToProxy) target).method0((String) parameters[0], ((Integer) parameters[1]).intValue());
+     *     case 1: ((ClassToProxy) target).method1(); return null;
+     *     default: throw new IllegalArgumentException();
+     * }
+     * </pre>
+     */
+    private byte[] generateMethodInvoker(String invokerClassFileName, Class<?> classToProxy, List<Method> methods)
+    {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        String superClassName = Type.getInternalName(InterceptedMethodInvoker.class);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC + Opcodes.ACC_SUPER + Opcodes.ACC_SYNTHETIC, invokerClassFileName, null, superClassName, null);
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, superClassName, "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "invoke", "(ILjava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;",
+                null, new String[]{Type.getInternalName(Exception.class)});
+        mv.visitCode();
+
+        Label defaultLabel = new Label();
+        if (!methods.isEmpty())
+        {
+            Label[] labels = new Label[methods.size()];
+            for (int i = 0; i < labels.length; i++)
+            {
+                labels[i] = new Label();
+            }
+
+            mv.visitVarInsn(Opcodes.ILOAD, 1);
+            mv.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
+
+            String ownerName = Type.getInternalName(classToProxy);
+            boolean isItf = classToProxy.isInterface();
+            for (int i = 0; i < labels.length; i++)
+            {
+                Method method = methods.get(i);
+                mv.visitLabel(labels[i]);
+
+                mv.visitVarInsn(Opcodes.ALOAD, 2);
+                mv.visitTypeInsn(Opcodes.CHECKCAST, ownerName);
+
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                for (int j = 0; j < parameterTypes.length; j++)
+                {
+                    mv.visitVarInsn(Opcodes.ALOAD, 3);
+                    pushIntOntoStack(mv, j);
+                    mv.visitInsn(Opcodes.AALOAD);
+                    mv.visitTypeInsn(Opcodes.CHECKCAST, getCastType(parameterTypes[j]));
+                    if (parameterTypes[j].isPrimitive())
+                    {
+                        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, getWrapperType(parameterTypes[j]), getPrimitiveMethod(parameterTypes[j]),
+                                "()" + Type.getDescriptor(parameterTypes[j]), false);
+                    }
+                }
+
+                mv.visitMethodInsn(isItf ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL,
+                        ownerName, method.getName(), Type.getMethodDescriptor(method), isItf);
+
+                Class<?> returnType = method.getReturnType();
+                if (Void.TYPE.equals(returnType))
+                {
+                    mv.visitInsn(Opcodes.ACONST_NULL);
+                }
+                else if (returnType.isPrimitive())
+                {
+                    String wrapperType = getWrapperType(returnType);
+                    mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapperType, "valueOf",
+                            "(" + Type.getDescriptor(returnType) + ")L" + wrapperType + ";", false);
+                }
+                mv.visitInsn(Opcodes.ARETURN);
+            }
+        }
+
+        mv.visitLabel(defaultLabel);
+        mv.visitTypeInsn(Opcodes.NEW, Type.getInternalName(IllegalArgumentException.class));
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(IllegalArgumentException.class), "<init>", "()V", false);
+        mv.visitInsn(Opcodes.ATHROW);
+
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
     public <T> Class<T> getCachedProxyClass(InterceptorResolutionService.BeanInterceptorInfo interceptorInfo,
                                             AnnotatedType<T> at, ClassLoader classLoader)
     {
@@ -461,43 +665,11 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
 
         // push try code
         mv.visitLabel(l0);
-        String classNameToOverride = method.getDeclaringClass().getName().replace('.', '/');
-        mv.visitLdcInsn(Type.getType("L" + classNameToOverride + ";"));
-
-        // the following code generates the bytecode for this line of Java:
-        // Method method = <proxy>.class.getMethod("add", new Class[] { <array of function argument classes> });
-
-        // get the method name to invoke, and push to stack
-        mv.visitLdcInsn(method.getName());
-
-        // create the Class[]
-        createArrayDefinition(mv, parameterTypes.length, Class.class);
 
+        // calculate the local variable slot for the caught exception
         int length = 1;
-
-        // push parameters into array
-        for (int i = 0; i < parameterTypes.length; i++)
+        for (Class<?> parameterType : parameterTypes)
         {
-            // keep copy of array on stack
-            mv.visitInsn(Opcodes.DUP);
-
-            Class<?> parameterType = parameterTypes[i];
-
-            // push number onto stack
-            pushIntOntoStack(mv, i);
-
-            if (parameterType.isPrimitive())
-            {
-                String wrapperType = getWrapperType(parameterType);
-                mv.visitFieldInsn(Opcodes.GETSTATIC, wrapperType, "TYPE", "Ljava/lang/Class;");
-            }
-            else
-            {
-                mv.visitLdcInsn(Type.getType(parameterType));
-            }
-
-            mv.visitInsn(Opcodes.AASTORE);
-
             if (Long.TYPE.equals(parameterType) || Double.TYPE.equals(parameterType))
             {
                 length += 2;
@@ -232,9 +232,8 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
     public <T> Class<T> createProxyClass(ClassLoader classLoader, Class<T> classToProxy)
             throws ProxyGenerationException
     {
-        String proxyClassName = getUnusedProxyClassName(
-                classLoader,
-                (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + "$$OwbNormalScopeProxy");
+        String proxyClassNamePrefix
+                = (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + "$$OwbNormalScopeProxy";
 
         Method[] nonInterceptedMethods;
         Method[] interceptedMethods = null;
@@ -268,7 +267,7 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
             interceptedMethods = protectedMethods.toArray(new Method[protectedMethods.size()]);
         }
 
-        Class<T> clazz = createProxyClass(classLoader, proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods);
+        Class<T> clazz = createOrLoadProxyClass(classLoader, proxyClassNamePrefix, classToProxy, interceptedMethods, nonInterceptedMethods);
 
         if (interceptedMethods != null && interceptedMethods.length > 0)
         {
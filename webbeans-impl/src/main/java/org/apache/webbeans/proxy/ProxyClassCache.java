@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.xbean.asm7.ClassReader;
+
+/**
+ * Stores the bytecode of generated proxy classes in a directory, so they
+ * don't need to get generated again on the next start.
+ *
+ * Each entry is keyed by a SHA-256 hash over the bytecode of the proxy factory,
+ * the OpenWebBeans version, the name of the proxy class, the proxied methods and the
+ * bytecode of all classes declaring them. Whenever one of them changes the key changes
+ * as well, so an outdated entry never gets used again.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#PROXY_CACHE_DIRECTORY
+ */
+class ProxyClassCache
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ProxyClassCache.class);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path directory;
+
+    /**
+     * Hash of everything which influences the generated bytecode apart from the proxied class itself.
+     */
+    private final byte[] generatorFingerprint;
+
+    ProxyClassCache(Path directory, Class<? extends AbstractProxyFactory> factoryClass, int javaVersion)
+    {
+        this.directory = directory;
+        try
+        {
+            Files.createDirectories(directory);
+        }
+        catch (IOException e)
+        {
+            throw new WebBeansConfigurationException("Cannot create the proxy cache directory " + directory, e);
+        }
+
+        MessageDigest digest = newDigest();
+        update(digest, String.valueOf(AbstractProxyFactory.class.getPackage().getImplementationVersion()));
+        update(digest, Integer.toString(javaVersion));
+        for (Class<?> generator = factoryClass; generator != Object.class; generator = generator.getSuperclass())
+        {
+            byte[] bytecode = readBytecode(generator);
+            if (bytecode == null)
+            {
+                throw new WebBeansConfigurationException("Cannot read the bytecode of " + generator.getName()
+                        + ", the proxy cache cannot be used");
+            }
+            digest.update(bytecode);
+        }
+        generatorFingerprint = digest.digest();
+    }
+
+    /**
+     * @return the key of the proxy class or {@code null} if it must not get cached,
+     *         e.g. because the bytecode of a proxied class is not available.
+     */
+    String getKey(String proxyClassName, Class<?> classToProxy, Method[] interceptedMethods, Method[] nonInterceptedMethods)
+    {
+        MessageDigest digest = newDigest();
+        digest.update(generatorFingerprint);
+        update(digest, proxyClassName);
+
+        if (!updateProxiedClasses(digest, classToProxy, interceptedMethods, nonInterceptedMethods))
+        {
+            return null;
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Adds the proxied methods, split by whether they are intercepted, and the bytecode of
+     * all classes declaring them to the given digest.
+     *
+     * @return {@code false} if the bytecode of one of the classes is not available
+     */
+    static boolean updateProxiedClasses(MessageDigest digest, Class<?> classToProxy,
+                                        Method[] interceptedMethods, Method[] nonInterceptedMethods)
+    {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        classes.add(classToProxy);
+        update(digest, "|i:");
+        addMethods(digest, classes, interceptedMethods);
+        update(digest, "|n:");
+        addMethods(digest, classes, nonInterceptedMethods);
+
+        for (Class<?> clazz : classes)
+        {
+            if (clazz.getClassLoader() == null)
+            {
+                // JDK classes only change together with the JVM
+                update(digest, clazz.getName() + "@" + System.getProperty("java.version"));
+                continue;
+            }
+
+            byte[] bytecode = readBytecode(clazz);
+            if (bytecode == null)
+            {
+                return false;
+            }
+            digest.update(bytecode);
+        }
+        return true;
+    }
+
+    /**
+     * @return the cached bytecode of the proxy class or {@code null} if there is no valid entry
+     */
+    byte[] load(String key, String proxyClassName)
+    {
+        Path file = getFile(key);
+        if (!Files.isRegularFile(file))
+        {
+            return null;
+        }
+
+        try
+        {
+            byte[] bytecode = Files.readAllBytes(file);
+            if (proxyClassName.replace('.', '/').equals(new ClassReader(bytecode).getClassName()))
+            {
+                return bytecode;
+            }
+            logger.warning("Proxy cache entry " + file + " does not contain " + proxyClassName + ", dropping it");
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.log(Level.WARNING, "Cannot read proxy cache entry " + file + ", dropping it", e);
+        }
+
+        remove(key);
+        return null;
+    }
+
+    /**
+     * Stores the bytecode of a proxy class. The entry gets written to a temporary file first
+     * and then gets moved into place, so concurrent readers never see a partially written entry.
+     */
+    void store(String key, byte[] bytecode)
+    {
+        Path file = getFile(key);
+        Path tempFile = null;
+        try
+        {
+            tempFile = Files.createTempFile(directory, key, ".tmp");
+            Files.write(tempFile, bytecode);
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.log(Level.WARNING, "Cannot write proxy cache entry " + file, e);
+            if (tempFile != null)
+            {
+                try
+                {
+                    Files.deleteIfExists(tempFile);
+                }
+                catch (IOException ignored)
+                {
+                    // nothing we can do about it
+                }
+            }
+        }
+    }
+
+    void remove(String key)
+    {
+        try
+        {
+            Files.deleteIfExists(getFile(key));
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Cannot remove proxy cache entry " + getFile(key), e);
+        }
+    }
+
+    Path getFile(String key)
+    {
+        return directory.resolve(key + ".class");
+    }
+
+    private static void addMethods(MessageDigest digest, Set<Class<?>> classes, Method[] methods)
+    {
+        if (methods != null)
+        {
+            for (Method method : methods)
+            {
+                update(digest, method.toString());
+                update(digest, ";");
+                classes.add(method.getDeclaringClass());
+            }
+        }
+    }
+
+    private static byte[] readBytecode(Class<?> clazz)
+    {
+        ClassLoader classLoader = clazz.getClassLoader();
+        if (classLoader == null)
+        {
+            classLoader = ClassLoader.getSystemClassLoader();
+        }
+
+        try (InputStream stream = classLoader.getResourceAsStream(clazz.getName().replace('.', '/') + ".class"))
+        {
+            if (stream == null)
+            {
+                return null;
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = stream.read(buffer)) != -1)
+            {
+                bytes.write(buffer, 0, read);
+            }
+            return bytes.toByteArray();
+        }
+        catch (IOException e)
+        {
+            return null;
+        }
+    }
+
+    static MessageDigest newDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void update(MessageDigest digest, String value)
+    {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String toHex(byte[] bytes)
+    {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++)
+        {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.lifecycle.StandaloneLifeCycle;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.ContainerLifecycle;
+
+/**
+ * Generates the proxy classes of an application at build time.
+ *
+ * The container gets booted with the thread context ClassLoader, which must contain the
+ * application classes and openwebbeans-impl. All normal-scope and interceptor/decorator proxies
+ * get generated with their deterministic name and written to the given output directory,
+ * together with the {@link AbstractProxyFactory#PREGENERATED_PROXIES_RESOURCE} index.
+ * Only proxies for classes which are located in one of the classes directories get written.
+ * By default that is the output directory itself.
+ *
+ * At runtime the proxy factories will load those classes instead of generating them again.
+ * This class gets used by the openwebbeans-maven-plugin and openwebbeans-gradle build integration.
+ */
+public class ProxyPregenerator
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ProxyPregenerator.class);
+
+    private static final String SIGNED_PROXY_PACKAGE = "org.apache.webbeans.custom.signed.";
+
+    private final File outputDirectory;
+    private final List<File> classesDirectories;
+
+    /**
+     * @param outputDirectory the directory of the compiled application classes
+     */
+    public ProxyPregenerator(File outputDirectory)
+    {
+        this(outputDirectory, Collections.singletonList(outputDirectory));
+    }
+
+    /**
+     * @param outputDirectory the directory to write the proxy classes to
+     * @param classesDirectories the directories of the compiled application classes
+     */
+    public ProxyPregenerator(File outputDirectory, List<File> classesDirectories)
+    {
+        this.outputDirectory = outputDirectory;
+        this.classesDirectories = classesDirectories;
+    }
+
+    /**
+     * @param args the output directory, optionally followed by the directories of the compiled application classes.
+     *             Without them the output directory must be the directory of the compiled application classes.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 1)
+        {
+            throw new IllegalArgumentException("Usage: ProxyPregenerator <outputDirectory> [classesDirectory...]");
+        }
+        File outputDirectory = new File(args[0]);
+        if (args.length == 1)
+        {
+            new ProxyPregenerator(outputDirectory).generate();
+            return;
+        }
+
+        List<File> classesDirectories = new ArrayList<>();
+        for (int i = 1; i < args.length; i++)
+        {
+            classesDirectories.add(new File(args[i]));
+        }
+        new ProxyPregenerator(outputDirectory, classesDirectories).generate();
+    }
+
+    /**
+     * Boot the container, generate all proxies and write them to the output directory.
+     * @return the number of written proxy classes
+     */
+    public int generate() throws IOException
+    {
+        WebBeansContext webBeansContext = WebBeansContext.getInstance();
+        webBeansContext.getNormalScopeProxyFactory().recordProxyClasses();
+        webBeansContext.getInterceptorDecoratorProxyFactory().recordProxyClasses();
+
+        ContainerLifecycle lifecycle = new StandaloneLifeCycle();
+        lifecycle.startApplication(null);
+        try
+        {
+            createNormalScopeProxies(webBeansContext);
+
+            Map<String, byte[]> proxyClasses = new TreeMap<>();
+            proxyClasses.putAll(webBeansContext.getNormalScopeProxyFactory().getRecordedProxyClasses());
+            proxyClasses.putAll(webBeansContext.getInterceptorDecoratorProxyFactory().getRecordedProxyClasses());
+            return write(proxyClasses);
+        }
+        finally
+        {
+            lifecycle.stopApplication(null);
+        }
+    }
+
+    /**
+     * Normal-scope proxies usually only get created on first usage, so we enforce it.
+     */
+    private void createNormalScopeProxies(WebBeansContext webBeansContext)
+    {
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        for (Bean<?> bean : beanManager.getBeans())
+        {
+            if (beanManager.isNormalScope(bean.getScope()))
+            {
+                try
+                {
+                    webBeansContext.getNormalScopeProxyFactory().createNormalScopeProxy(bean);
+                }
+                catch (RuntimeException e)
+                {
+                    logger.log(Level.FINE, "Skipping normal-scope proxy for bean " + bean, e);
+                }
+            }
+        }
+    }
+
+    private int write(Map<String, byte[]> proxyClasses) throws IOException
+    {
+        StringBuilder index = new StringBuilder();
+        int written = 0;
+        for (Map.Entry<String, byte[]> proxyClass : proxyClasses.entrySet())
+        {
+            String proxyClassName = proxyClass.getKey();
+            if (!isApplicationClass(getProxiedClassName(proxyClassName)))
+            {
+                // the proxied class is not part of this artifact,
+                // the proxy would end up in another runtime package than the proxied class
+                continue;
+            }
+
+            File classFile = new File(outputDirectory, proxyClassName.replace('.', '/') + ".class");
+            Files.createDirectories(classFile.getParentFile().toPath());
+            try (OutputStream out = Files.newOutputStream(classFile.toPath()))
+            {
+                out.write(proxyClass.getValue());
+            }
+            index.append(proxyClassName).append('\n');
+            written++;
+        }
+
+        File indexFile = new File(outputDirectory, AbstractProxyFactory.PREGENERATED_PROXIES_RESOURCE);
+        Files.createDirectories(indexFile.getParentFile().toPath());
+        try (Writer writer = Files.newBufferedWriter(indexFile.toPath(), StandardCharsets.UTF_8))
+        {
+            writer.write(index.toString());
+        }
+
+        logger.info("Generated " + written + " proxy classes into " + outputDirectory);
+        return written;
+    }
+
+    private String getProxiedClassName(String proxyClassName)
+    {
+        String proxiedClassName = proxyClassName.substring(0, proxyClassName.indexOf(AbstractProxyFactory.GENERATED_CLASS_NAME_MARKER));
+        if (proxiedClassName.startsWith(SIGNED_PROXY_PACKAGE))
+        {
+            proxiedClassName = proxiedClassName.substring(SIGNED_PROXY_PACKAGE.length());
+        }
+        return proxiedClassName;
+    }
+
+    private boolean isApplicationClass(String className)
+    {
+        String classFile = className.replace('.', '/') + ".class";
+        for (File classesDirectory : classesDirectories)
+        {
+            if (new File(classesDirectory, classFile).isFile())
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
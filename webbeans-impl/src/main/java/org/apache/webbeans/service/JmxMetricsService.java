@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.service;
+
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.MetricsService;
+
+/**
+ * Default {@link MetricsService} which exposes all metrics as attributes of a single MBean.
+ * Each counter and gauge is one attribute, each timer contributes the attributes
+ * {@code <name>.count}, {@code <name>.totalNanos} and {@code <name>.maxNanos}.
+ *
+ * The MBean gets registered as {@code org.apache.webbeans:type=Metrics,context=<id>}
+ * unless an ObjectName is configured via {@code org.apache.webbeans.service.JmxMetricsService.objectName}.
+ * It gets unregistered when the WebBeansContext gets cleared.
+ */
+public class JmxMetricsService implements MetricsService, DynamicMBean, Closeable
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(JmxMetricsService.class);
+
+    private final Map<String, CounterImpl> counters = new ConcurrentHashMap<>();
+    private final Map<String, TimerImpl> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    private final ObjectName objectName;
+
+    public JmxMetricsService(WebBeansContext webBeansContext)
+    {
+        String name = webBeansContext.getOpenWebBeansConfiguration().getProperty(JmxMetricsService.class.getName() + ".objectName");
+        if (name == null)
+        {
+            name = "org.apache.webbeans:type=Metrics,context=" + Integer.toHexString(System.identityHashCode(webBeansContext));
+        }
+        objectName = register(name);
+    }
+
+    public ObjectName getObjectName()
+    {
+        return objectName;
+    }
+
+    @Override
+    public Counter counter(String name)
+    {
+        return counters.computeIfAbsent(name, n -> new CounterImpl());
+    }
+
+    @Override
+    public Timer timer(String name)
+    {
+        return timers.computeIfAbsent(name, n -> new TimerImpl());
+    }
+
+    @Override
+    public void gauge(String name, LongSupplier value)
+    {
+        gauges.put(name, value);
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException
+    {
+        Long value = snapshot().get(attribute);
+        if (value == null)
+        {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes)
+    {
+        Map<String, Long> snapshot = snapshot();
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes)
+        {
+            Long value = snapshot.get(attribute);
+            if (value != null)
+            {
+                list.add(new Attribute(attribute, value));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException
+    {
+        throw new AttributeNotFoundException("Metrics are read only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes)
+    {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException
+    {
+        // there are no operations
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo()
+    {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (String name : snapshot().keySet())
+        {
+            attributes.add(new MBeanAttributeInfo(name, Long.class.getName(), name, true, false, false));
+        }
+        return new MBeanInfo(JmxMetricsService.class.getName(), "OpenWebBeans metrics",
+                attributes.toArray(new MBeanAttributeInfo[attributes.size()]), null, null, null);
+    }
+
+    @Override
+    public void close()
+    {
+        if (objectName == null)
+        {
+            return;
+        }
+        try
+        {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName))
+            {
+                server.unregisterMBean(objectName);
+            }
+        }
+        catch (JMException e)
+        {
+            logger.log(Level.WARNING, "Unable to unregister " + objectName, e);
+        }
+    }
+
+    private ObjectName register(String name)
+    {
+        try
+        {
+            ObjectName on = new ObjectName(name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, on);
+            return on;
+        }
+        catch (JMException e)
+        {
+            // metrics are still collected, they are just not visible via JMX
+            logger.log(Level.WARNING, "Unable to register the metrics MBean " + name, e);
+            return null;
+        }
+    }
+
+    private Map<String, Long> snapshot()
+    {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.value.sum()));
+        timers.forEach((name, timer) ->
+        {
+            values.put(name + ".count", timer.count.sum());
+            values.put(name + ".totalNanos", timer.total.sum());
+            values.put(name + ".maxNanos", timer.max.get());
+        });
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    private static final class CounterImpl implements Counter
+    {
+        private final LongAdder value = new LongAdder();
+
+        @Override
+        public void increment()
+        {
+            value.increment();
+        }
+
+        @Override
+        public void decrement()
+        {
+            value.decrement();
+        }
+
+        @Override
+        public void add(long delta)
+        {
+            value.add(delta);
+        }
+    }
+
+    private static final class TimerImpl implements Timer
+    {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        @Override
+        public void record(long nanos)
+        {
+            count.increment();
+            total.add(nanos);
+            if (nanos > max.get())
+            {
+                max.accumulateAndGet(nanos, Math::max);
+            }
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
@@ -277,6 +278,40 @@ public final class AnnotationUtil
         return hashCode;
     }
 
+    /**
+     * Return all members of the cdi annotation which are not annotated with {@link Nonbinding},
+     * ordered by their name.
+     *
+     * @param annotationType the type of the cdi annotation
+     * @param at the model of the annotation if it got registered as {@link AnnotatedType}, {@code null} otherwise
+     * @return the binding members of the annotation
+     */
+    public static Method[] getBindingCdiAnnotationMembers(Class<? extends Annotation> annotationType, AnnotatedType<?> at)
+    {
+        List<Method> bindingMethods = at == null ? getBindingCdiAnnotationMethods(annotationType) : getBindingCdiAnnotationMethods(at);
+        Method[] members = bindingMethods.toArray(new Method[bindingMethods.size()]);
+        Arrays.sort(members, Comparator.comparing(Method::getName));
+        return members;
+    }
+
+    /**
+     * @return the values of the given members of the annotation, in the same order
+     */
+    public static Object[] getMemberValues(Annotation annotation, Method[] members)
+    {
+        if (members.length == 0)
+        {
+            return EMPTY_OBJECT_ARRAY;
+        }
+
+        Object[] values = new Object[members.length];
+        for (int i = 0; i < members.length; i++)
+        {
+            values[i] = callMethod(annotation, members[i]);
+        }
+        return values;
+    }
+
     /**
      * Quecks if the two values are equal.
      *
@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.util;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.MetricsService;
+
+/**
+ * Remembers the results of the generic type checks of {@link GenericsUtil}.
+ * The same pairs of required type and bean type get checked over and over again
+ * during the deployment, for each candidate bean, observer method and decorator.
+ *
+ * Types are compared by their equals method, which is structural for the JVM and
+ * the OpenWebBeans implementations of {@link java.lang.reflect.ParameterizedType},
+ * {@link java.lang.reflect.WildcardType}, {@link java.lang.reflect.GenericArrayType}
+ * and {@link java.lang.reflect.TypeVariable}.
+ *
+ * Both caches are bounded and simply get cleared once they are full.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#GENERICS_CACHE_SIZE
+ */
+public class GenericsCache
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(GenericsCache.class);
+
+    private static final int SATISFIES_DEPENDENCY = 0;
+    private static final int SATISFIES_DEPENDENCY_RAW = 1;
+    private static final int IS_ASSIGNABLE_FROM = 2;
+
+    private final int maxSize;
+
+    private final Map<AssignabilityKey, Boolean> assignability = new ConcurrentHashMap<>();
+    private final Map<AssignabilityKey, Set<Type>> typeClosures = new ConcurrentHashMap<>();
+
+    private final LongAdder assignabilityHits = new LongAdder();
+    private final LongAdder assignabilityMisses = new LongAdder();
+    private final LongAdder typeClosureHits = new LongAdder();
+    private final LongAdder typeClosureMisses = new LongAdder();
+
+    public GenericsCache(WebBeansContext webBeansContext)
+    {
+        maxSize = webBeansContext.getOpenWebBeansConfiguration().getGenericsCacheSize();
+
+        MetricsService metricsService = webBeansContext.getMetricsService();
+        if (metricsService != null)
+        {
+            metricsService.gauge("generics.assignability.hits", assignabilityHits::sum);
+            metricsService.gauge("generics.assignability.misses", assignabilityMisses::sum);
+            metricsService.gauge("generics.typeClosure.hits", typeClosureHits::sum);
+            metricsService.gauge("generics.typeClosure.misses", typeClosureMisses::sum);
+        }
+    }
+
+    /**
+     * @see GenericsUtil#satisfiesDependency(boolean, boolean, Type, Type, Map)
+     */
+    public boolean satisfiesDependency(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType)
+    {
+        AssignabilityKey key = new AssignabilityKey(SATISFIES_DEPENDENCY, isDelegateOrEvent, isProducer, injectionPointType, beanType);
+        Boolean result = getAssignability(key);
+        if (result == null)
+        {
+            result = GenericsUtil.satisfiesDependency(isDelegateOrEvent, isProducer, injectionPointType, beanType, new HashMap<>());
+            putAssignability(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @see GenericsUtil#satisfiesDependencyRaw(boolean, boolean, Type, Type, Map)
+     */
+    public boolean satisfiesDependencyRaw(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType)
+    {
+        AssignabilityKey key = new AssignabilityKey(SATISFIES_DEPENDENCY_RAW, isDelegateOrEvent, isProducer, injectionPointType, beanType);
+        Boolean result = getAssignability(key);
+        if (result == null)
+        {
+            result = GenericsUtil.satisfiesDependencyRaw(isDelegateOrEvent, isProducer, injectionPointType, beanType, new HashMap<>());
+            putAssignability(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @see GenericsUtil#isAssignableFrom(boolean, boolean, Type, Type, Map)
+     */
+    public boolean isAssignableFrom(boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType)
+    {
+        AssignabilityKey key = new AssignabilityKey(IS_ASSIGNABLE_FROM, isDelegateOrEvent, isProducer, requiredType, beanType);
+        Boolean result = getAssignability(key);
+        if (result == null)
+        {
+            result = GenericsUtil.isAssignableFrom(isDelegateOrEvent, isProducer, requiredType, beanType, new HashMap<>());
+            putAssignability(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return a modifiable copy of the type closure
+     * @see GenericsUtil#getTypeClosure(Type, Type)
+     */
+    public Set<Type> getTypeClosure(Type type, Type actualType)
+    {
+        if (maxSize <= 0)
+        {
+            return GenericsUtil.getTypeClosure(type, actualType);
+        }
+
+        AssignabilityKey key = new AssignabilityKey(0, false, false, type, actualType);
+        Set<Type> typeClosure = typeClosures.get(key);
+        if (typeClosure != null)
+        {
+            typeClosureHits.increment();
+        }
+        else
+        {
+            typeClosureMisses.increment();
+            typeClosure = Collections.unmodifiableSet(GenericsUtil.getTypeClosure(type, actualType));
+            if (typeClosures.size() >= maxSize)
+            {
+                typeClosures.clear();
+            }
+            typeClosures.put(key, typeClosure);
+        }
+        return new HashSet<>(typeClosure);
+    }
+
+    /**
+     * Log the hit rates of the caches.
+     *
+     * @param phase when the statistics got taken, e.g. after the deployment
+     */
+    public void logStatistics(String phase)
+    {
+        if (logger.isLoggable(Level.FINE))
+        {
+            long assignabilityChecks = assignabilityHits.sum() + assignabilityMisses.sum();
+            long typeClosureChecks = typeClosureHits.sum() + typeClosureMisses.sum();
+            logger.log(Level.FINE, "DEBUG_GENERICS_CACHE_STATISTICS", new Object[]{phase,
+                assignabilityChecks, percentage(assignabilityHits.sum(), assignabilityChecks),
+                typeClosureChecks, percentage(typeClosureHits.sum(), typeClosureChecks)});
+        }
+    }
+
+    public long getAssignabilityHits()
+    {
+        return assignabilityHits.sum();
+    }
+
+    public long getTypeClosureHits()
+    {
+        return typeClosureHits.sum();
+    }
+
+    public void clear()
+    {
+        assignability.clear();
+        typeClosures.clear();
+    }
+
+    private Boolean getAssignability(AssignabilityKey key)
+    {
+        if (maxSize <= 0)
+        {
+            return null;
+        }
+
+        Boolean result = assignability.get(key);
+        if (result != null)
+        {
+            assignabilityHits.increment();
+        }
+        else
+        {
+            assignabilityMisses.increment();
+        }
+        return result;
+    }
+
+    private void putAssignability(AssignabilityKey key, Boolean result)
+    {
+        if (maxSize <= 0)
+        {
+            return;
+        }
+
+        if (assignability.size() >= maxSize)
+        {
+            assignability.clear();
+        }
+        assignability.put(key, result);
+    }
+
+    private static long percentage(long hits, long total)
+    {
+        return total == 0 ? 0 : hits * 100 / total;
+    }
+
+    private static final class AssignabilityKey
+    {
+        private final int kind;
+        private final Type required;
+        private final Type actual;
+        private final int hashCode;
+
+        private AssignabilityKey(int check, boolean isDelegateOrEvent, boolean isProducer, Type required, Type actual)
+        {
+            kind = check << 2 | (isDelegateOrEvent ? 2 : 0) | (isProducer ? 1 : 0);
+            this.required = required;
+            this.actual = actual;
+            hashCode = 31 * (31 * kind + required.hashCode()) + actual.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof AssignabilityKey))
+            {
+                return false;
+            }
+
+            AssignabilityKey other = (AssignabilityKey) o;
+            return hashCode == other.hashCode
+                && kind == other.kind
+                && (required == other.required || required.equals(other.required))
+                && (actual == other.actual || actual.equals(other.actual));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+}
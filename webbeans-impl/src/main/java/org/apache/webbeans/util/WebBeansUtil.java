@@ -786,7 +786,10 @@ public final class WebBeansUtil
     public GProcessInjectionPoint fireProcessInjectionPointEvent(InjectionPoint injectionPoint)
     {
         GProcessInjectionPoint event = new GProcessInjectionPoint(injectionPoint);
-        webBeansContext.getBeanManagerImpl().fireEvent(event, true, AnnotationUtil.EMPTY_ANNOTATION_ARRAY);
+        if (webBeansContext.getNotificationManager().hasExtensionObserver(GProcessInjectionPoint.class))
+        {
+            webBeansContext.getBeanManagerImpl().fireEvent(event, true, AnnotationUtil.EMPTY_ANNOTATION_ARRAY);
+        }
         return event;
     }
 
@@ -804,7 +807,10 @@ public final class WebBeansUtil
     private GProcessInjectionTarget fireProcessInjectionTargetEvent(GProcessInjectionTarget processInjectionTargetEvent)
     {
         //Fires ProcessInjectionTarget
-        webBeansContext.getBeanManagerImpl().fireEvent(processInjectionTargetEvent, true, AnnotationUtil.EMPTY_ANNOTATION_ARRAY);
+        if (webBeansContext.getNotificationManager().hasExtensionObserver(GProcessInjectionTarget.class))
+        {
+            webBeansContext.getBeanManagerImpl().fireEvent(processInjectionTargetEvent, true, AnnotationUtil.EMPTY_ANNOTATION_ARRAY);
+        }
         return processInjectionTargetEvent;
     }
 
@@ -828,7 +834,10 @@ public final class WebBeansUtil
     {
         GProcessProducer processProducerEvent = new GProcessProducer(producer, annotatedMember);
         //Fires ProcessProducer
-        webBeansContext.getBeanManagerImpl().fireEvent(processProducerEvent, true, AnnotationUtil.EMPTY_ANNOTATION_ARRAY);
+        if (webBeansContext.getNotificationManager().hasExtensionObserver(GProcessProducer.class))
+        {
+            webBeansContext.getBeanManagerImpl().fireEvent(processProducerEvent, true, AnnotationUtil.EMPTY_ANNOTATION_ARRAY);
+        }
         webBeansContext.getWebBeansUtil().inspectDefinitionErrorStack("There are errors that are added by ProcessProducer event observers. Look at logs for further details");
         Producer prod = processProducerEvent.getProducer();
         processProducerEvent.setStarted();
@@ -1676,6 +1685,12 @@ public final class WebBeansUtil
     {
         // we don't use bm stack since it is actually quite useless
         ProcessBeanAttributesImpl event = new GProcessBeanAttributes(webBeansContext, type, annotatedType, ba);
+        if (!webBeansContext.getNotificationManager().hasExtensionObserver(GProcessBeanAttributes.class))
+        {
+            event.setStarted();
+            return event;
+        }
+
         try
         {
             webBeansContext.getBeanManagerImpl().fireEvent(event, true, AnnotationUtil.EMPTY_ANNOTATION_ARRAY);
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.config;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class DeploymentExecutorTest
+{
+    @Test
+    public void testSequential()
+    {
+        try (DeploymentExecutor executor = new DeploymentExecutor(1))
+        {
+            assertFalse(executor.isParallel());
+            assertEquals(asList(2, 4, 6), executor.map(asList(1, 2, 3), i -> i * 2));
+        }
+    }
+
+    @Test
+    public void testResultsInOrder()
+    {
+        List<Integer> items = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        try (DeploymentExecutor executor = new DeploymentExecutor(4))
+        {
+            assertTrue(executor.isParallel());
+            List<String> results = executor.map(items, String::valueOf);
+            assertEquals(items.stream().map(String::valueOf).collect(Collectors.toList()), results);
+        }
+    }
+
+    @Test
+    public void testFirstFailureWins()
+    {
+        List<Integer> items = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        try (DeploymentExecutor executor = new DeploymentExecutor(4))
+        {
+            for (int run = 0; run < 10; run++)
+            {
+                try
+                {
+                    executor.forEach(items, i ->
+                    {
+                        if (i % 100 == 42)
+                        {
+                            throw new IllegalStateException("failed " + i);
+                        }
+                    });
+                    fail("the failure must get thrown");
+                }
+                catch (IllegalStateException e)
+                {
+                    assertEquals("failed 42", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testContextClassLoader()
+    {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        try (DeploymentExecutor executor = new DeploymentExecutor(4))
+        {
+            List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+            for (ClassLoader workerLoader : executor.map(items, i -> Thread.currentThread().getContextClassLoader()))
+            {
+                assertSame(loader, workerLoader);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.annotation.binding;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.util.AnnotationLiteral;
+
+import org.apache.webbeans.annotation.AnnotationManager;
+import org.apache.webbeans.annotation.QualifierKey;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that equivalent qualifiers share one interned {@link QualifierKey}
+ * and that resolution and event matching still ignore {@link javax.enterprise.util.Nonbinding} members.
+ */
+public class QualifierKeyTest extends AbstractUnitTest
+{
+    @Test
+    public void testInternedKeys()
+    {
+        startContainer();
+        AnnotationManager annotationManager = getWebBeansContext().getAnnotationManager();
+
+        QualifierKey key = annotationManager.getQualifierKey(new NonBindingLiteral("B", "1", "2"));
+        Assert.assertSame(key, annotationManager.getQualifierKey(new NonBindingLiteral("B", "3", "4")));
+        Assert.assertSame(key, annotationManager.getQualifierKey(BeanCacheKeyUnitTest.a3[0]));
+        Assert.assertSame(key, annotationManager.getQualifierKey(BeanCacheKeyUnitTest.a4[0]));
+        Assert.assertNotSame(key, annotationManager.getQualifierKey(BeanCacheKeyUnitTest.a5[0]));
+        Assert.assertNotEquals(key, annotationManager.getQualifierKey(BeanCacheKeyUnitTest.a5[0]));
+        Assert.assertTrue(annotationManager.isQualifierEqual(BeanCacheKeyUnitTest.a5[0], BeanCacheKeyUnitTest.a6[0]));
+
+        QualifierKey arrayKey = annotationManager.getQualifierKey(BeanCacheKeyUnitTest.a7[0]);
+        Assert.assertSame(arrayKey, annotationManager.getQualifierKey(new IntArrayLiteral(new int[]{1, 2, 3})));
+        Assert.assertNotSame(arrayKey, annotationManager.getQualifierKey(BeanCacheKeyUnitTest.a8[0]));
+
+        // an interned key still equals a key computed without the container
+        Assert.assertEquals(key, QualifierKey.of(BeanCacheKeyUnitTest.a3[0], new Method[]{valueMember()}));
+    }
+
+    @Test
+    public void testResolutionAndEvents()
+    {
+        startContainer(QualifiedBean.class, QualifiedObserver.class);
+
+        Set<Bean<?>> beans = getBeanManager().getBeans(QualifiedBean.class, new NonBindingLiteral("B", "x", "y"));
+        Assert.assertEquals(1, beans.size());
+        Assert.assertTrue(getBeanManager().getBeans(QualifiedBean.class, new NonBindingLiteral("C", "1", "2")).isEmpty());
+
+        QualifiedObserver observer = getInstance(QualifiedObserver.class);
+        for (int i = 0; i < 2; i++)
+        {
+            observer.getEvents().clear();
+            getBeanManager().fireEvent("matching", new NonBindingLiteral("B", "x", "y"));
+            getBeanManager().fireEvent("other", new NonBindingLiteral("C", "1", "2"));
+            Assert.assertEquals(1, observer.getEvents().size());
+            Assert.assertEquals("matching", observer.getEvents().get(0));
+        }
+    }
+
+    private static Method valueMember()
+    {
+        try
+        {
+            return AnnotationWithNonBindingMember.class.getMethod("value");
+        }
+        catch (NoSuchMethodException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @AnnotationWithNonBindingMember(value = "B", arg1 = "1", arg2 = "2")
+    public static class QualifiedBean
+    {
+    }
+
+    @ApplicationScoped
+    public static class QualifiedObserver
+    {
+        private final List<String> events = new ArrayList<>();
+
+        public List<String> getEvents()
+        {
+            return events;
+        }
+
+        public void onEvent(@Observes @AnnotationWithNonBindingMember(value = "B", arg1 = "a", arg2 = "b") String event)
+        {
+            events.add(event);
+        }
+    }
+
+    public static class NonBindingLiteral extends AnnotationLiteral<AnnotationWithNonBindingMember> implements AnnotationWithNonBindingMember
+    {
+        private final String value;
+        private final String arg1;
+        private final String arg2;
+
+        public NonBindingLiteral(String value, String arg1, String arg2)
+        {
+            this.value = value;
+            this.arg1 = arg1;
+            this.arg2 = arg2;
+        }
+
+        @Override
+        public String value()
+        {
+            return value;
+        }
+
+        @Override
+        public String arg1()
+        {
+            return arg1;
+        }
+
+        @Override
+        public String arg2()
+        {
+            return arg2;
+        }
+    }
+
+    public static class IntArrayLiteral extends AnnotationLiteral<AnnotationWithArrayOfIntMember> implements AnnotationWithArrayOfIntMember
+    {
+        private final int[] value;
+
+        public IntArrayLiteral(int[] value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public int[] value()
+        {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Test;
+
+public class ParallelDeploymentTest extends AbstractUnitTest
+{
+    @After
+    public void resetParallelism()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.DEPLOYMENT_PARALLELISM);
+    }
+
+    @Test
+    public void testParallelDeployment()
+    {
+        System.setProperty(OpenWebBeansConfiguration.DEPLOYMENT_PARALLELISM, "4");
+        startContainer(Greeter.class, Helper.class, GreetingLog.class, RequestGreeter.class);
+
+        assertEquals(4, getWebBeansContext().getOpenWebBeansConfiguration().getDeploymentParallelism());
+        assertEquals("Hello world", getInstance(Greeter.class).greet("world"));
+        assertNotNull(getInstance("requestGreeter"));
+        assertEquals(asList("Hello world"), getInstance(GreetingLog.class).getGreetings());
+    }
+
+    @Test
+    public void testSameFailureAsSequential()
+    {
+        assertEquals(deploymentFailure(1), deploymentFailure(4));
+    }
+
+    private String deploymentFailure(int parallelism)
+    {
+        System.setProperty(OpenWebBeansConfiguration.DEPLOYMENT_PARALLELISM, Integer.toString(parallelism));
+        Collection<Class<?>> beans = new ArrayList<>(asList(Greeter.class, Helper.class, GreetingLog.class));
+        beans.add(BrokenBean.class);
+        try
+        {
+            startContainer(beans);
+            fail("deployment must fail");
+            return null;
+        }
+        catch (RuntimeException e)
+        {
+            return e.getMessage();
+        }
+        finally
+        {
+            shutDownContainer();
+        }
+    }
+
+    @ApplicationScoped
+    public static class Greeter
+    {
+        @Inject
+        private Helper helper;
+
+        @Inject
+        private javax.enterprise.event.Event<String> greetings;
+
+        public String greet(String name)
+        {
+            String greeting = helper.prefix() + name;
+            greetings.fire(greeting);
+            return greeting;
+        }
+    }
+
+    public static class Helper
+    {
+        public String prefix()
+        {
+            return "Hello ";
+        }
+    }
+
+    @ApplicationScoped
+    public static class GreetingLog
+    {
+        private final List<String> greetings = new ArrayList<>();
+
+        public void onGreeting(@Observes String greeting, Helper helper)
+        {
+            greetings.add(greeting);
+        }
+
+        public List<String> getGreetings()
+        {
+            return greetings;
+        }
+    }
+
+    @Named
+    @RequestScoped
+    public static class RequestGreeter
+    {
+        @Inject
+        private Greeter greeter;
+    }
+
+    public static class BrokenBean
+    {
+        @Inject
+        private Runnable missing;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Test;
+
+public class StartupProfilerTest extends AbstractUnitTest
+{
+    @After
+    public void resetProfiler()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.STARTUP_PROFILER);
+        System.clearProperty(OpenWebBeansConfiguration.STARTUP_PROFILER_FILE);
+    }
+
+    @Test
+    public void testDisabledByDefault()
+    {
+        startContainer(Holder.class, RequestBean.class);
+        assertFalse(getWebBeansContext().getOpenWebBeansConfiguration().isStartupProfilerEnabled());
+    }
+
+    @Test
+    public void testJsonReport() throws Exception
+    {
+        File report = new File("target/startup-profile/" + getClass().getSimpleName() + ".json");
+        report.delete();
+        System.setProperty(OpenWebBeansConfiguration.STARTUP_PROFILER, "true");
+        System.setProperty(OpenWebBeansConfiguration.STARTUP_PROFILER_FILE, report.getPath());
+
+        addExtension(new TypeCountingExtension());
+        startContainer(Holder.class, RequestBean.class);
+
+        assertTrue(report.exists());
+        String json = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(json, json.contains("\"name\": \"scan\""));
+        assertTrue(json, json.contains("\"name\": \"fireBeforeBeanDiscoveryEvent\""));
+        assertTrue(json, json.contains("\"name\": \"deployFromBeanAttributes\""));
+        assertTrue(json, json.contains("\"name\": \"validateInjectionPoints\""));
+        assertTrue(json, json.contains("\"name\": \"fireAfterDeploymentValidationEvent\""));
+        assertTrue(json, json.contains("\"name\": \"" + TypeCountingExtension.class.getName() + "#onType("));
+        assertTrue(json, json.contains("\"types\": "));
+        assertTrue(json, json.contains("\"beans\": "));
+        assertTrue(json, json.contains("\"injectionPoints\": "));
+        assertTrue(json, json.contains("\"proxyClasses\": "));
+    }
+
+    public static class TypeCountingExtension implements Extension
+    {
+        private int types;
+
+        void onType(@Observes ProcessAnnotatedType<?> pat)
+        {
+            types++;
+        }
+    }
+
+    public static class Holder
+    {
+        @Inject
+        private RequestBean requestBean;
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+    }
+}
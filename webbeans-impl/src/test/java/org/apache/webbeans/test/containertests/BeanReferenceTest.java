@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.containertests;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Default;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.inject.Inject;
+
+import org.apache.webbeans.proxy.OwbNormalScopeProxy;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the cached references in
+ * {@link org.apache.webbeans.container.BeanManagerImpl#getReference(Bean, Type, CreationalContext)}
+ */
+public class BeanReferenceTest extends AbstractUnitTest
+{
+    @Test
+    public void testNormalScopedReferenceIsValidatedPerType()
+    {
+        startContainer(NormalScopedService.class, DependentService.class);
+
+        Bean<?> bean = getBeanManager().resolve(getBeanManager().getBeans(NormalScopedService.class));
+        Object first = getBeanManager().getReference(bean, NormalScopedService.class, getBeanManager().createCreationalContext(bean));
+        Object second = getBeanManager().getReference(bean, NormalScopedService.class, getBeanManager().createCreationalContext(bean));
+        Object untyped = getBeanManager().getReference(bean, Object.class, getBeanManager().createCreationalContext(bean));
+
+        Assert.assertTrue(first instanceof OwbNormalScopeProxy);
+        Assert.assertSame(first, second);
+        Assert.assertSame(first, untyped);
+
+        try
+        {
+            getBeanManager().getReference(bean, DependentService.class, getBeanManager().createCreationalContext(bean));
+            Assert.fail("the bean type must get checked even if the reference is cached already");
+        }
+        catch (IllegalArgumentException expected)
+        {
+            // all fine
+        }
+
+        getWebBeansContext().getBeanManagerImpl().clearCacheProxies();
+        Object afterClear = getBeanManager().getReference(bean, NormalScopedService.class, getBeanManager().createCreationalContext(bean));
+        Assert.assertTrue(afterClear instanceof OwbNormalScopeProxy);
+        Assert.assertNotSame(first, afterClear);
+    }
+
+    @Test
+    public void testDependentReferenceIsNotCached()
+    {
+        startContainer(NormalScopedService.class, DependentService.class);
+
+        Bean<?> bean = getBeanManager().resolve(getBeanManager().getBeans(DependentService.class));
+        Object first = getBeanManager().getReference(bean, DependentService.class, getBeanManager().createCreationalContext(bean));
+        Object second = getBeanManager().getReference(bean, DependentService.class, getBeanManager().createCreationalContext(bean));
+
+        Assert.assertNotSame(first, second);
+        Assert.assertSame(first.getClass(), second.getClass());
+    }
+
+    @Test
+    public void testInjectableReference()
+    {
+        startContainer(NormalScopedService.class, DependentService.class, ServiceConsumer.class);
+
+        ServiceConsumer consumer = getInstance(ServiceConsumer.class);
+        ServiceConsumer other = getInstance(ServiceConsumer.class);
+
+        Assert.assertNotSame(consumer, other);
+        Assert.assertSame(consumer.service, other.service);
+        Assert.assertEquals("normal", consumer.service.name());
+    }
+
+    @Test
+    public void testThirdPartyBean()
+    {
+        ThirdPartyExtension extension = new ThirdPartyExtension();
+        addExtension(extension);
+        startContainer(NormalScopedService.class);
+
+        for (int i = 0; i < 3; i++)
+        {
+            Object reference = getBeanManager().getReference(extension.bean, ThirdPartyService.class,
+                    getBeanManager().createCreationalContext(extension.bean));
+            Assert.assertEquals("thirdparty", ((ThirdPartyService) reference).name());
+        }
+    }
+
+    @ApplicationScoped
+    public static class NormalScopedService
+    {
+        public String name()
+        {
+            return "normal";
+        }
+    }
+
+    @Dependent
+    public static class DependentService
+    {
+    }
+
+    public static class ServiceConsumer
+    {
+        @Inject
+        private NormalScopedService service;
+    }
+
+    public static class ThirdPartyService
+    {
+        public String name()
+        {
+            return "thirdparty";
+        }
+    }
+
+    public static class ThirdPartyExtension implements Extension
+    {
+        private final ThirdPartyBean bean = new ThirdPartyBean();
+
+        void addBean(@Observes AfterBeanDiscovery afterBeanDiscovery)
+        {
+            afterBeanDiscovery.addBean(bean);
+        }
+    }
+
+    public static class ThirdPartyBean implements Bean<ThirdPartyService>
+    {
+        @Override
+        public Set<Type> getTypes()
+        {
+            return new HashSet<>(Arrays.<Type>asList(ThirdPartyService.class, Object.class));
+        }
+
+        @Override
+        public Set<Annotation> getQualifiers()
+        {
+            Set<Annotation> qualifiers = new HashSet<>();
+            qualifiers.add(new AnnotationLiteral<Default>() {});
+            qualifiers.add(new AnnotationLiteral<Any>() {});
+            return qualifiers;
+        }
+
+        @Override
+        public Class<? extends Annotation> getScope()
+        {
+            return Dependent.class;
+        }
+
+        @Override
+        public String getName()
+        {
+            return null;
+        }
+
+        @Override
+        public Set<Class<? extends Annotation>> getStereotypes()
+        {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public boolean isAlternative()
+        {
+            return false;
+        }
+
+        @Override
+        public Class<?> getBeanClass()
+        {
+            return ThirdPartyService.class;
+        }
+
+        @Override
+        public Set<InjectionPoint> getInjectionPoints()
+        {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public boolean isNullable()
+        {
+            return false;
+        }
+
+        @Override
+        public ThirdPartyService create(CreationalContext<ThirdPartyService> creationalContext)
+        {
+            return new ThirdPartyService();
+        }
+
+        @Override
+        public void destroy(ThirdPartyService instance, CreationalContext<ThirdPartyService> creationalContext)
+        {
+            // nothing to do
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.containertests;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.Specializes;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.util.TypeLiteral;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the bean type index used in
+ * {@link org.apache.webbeans.container.InjectionResolver#implResolveByType(boolean, java.lang.reflect.Type, java.lang.annotation.Annotation...)}
+ */
+public class BeanTypeIndexTest extends AbstractUnitTest
+{
+    @Test
+    public void testPrimitiveAndWrapperTypes()
+    {
+        startContainer(PrimitiveProducer.class);
+
+        Assert.assertEquals(1, getBeanManager().getBeans(int.class).size());
+        Assert.assertEquals(1, getBeanManager().getBeans(Integer.class).size());
+        Assert.assertEquals(Integer.valueOf(42), getInstance(Integer.class));
+    }
+
+    @Test
+    public void testParameterizedTypes()
+    {
+        startContainer(StringListProducer.class);
+
+        Assert.assertEquals(1, getBeanManager().getBeans(new TypeLiteral<List<String>>() {}.getType()).size());
+        Assert.assertTrue(getBeanManager().getBeans(new TypeLiteral<List<Integer>>() {}.getType()).isEmpty());
+    }
+
+    @Test
+    public void testDisabledBeansGetRemoved()
+    {
+        startContainer(Service.class, SpecializedService.class);
+
+        Set<Bean<?>> beans = getBeanManager().getBeans(Service.class);
+        Assert.assertEquals(1, beans.size());
+        Assert.assertEquals(SpecializedService.class, beans.iterator().next().getBeanClass());
+    }
+
+    public static class PrimitiveProducer
+    {
+        @Produces
+        public int produceInt()
+        {
+            return 42;
+        }
+    }
+
+    public static class StringListProducer
+    {
+        @Produces
+        public List<String> produceList()
+        {
+            return null;
+        }
+    }
+
+    public static class Service
+    {
+    }
+
+    @Specializes
+    public static class SpecializedService extends Service
+    {
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.webbeans.context.storage.ContextStorage;
+import org.apache.webbeans.context.storage.ContextStorageFactory;
+import org.apache.webbeans.context.storage.SharedSlotContextStorageFactory;
+import org.apache.webbeans.context.storage.ThreadLocalContextStorageFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContextStorageTest
+{
+    @Test
+    public void testThreadLocalStorage() throws Exception
+    {
+        verifyStorage(new ThreadLocalContextStorageFactory());
+    }
+
+    @Test
+    public void testSharedSlotStorage() throws Exception
+    {
+        verifyStorage(new SharedSlotContextStorageFactory());
+    }
+
+    @Test
+    public void testSharedSlotStorageReusesReleasedSlots() throws Exception
+    {
+        SharedSlotContextStorageFactory factory = new SharedSlotContextStorageFactory();
+        ContextStorage<String> first = factory.createStorage();
+        first.set("a");
+
+        // released by another thread, so the value of this thread stays in the slot array
+        Thread otherThread = new Thread(first::release);
+        otherThread.start();
+        otherThread.join();
+
+        ContextStorage<String> second = factory.createStorage();
+        Assert.assertNull(second.get());
+        second.set("b");
+        Assert.assertEquals("b", second.get());
+
+        second.release();
+        Assert.assertNull(second.get());
+    }
+
+    @Test
+    public void testSharedSlotStorageDropsThreadArrayWithLastRelease() throws Exception
+    {
+        SharedSlotContextStorageFactory factory = new SharedSlotContextStorageFactory();
+        ContextStorage<String> first = factory.createStorage();
+        ContextStorage<String> second = factory.createStorage();
+        ContextStorage<String> third = factory.createStorage();
+        first.set("a");
+        second.set("b");
+
+        // released by another thread, so the value of this thread stays in the slot array
+        Thread otherThread = new Thread(first::release);
+        otherThread.start();
+        otherThread.join();
+
+        second.release();
+        Assert.assertNull(getThreadSlots(factory));
+
+        // the last live storage never got used on this thread
+        first = factory.createStorage();
+        first.set("a");
+        otherThread = new Thread(first::release);
+        otherThread.start();
+        otherThread.join();
+        Assert.assertNotNull(getThreadSlots(factory));
+
+        third.release();
+        Assert.assertNull(getThreadSlots(factory));
+    }
+
+    private Object getThreadSlots(SharedSlotContextStorageFactory factory) throws Exception
+    {
+        Field slots = SharedSlotContextStorageFactory.class.getDeclaredField("slots");
+        slots.setAccessible(true);
+        return ((ThreadLocal<?>) slots.get(factory)).get();
+    }
+
+    private void verifyStorage(ContextStorageFactory factory) throws Exception
+    {
+        ContextStorage<String> first = factory.createStorage();
+        ContextStorage<String> second = factory.createStorage();
+
+        Assert.assertNull(first.get());
+
+        first.set("a");
+        Assert.assertEquals("a", first.get());
+        Assert.assertNull(second.get());
+
+        // a storage created later must work on a thread which already has values
+        ContextStorage<String> third = factory.createStorage();
+        third.set("c");
+        second.set("b");
+        Assert.assertEquals("a", first.get());
+        Assert.assertEquals("b", second.get());
+        Assert.assertEquals("c", third.get());
+
+        // other threads must not see our values
+        AtomicReference<String> otherThreadValue = new AtomicReference<>("not set");
+        Thread otherThread = new Thread(() -> otherThreadValue.set(first.get()));
+        otherThread.start();
+        otherThread.join();
+        Assert.assertNull(otherThreadValue.get());
+
+        first.remove();
+        Assert.assertNull(first.get());
+        Assert.assertEquals("b", second.get());
+
+        second.set(null);
+        third.remove();
+        Assert.assertNull(second.get());
+        Assert.assertNull(third.get());
+    }
+}
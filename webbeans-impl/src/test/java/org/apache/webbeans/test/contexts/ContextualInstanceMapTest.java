@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Contextual;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.context.ContextualInstanceMap;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContextualInstanceMapTest extends AbstractUnitTest
+{
+    @Test
+    public void testSlotsGetAssignedPerScope()
+    {
+        startContainer(FirstRequestBean.class, SecondRequestBean.class, SessionBean.class, DependentBean.class);
+
+        int first = getSlot(FirstRequestBean.class);
+        int second = getSlot(SecondRequestBean.class);
+        // internal beans like the Conversation get slots as well,
+        // and the order in which the beans get their slots is not defined
+        Assert.assertTrue(first >= 0);
+        Assert.assertTrue(second >= 0);
+        Assert.assertNotEquals(first, second);
+        Assert.assertTrue(getSlot(SessionBean.class) >= 0);
+        Assert.assertEquals(-1, getSlot(DependentBean.class));
+    }
+
+    @Test
+    public void testRequestScopedInstancesGetDestroyed()
+    {
+        startContainer(FirstRequestBean.class, SecondRequestBean.class, SessionBean.class, DependentBean.class);
+        FirstRequestBean.destroyed.clear();
+
+        FirstRequestBean first = getInstance(FirstRequestBean.class);
+        first.setValue(42);
+        Assert.assertEquals(42, getInstance(FirstRequestBean.class).getValue());
+        Assert.assertEquals(0, getInstance(SecondRequestBean.class).getValue());
+
+        restartContext(RequestScoped.class);
+
+        Assert.assertEquals(1, FirstRequestBean.destroyed.size());
+        Assert.assertEquals(42, FirstRequestBean.destroyed.get(0).intValue());
+        Assert.assertEquals(0, getInstance(FirstRequestBean.class).getValue());
+    }
+
+    @Test
+    public void testSlotAndMapStorage()
+    {
+        startContainer(FirstRequestBean.class, SecondRequestBean.class, SessionBean.class, DependentBean.class);
+
+        ContextualInstanceMap map = new ContextualInstanceMap();
+        Assert.assertTrue(map.isEmpty());
+
+        Contextual<?> slotted = getBean(FirstRequestBean.class);
+        Contextual<?> unslotted = getBean(DependentBean.class);
+        BeanInstanceBag<?> slottedBag = new BeanInstanceBag<>(null);
+        BeanInstanceBag<?> unslottedBag = new BeanInstanceBag<>(null);
+
+        Assert.assertNull(map.putIfAbsent(slotted, slottedBag));
+        Assert.assertSame(slottedBag, map.putIfAbsent(slotted, new BeanInstanceBag<>(null)));
+        Assert.assertNull(map.put(unslotted, unslottedBag));
+
+        Assert.assertSame(slottedBag, map.get(slotted));
+        Assert.assertSame(unslottedBag, map.get(unslotted));
+        Assert.assertEquals(2, map.size());
+
+        // a bean with a higher slot than the array is long
+        AbstractOwbBean<?> bean = (AbstractOwbBean<?>) getBean(SecondRequestBean.class);
+        int originalSlot = bean.getContextSlot();
+        bean.setContextSlot(100);
+        try
+        {
+            BeanInstanceBag<?> grownBag = new BeanInstanceBag<>(null);
+            map.put(bean, grownBag);
+            Assert.assertSame(grownBag, map.get(bean));
+            Assert.assertSame(slottedBag, map.get(slotted));
+            Assert.assertEquals(3, map.size());
+
+            List<Contextual<?>> keys = new ArrayList<>(map.keySet());
+            for (Contextual<?> key : map.keySet())
+            {
+                map.remove(key);
+            }
+            Assert.assertEquals(3, keys.size());
+            Assert.assertTrue(map.isEmpty());
+            Assert.assertNull(map.get(slotted));
+            Assert.assertNull(map.get(unslotted));
+        }
+        finally
+        {
+            bean.setContextSlot(originalSlot);
+        }
+    }
+
+    @Test
+    public void testSlotCollisionFallsBackToMap()
+    {
+        startContainer(FirstRequestBean.class, SecondRequestBean.class, SessionBean.class, DependentBean.class);
+
+        ContextualInstanceMap map = new ContextualInstanceMap();
+        Contextual<?> first = getBean(FirstRequestBean.class);
+        AbstractOwbBean<?> second = (AbstractOwbBean<?>) getBean(SecondRequestBean.class);
+        int originalSlot = second.getContextSlot();
+        second.setContextSlot(getSlot(FirstRequestBean.class));
+        try
+        {
+            BeanInstanceBag<?> firstBag = new BeanInstanceBag<>(null);
+            BeanInstanceBag<?> secondBag = new BeanInstanceBag<>(null);
+            map.put(first, firstBag);
+            map.put(second, secondBag);
+
+            Assert.assertSame(firstBag, map.get(first));
+            Assert.assertSame(secondBag, map.get(second));
+            Assert.assertEquals(2, map.size());
+
+            Assert.assertSame(secondBag, map.remove(second));
+            Assert.assertSame(firstBag, map.get(first));
+            Assert.assertNull(map.get(second));
+        }
+        finally
+        {
+            second.setContextSlot(originalSlot);
+        }
+    }
+
+    @Test
+    public void testSerializableBeanFindsTheSlottedInstance()
+    {
+        startContainer(FirstRequestBean.class, SecondRequestBean.class, SessionBean.class, DependentBean.class);
+
+        ContextualInstanceMap map = new ContextualInstanceMap();
+        Contextual<?> bean = getBean(SessionBean.class);
+        Contextual<?> serializableBean = getWebBeansContext().getSerializableBeanVault().getSerializableBean(bean);
+        Assert.assertNotSame(bean, serializableBean);
+
+        BeanInstanceBag<?> bag = new BeanInstanceBag<>(null);
+        map.put(bean, bag);
+        Assert.assertSame(bag, map.get(serializableBean));
+        Assert.assertSame(bag, map.putIfAbsent(serializableBean, new BeanInstanceBag<>(null)));
+        Assert.assertEquals(1, map.size());
+
+        Assert.assertSame(bag, map.remove(serializableBean));
+        Assert.assertNull(map.get(bean));
+    }
+
+    private int getSlot(Class<?> beanClass)
+    {
+        return ((AbstractOwbBean<?>) getBean(beanClass)).getContextSlot();
+    }
+
+    @RequestScoped
+    public static class FirstRequestBean
+    {
+        private static final List<Integer> destroyed = new ArrayList<>();
+
+        private int value;
+
+        public int getValue()
+        {
+            return value;
+        }
+
+        public void setValue(int value)
+        {
+            this.value = value;
+        }
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed.add(value);
+        }
+    }
+
+    @RequestScoped
+    public static class SecondRequestBean
+    {
+        public int getValue()
+        {
+            return 0;
+        }
+    }
+
+    @SessionScoped
+    public static class SessionBean implements Serializable
+    {
+    }
+
+    public static class DependentBean
+    {
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts.conversation;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.Destroyed;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+import java.util.Set;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.context.ConversationContext;
+import org.apache.webbeans.conversation.ConversationManager;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConversationReaperTest extends AbstractUnitTest
+{
+    @Before
+    public void enableReaper()
+    {
+        System.setProperty(OpenWebBeansConfiguration.APPLICATION_SUPPORTS_CONVERSATION, "true");
+        System.setProperty(OpenWebBeansConfiguration.CONVERSATION_PERIODIC_DELAY, "20");
+    }
+
+    @After
+    public void resetConfig()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.APPLICATION_SUPPORTS_CONVERSATION);
+        System.clearProperty(OpenWebBeansConfiguration.CONVERSATION_PERIODIC_DELAY);
+    }
+
+    @Test
+    public void testTimedOutConversationGetsDestroyedInTheBackground() throws Exception
+    {
+        startContainer(ConversationScopedBean.class);
+
+        ConversationManager conversationManager = getWebBeansContext().getConversationManager();
+        Assert.assertTrue(conversationManager.isConversationReaperEnabled());
+
+        ConversationScopedBean instance = getInstance(ConversationScopedBean.class);
+        instance.setValue("a");
+        instance.getConversation().setTimeout(50L);
+        instance.begin();
+
+        Context sessionContext = getWebBeansContext().getContextsService().getCurrentContext(SessionScoped.class);
+        Set<ConversationContext> conversations = conversationManager.getSessionConversations(sessionContext, false);
+        Assert.assertEquals(1, conversations.size());
+
+        // the request end does not check the conversations anymore
+        restartContext(RequestScoped.class);
+
+        long end = System.currentTimeMillis() + 5000L;
+        while (!conversations.isEmpty() && System.currentTimeMillis() < end)
+        {
+            Thread.sleep(10L);
+        }
+        Assert.assertTrue(conversations.isEmpty());
+    }
+
+    @Test
+    public void testRequestContextIsActiveWhileDestroying() throws Exception
+    {
+        startContainer(ConversationScopedBean.class, DestroyedConversationObserver.class);
+
+        ConversationManager conversationManager = getWebBeansContext().getConversationManager();
+        DestroyedConversationObserver observer = getInstance(DestroyedConversationObserver.class);
+
+        ConversationScopedBean instance = getInstance(ConversationScopedBean.class);
+        instance.setValue("a");
+        instance.getConversation().setTimeout(50L);
+        instance.begin();
+
+        Context sessionContext = getWebBeansContext().getContextsService().getCurrentContext(SessionScoped.class);
+        Set<ConversationContext> conversations = conversationManager.getSessionConversations(sessionContext, false);
+
+        restartContext(RequestScoped.class);
+
+        long end = System.currentTimeMillis() + 5000L;
+        while (observer.getRequestActive() == null && System.currentTimeMillis() < end)
+        {
+            Thread.sleep(10L);
+        }
+        Assert.assertTrue(conversations.isEmpty());
+        Assert.assertEquals(Boolean.TRUE, observer.getRequestActive());
+    }
+
+    @ApplicationScoped
+    public static class DestroyedConversationObserver
+    {
+        @Inject
+        private BeanManager beanManager;
+
+        private volatile Boolean requestActive;
+
+        public void onDestroyed(@Observes @Destroyed(ConversationScoped.class) Object payload)
+        {
+            try
+            {
+                requestActive = beanManager.getContext(RequestScoped.class).isActive();
+            }
+            catch (ContextNotActiveException e)
+            {
+                requestActive = false;
+            }
+        }
+
+        public Boolean getRequestActive()
+        {
+            return requestActive;
+        }
+    }
+}
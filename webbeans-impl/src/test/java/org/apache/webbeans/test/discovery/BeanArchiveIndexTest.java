@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.discovery;
+
+import org.apache.webbeans.corespi.scanner.xbean.BeanArchiveIndex;
+import org.apache.webbeans.corespi.scanner.xbean.BeanArchiveIndexWriter;
+import org.apache.webbeans.corespi.scanner.xbean.CdiArchive;
+import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.xml.DefaultBeanArchiveService;
+import org.apache.xbean.finder.AnnotationFinder;
+import org.apache.xbean.finder.archive.ClassesArchive;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BeanArchiveIndexTest
+{
+    private File classesDir;
+
+    @Before
+    public void createClassesDir() throws IOException
+    {
+        classesDir = Files.createTempDirectory("owb-index").toFile();
+        copyClass(IndexedBean.class);
+        copyClass(PlainClass.class);
+    }
+
+    @After
+    public void deleteClassesDir()
+    {
+        delete(classesDir);
+    }
+
+    @Test
+    public void testIndex() throws Exception
+    {
+        assertNull(BeanArchiveIndex.read(classesDir.toURI().toURL()));
+
+        assertEquals(2, new BeanArchiveIndexWriter(classesDir).write());
+
+        BeanArchiveIndex index = BeanArchiveIndex.read(classesDir.toURI().toURL());
+        assertNotNull(index);
+        assertEquals(2, index.getClassNames().size());
+        assertEquals(asList(ApplicationScoped.class.getName()), index.getAnnotations(IndexedBean.class.getName()));
+        assertTrue(index.getAnnotations(PlainClass.class.getName()).isEmpty());
+
+        OwbAnnotationFinder finder = new OwbAnnotationFinder(new ClassesArchive());
+        AnnotationFinder.ClassInfo classInfo = index.getClassInfo(finder, IndexedBean.class.getName());
+        assertEquals(IndexedBean.class.getName(), classInfo.getName());
+        assertEquals(1, classInfo.getAnnotations().size());
+        assertEquals(ApplicationScoped.class.getName(), classInfo.getAnnotations().get(0).getName());
+        assertTrue(index.getClassInfo(finder, PlainClass.class.getName()).getAnnotations().isEmpty());
+    }
+
+    @Test
+    public void testStaleIndex() throws Exception
+    {
+        new BeanArchiveIndexWriter(classesDir).write();
+        File indexFile = new File(classesDir, BeanArchiveIndex.INDEX_RESOURCE);
+
+        // a generated proxy doesn't make the index stale
+        File proxy = new File(classesDir, "org/apache/webbeans/test/Foo$$OwbNormalScopeProxyP1.class");
+        proxy.getParentFile().mkdirs();
+        Files.write(proxy.toPath(), new byte[] { 1, 2, 3 });
+        assertNotNull(BeanArchiveIndex.read(classesDir.toURI().toURL()));
+
+        // neither does touching a class
+        File bean = classFile(IndexedBean.class);
+        assertTrue(bean.setLastModified(indexFile.lastModified() + 2000));
+        assertNotNull(BeanArchiveIndex.read(classesDir.toURI().toURL()));
+
+        // but a changed class with the same size does
+        byte[] bytecode = Files.readAllBytes(bean.toPath());
+        bytecode[bytecode.length - 1]++;
+        Files.write(bean.toPath(), bytecode);
+        assertNull(BeanArchiveIndex.read(classesDir.toURI().toURL()));
+
+        // as well as a new one
+        new BeanArchiveIndexWriter(classesDir).write();
+        copyClass(BeanArchiveIndexTest.class);
+        assertNull(BeanArchiveIndex.read(classesDir.toURI().toURL()));
+    }
+
+    @Test
+    public void testPackagedIndex() throws Exception
+    {
+        new BeanArchiveIndexWriter(classesDir).write();
+
+        // the fingerprint of the jar must match the one of the classes directory
+        File jar = File.createTempFile("owb-index", ".jar");
+        try
+        {
+            try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar)))
+            {
+                for (String path : asList(BeanArchiveIndex.INDEX_RESOURCE,
+                        classFile(IndexedBean.class).getPath().substring(classesDir.getPath().length() + 1),
+                        classFile(PlainClass.class).getPath().substring(classesDir.getPath().length() + 1)))
+                {
+                    out.putNextEntry(new JarEntry(path.replace(File.separatorChar, '/')));
+                    Files.copy(new File(classesDir, path).toPath(), out);
+                    out.closeEntry();
+                }
+            }
+
+            BeanArchiveIndex index = BeanArchiveIndex.read(jar.toURI().toURL());
+            assertNotNull(index);
+            assertEquals(2, index.getClassNames().size());
+        }
+        finally
+        {
+            jar.delete();
+        }
+    }
+
+    @Test
+    public void testArchiveUsesIndex() throws Exception
+    {
+        new BeanArchiveIndexWriter(classesDir).write();
+        URL url = classesDir.toURI().toURL();
+
+        CdiArchive archive = new CdiArchive(new DefaultBeanArchiveService(), Thread.currentThread().getContextClassLoader(),
+                Collections.singletonMap(url.toExternalForm(), url), null, null, true);
+
+        CdiArchive.FoundClasses foundClasses = archive.classesByUrl().get(url.toExternalForm());
+        assertNotNull(foundClasses.getIndex());
+        assertTrue(foundClasses.getClassNames().containsAll(asList(IndexedBean.class.getName(), PlainClass.class.getName())));
+
+        // nothing left to scan
+        Iterator<?> entries = archive.iterator();
+        assertFalse(entries.hasNext());
+
+        CdiArchive scanned = new CdiArchive(new DefaultBeanArchiveService(), Thread.currentThread().getContextClassLoader(),
+                Collections.singletonMap(url.toExternalForm(), url), null, null, false);
+        assertNull(scanned.classesByUrl().get(url.toExternalForm()).getIndex());
+    }
+
+    private File classFile(Class<?> clazz)
+    {
+        return new File(classesDir, clazz.getName().replace('.', '/') + ".class");
+    }
+
+    private void copyClass(Class<?> clazz) throws IOException
+    {
+        File target = classFile(clazz);
+        target.getParentFile().mkdirs();
+        try (InputStream in = clazz.getResourceAsStream(clazz.getName().substring(clazz.getName().lastIndexOf('.') + 1) + ".class"))
+        {
+            Files.copy(in, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void delete(File file)
+    {
+        File[] children = file.listFiles();
+        if (children != null)
+        {
+            for (File child : children)
+            {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    @ApplicationScoped
+    public static class IndexedBean
+    {
+    }
+
+    public static class PlainClass
+    {
+    }
+}
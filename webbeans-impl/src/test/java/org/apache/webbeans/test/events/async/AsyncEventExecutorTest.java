@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.async;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.Extension;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncEventExecutorTest extends AbstractUnitTest
+{
+    @After
+    public void resetConfig()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.ASYNC_EVENT_BATCH_OBSERVERS);
+        System.clearProperty(OpenWebBeansConfiguration.ASYNC_EVENT_THREADS);
+        System.clearProperty(OpenWebBeansConfiguration.ASYNC_EVENT_QUEUE_SIZE);
+        System.clearProperty(OpenWebBeansConfiguration.ASYNC_EVENT_REJECTION_POLICY);
+    }
+
+    @Test
+    public void testBatchedObserversRunInOneTask() throws Exception
+    {
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_BATCH_OBSERVERS, "true");
+
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        addExtension(new AsyncObserversExtension(20, null, threads));
+        startContainer();
+
+        ObserversAsyncTest.VisitorCollectorEvent event = new ObserversAsyncTest.VisitorCollectorEvent();
+        Throwable failure = getBeanManager().getEvent().fireAsync(event)
+            .handle((e, t) -> t)
+            .toCompletableFuture()
+            .get(20, TimeUnit.SECONDS);
+
+        // odd observers throw an Exception
+        assertTrue(failure instanceof CompletionException);
+        assertEquals(10, failure.getSuppressed().length);
+        assertEquals(20, event.getVisitors().size());
+        assertEquals(1, threads.size());
+
+        // in the order of their priority
+        for (int i = 0; i < 20; i++)
+        {
+            assertEquals("Observer_" + i, event.getVisitors().get(i));
+        }
+    }
+
+    @Test
+    public void testAbortWhenQueueIsFull() throws Exception
+    {
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_THREADS, "1");
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_QUEUE_SIZE, "1");
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_REJECTION_POLICY, "abort");
+
+        CountDownLatch release = new CountDownLatch(1);
+        addExtension(new AsyncObserversExtension(3, release, ConcurrentHashMap.newKeySet()));
+        startContainer();
+
+        Throwable failure;
+        try
+        {
+            // one observer is running, one is queued, the third one does not fit anymore
+            CompletionStage<?> stage = getBeanManager().getEvent().fireAsync(new ObserversAsyncTest.VisitorCollectorEvent());
+            release.countDown();
+            failure = stage.handle((e, t) -> t)
+                .toCompletableFuture()
+                .get(20, TimeUnit.SECONDS);
+        }
+        finally
+        {
+            release.countDown();
+        }
+
+        // Observer_1 fails on its own, Observer_2 got rejected
+        assertTrue(failure instanceof CompletionException);
+        assertEquals(2, failure.getSuppressed().length);
+        assertTrue(Stream.of(failure.getSuppressed()).anyMatch(RejectedExecutionException.class::isInstance));
+    }
+
+    @Test
+    public void testShutdownWaitsForPendingNotifications() throws Exception
+    {
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_THREADS, "1");
+
+        CountDownLatch notified = new CountDownLatch(2);
+        addExtension(new AsyncObserversExtension(2, null, ConcurrentHashMap.newKeySet())
+        {
+            @Override
+            protected void onNotify() throws InterruptedException
+            {
+                Thread.sleep(100L);
+                notified.countDown();
+            }
+        });
+        startContainer();
+
+        getBeanManager().getEvent().fireAsync(new ObserversAsyncTest.VisitorCollectorEvent());
+        shutDownContainer();
+
+        assertEquals(0, notified.getCount());
+    }
+
+    @Test
+    public void testBlockDoesNotWaitInsideTheExecutor() throws Exception
+    {
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_THREADS, "1");
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_QUEUE_SIZE, "1");
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_REJECTION_POLICY, "block");
+
+        addExtension(new AsyncObserversExtension(2, null, ConcurrentHashMap.newKeySet()));
+        NestedFireAsyncExtension nestedFireAsyncExtension = new NestedFireAsyncExtension();
+        addExtension(nestedFireAsyncExtension);
+        startContainer();
+
+        // the only thread fires two observers, one gets queued, the other one would wait for the thread itself
+        getBeanManager().getEvent().fireAsync(new NestedFireAsyncEvent())
+            .toCompletableFuture()
+            .get(20, TimeUnit.SECONDS);
+
+        Throwable failure = nestedFireAsyncExtension.nestedStage.get(20, TimeUnit.SECONDS)
+            .handle((e, t) -> t)
+            .toCompletableFuture()
+            .get(20, TimeUnit.SECONDS);
+        assertNotNull(failure);
+        assertTrue(Stream.of(failure.getSuppressed()).anyMatch(RejectedExecutionException.class::isInstance));
+    }
+
+    public static class NestedFireAsyncEvent
+    {
+    }
+
+    public static class NestedFireAsyncExtension implements Extension
+    {
+        private final CompletableFuture<CompletionStage<?>> nestedStage = new CompletableFuture<>();
+
+        void addObserver(@Observes AfterBeanDiscovery afterBeanDiscovery, BeanManager beanManager)
+        {
+            afterBeanDiscovery.<NestedFireAsyncEvent>addObserverMethod()
+                .observedType(NestedFireAsyncEvent.class)
+                .async(true)
+                .notifyWith(e -> nestedStage.complete(
+                    beanManager.getEvent().fireAsync(new ObserversAsyncTest.VisitorCollectorEvent())));
+        }
+    }
+
+    public static class AsyncObserversExtension implements Extension
+    {
+        private final int count;
+        private final CountDownLatch release;
+        private final Set<String> threads;
+
+        public AsyncObserversExtension(int count, CountDownLatch release, Set<String> threads)
+        {
+            this.count = count;
+            this.release = release;
+            this.threads = threads;
+        }
+
+        void addObservers(@Observes AfterBeanDiscovery afterBeanDiscovery)
+        {
+            IntStream.range(0, count)
+                .forEach(i -> afterBeanDiscovery.<ObserversAsyncTest.VisitorCollectorEvent>addObserverMethod()
+                    .observedType(ObserversAsyncTest.VisitorCollectorEvent.class)
+                    .async(true)
+                    .priority(i)
+                    .notifyWith(e ->
+                    {
+                        if (release != null)
+                        {
+                            release.await(20, TimeUnit.SECONDS);
+                        }
+                        onNotify();
+                        threads.add(Thread.currentThread().getName());
+                        e.getEvent().visiting("Observer_" + i);
+                        if (i % 2 == 1)
+                        {
+                            throw new IllegalStateException("Observer_" + i);
+                        }
+                    }));
+        }
+
+        protected void onNotify() throws InterruptedException
+        {
+            // nothing to do by default
+        }
+    }
+}
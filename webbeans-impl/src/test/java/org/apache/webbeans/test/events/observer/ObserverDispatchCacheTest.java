@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.observer;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterDeploymentValidation;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.enterprise.util.TypeLiteral;
+import javax.inject.Qualifier;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Fires the same events multiple times to make sure that the cached
+ * observer resolution keeps the event type, the qualifiers and the ordering apart.
+ */
+public class ObserverDispatchCacheTest extends AbstractUnitTest
+{
+    @Test
+    public void testRepeatedFiring()
+    {
+        startContainer(Recorder.class);
+
+        Recorder recorder = getInstance(Recorder.class);
+
+        for (int i = 0; i < 3; i++)
+        {
+            recorder.getCalls().clear();
+            getBeanManager().fireEvent("hello");
+            Assert.assertEquals(listOf("firstString", "lastString"), recorder.getCalls());
+
+            recorder.getCalls().clear();
+            getBeanManager().fireEvent("hello", new AnnotationLiteral<Loud>()
+            {
+            });
+            Assert.assertEquals(listOf("firstString", "loudString", "lastString"), recorder.getCalls());
+
+            recorder.getCalls().clear();
+            getBeanManager().getEvent().select(new TypeLiteral<List<Integer>>()
+            {
+            }).fire(new ArrayList<>());
+            Assert.assertEquals(listOf("integerList"), recorder.getCalls());
+
+            recorder.getCalls().clear();
+            getBeanManager().getEvent().select(new TypeLiteral<List<String>>()
+            {
+            }).fire(new ArrayList<>());
+            Assert.assertEquals(listOf("stringList"), recorder.getCalls());
+        }
+    }
+
+    @Test
+    public void testRepeatedFiringOfOneEvent()
+    {
+        startContainer(Recorder.class);
+
+        Recorder recorder = getInstance(Recorder.class);
+        Event<Object> event = getBeanManager().getEvent();
+        Event<Object> loudEvent = event.select(new AnnotationLiteral<Loud>()
+        {
+        });
+
+        for (int i = 0; i < 3; i++)
+        {
+            recorder.getCalls().clear();
+            event.fire("hello");
+            loudEvent.fire("hello");
+            event.fire(42);
+            Assert.assertEquals(listOf("firstString", "lastString", "firstString", "loudString", "lastString", "integer"),
+                recorder.getCalls());
+
+            try
+            {
+                event.fire(new AfterDeploymentValidation()
+                {
+                    @Override
+                    public void addDeploymentProblem(Throwable t)
+                    {
+                    }
+                });
+                Assert.fail("container events must not be fired");
+            }
+            catch (IllegalArgumentException expected)
+            {
+                // all good
+            }
+        }
+    }
+
+    @Test
+    public void testManyQualifierValues()
+    {
+        startContainer(Recorder.class);
+
+        Recorder recorder = getInstance(Recorder.class);
+
+        // more qualifier values than the observer cache can hold, the cache must get cleared and refilled
+        for (int round = 0; round < 2; round++)
+        {
+            for (int i = 0; i < 2500; i++)
+            {
+                recorder.getCalls().clear();
+                getBeanManager().getEvent().select(new ChannelLiteral(i)).fire(Long.valueOf(i));
+                Assert.assertEquals(i == 7 ? listOf("channel7") : new ArrayList<String>(), recorder.getCalls());
+            }
+        }
+    }
+
+    private static List<String> listOf(String... values)
+    {
+        List<String> list = new ArrayList<>();
+        for (String value : values)
+        {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Qualifier
+    @Retention(RUNTIME)
+    @Target({FIELD, PARAMETER})
+    public @interface Loud
+    {
+    }
+
+    @Qualifier
+    @Retention(RUNTIME)
+    @Target({FIELD, PARAMETER})
+    public @interface Channel
+    {
+        int value();
+    }
+
+    public static class ChannelLiteral extends AnnotationLiteral<Channel> implements Channel
+    {
+        private final int value;
+
+        public ChannelLiteral(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public int value()
+        {
+            return value;
+        }
+    }
+
+    @ApplicationScoped
+    public static class Recorder
+    {
+        private final List<String> calls = new ArrayList<>();
+
+        public List<String> getCalls()
+        {
+            return calls;
+        }
+
+        public void lastString(@Observes @Priority(3000) String event)
+        {
+            calls.add("lastString");
+        }
+
+        public void loudString(@Observes @Priority(2000) @Loud String event)
+        {
+            calls.add("loudString");
+        }
+
+        public void firstString(@Observes @Priority(1000) String event)
+        {
+            calls.add("firstString");
+        }
+
+        public void integerList(@Observes List<Integer> event)
+        {
+            calls.add("integerList");
+        }
+
+        public void stringList(@Observes List<String> event)
+        {
+            calls.add("stringList");
+        }
+
+        public void integer(@Observes Integer event)
+        {
+            calls.add("integer");
+        }
+
+        public void channel7(@Observes @Channel(7) Long event)
+        {
+            calls.add("channel7");
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.observer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Observes;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks the precompiled observer method invocation with static, private and
+ * package private observers as well as the handling of the injected parameters.
+ */
+public class ObserverInvokerTest extends AbstractUnitTest
+{
+    @Test
+    public void testObserverInvocation()
+    {
+        StaticObserver.CREATED.set(0);
+        DependentHelper.DESTROYED.set(0);
+        startContainer(StaticObserver.class, InvokerObserver.class, DependentHelper.class, RequestCounter.class);
+
+        for (int i = 1; i <= 3; i++)
+        {
+            InvokerEvent event = new InvokerEvent();
+            getBeanManager().fireEvent(event);
+
+            Assert.assertEquals(4, event.getCalls().size());
+            Assert.assertTrue(event.getCalls().contains("static"));
+            Assert.assertTrue(event.getCalls().contains("private"));
+            Assert.assertTrue(event.getCalls().contains("last"));
+            Assert.assertTrue(event.getCalls().contains("returning"));
+
+            // the observer of the static method must not create a bean instance
+            Assert.assertEquals(0, StaticObserver.CREATED.get());
+
+            // every notification gets its own @Dependent parameter which gets destroyed afterwards
+            Assert.assertEquals(2 * i, DependentHelper.DESTROYED.get());
+
+            // the normal scoped parameter is the contextual instance of the current request
+            Assert.assertEquals(i, getInstance(RequestCounter.class).getCount());
+        }
+
+        restartContext(RequestScoped.class);
+        getBeanManager().fireEvent(new InvokerEvent());
+        Assert.assertEquals(1, getInstance(RequestCounter.class).getCount());
+    }
+
+    @Test
+    public void testObserverException()
+    {
+        startContainer(FailingObserver.class);
+
+        try
+        {
+            getBeanManager().fireEvent(new FailingEvent());
+            Assert.fail("the exception of the observer must get propagated");
+        }
+        catch (RuntimeException e)
+        {
+            Throwable cause = e;
+            while (cause != null && !(cause instanceof IllegalStateException))
+            {
+                cause = cause.getCause();
+            }
+            Assert.assertNotNull(cause);
+            Assert.assertEquals("failing observer", cause.getMessage());
+        }
+    }
+
+    public static class InvokerEvent
+    {
+        private final List<String> calls = new ArrayList<>();
+
+        public List<String> getCalls()
+        {
+            return calls;
+        }
+    }
+
+    public static class FailingEvent
+    {
+    }
+
+    @Dependent
+    public static class StaticObserver
+    {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        @PostConstruct
+        void created()
+        {
+            CREATED.incrementAndGet();
+        }
+
+        static void onStatic(@Observes InvokerEvent event)
+        {
+            event.getCalls().add("static");
+        }
+    }
+
+    @ApplicationScoped
+    public static class InvokerObserver
+    {
+        private void onPrivate(@Observes InvokerEvent event, DependentHelper helper, RequestCounter counter)
+        {
+            Assert.assertTrue(helper.isAlive());
+            counter.increment();
+            event.getCalls().add("private");
+        }
+
+        void onLast(DependentHelper helper, @Observes InvokerEvent event)
+        {
+            Assert.assertTrue(helper.isAlive());
+            event.getCalls().add("last");
+        }
+
+        public String onReturning(@Observes InvokerEvent event)
+        {
+            event.getCalls().add("returning");
+            return "ignored";
+        }
+    }
+
+    @Dependent
+    public static class DependentHelper
+    {
+        static final AtomicInteger DESTROYED = new AtomicInteger();
+
+        private boolean alive = true;
+
+        public boolean isAlive()
+        {
+            return alive;
+        }
+
+        @PreDestroy
+        void destroy()
+        {
+            alive = false;
+            DESTROYED.incrementAndGet();
+        }
+    }
+
+    @RequestScoped
+    public static class RequestCounter
+    {
+        private int count;
+
+        public int getCount()
+        {
+            return count;
+        }
+
+        public void increment()
+        {
+            count++;
+        }
+    }
+
+    @ApplicationScoped
+    public static class FailingObserver
+    {
+        public void onFailing(@Observes FailingEvent event)
+        {
+            throw new IllegalStateException("failing observer");
+        }
+    }
+}
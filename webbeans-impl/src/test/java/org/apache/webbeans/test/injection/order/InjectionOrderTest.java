@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.injection.order;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that fields and initializer methods get injected superclass first
+ * and that this order is kept for each new instance.
+ */
+public class InjectionOrderTest extends AbstractUnitTest
+{
+    @Test
+    public void testInjectionOrder()
+    {
+        startContainer(Dependency.class, ParentBean.class, ChildBean.class);
+
+        for (int i = 0; i < 3; i++)
+        {
+            ChildBean bean = getInstance(ChildBean.class);
+            Assert.assertEquals(Arrays.asList("parentInit:true", "childInit:true:true"), bean.getCalls());
+        }
+    }
+
+    @Dependent
+    public static class Dependency
+    {
+    }
+
+    @Dependent
+    public static class ParentBean
+    {
+        protected final List<String> calls = new ArrayList<>();
+
+        @Inject
+        protected Dependency parentField;
+
+        @Inject
+        public void parentInit(Dependency dependency)
+        {
+            calls.add("parentInit:" + (parentField != null));
+        }
+
+        public List<String> getCalls()
+        {
+            return calls;
+        }
+    }
+
+    @Dependent
+    public static class ChildBean extends ParentBean
+    {
+        @Inject
+        private Dependency childField;
+
+        @Inject
+        public void childInit(Dependency dependency)
+        {
+            calls.add("childInit:" + (parentField != null) + ":" + (childField != null));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.instance;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Default;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanAttributes;
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.inject.instance.InstanceImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class InstanceResolutionCacheTest extends AbstractUnitTest
+{
+    @Test
+    public void testNormalScopedReferenceIsReused()
+    {
+        startContainer(Holder.class, Service.class, Helper.class);
+        Holder holder = getInstance(Holder.class);
+
+        Service first = holder.services.get();
+        assertSame(first, holder.services.get());
+        assertSame(first, holder.services.select(Default.Literal.INSTANCE).get());
+        assertSame(first, holder.services.select(Default.Literal.INSTANCE).get());
+        assertSame(first, holder.services.select(Service.class).select(Default.Literal.INSTANCE).get());
+        assertTrue(first.isValid());
+    }
+
+    @Test
+    public void testSelectedInstancesAreNotShared() throws Exception
+    {
+        startContainer(Holder.class, Service.class, Helper.class);
+        Holder holder = getInstance(Holder.class);
+
+        // each select tracks its own dependent instances
+        Instance<Helper> first = holder.helpers.select(Default.Literal.INSTANCE);
+        Instance<Helper> second = holder.helpers.select(Default.Literal.INSTANCE);
+        assertNotSame(first, second);
+        assertNotSame(first.get(), second.get());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++)
+            {
+                futures.add(executor.submit(() ->
+                {
+                    Instance<Helper> selected = holder.helpers.select(Helper.class);
+                    selected.destroy(selected.get());
+                }));
+            }
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testHandles()
+    {
+        startContainer(Holder.class, Service.class, Helper.class);
+        Holder holder = getInstance(Holder.class);
+
+        Provider<Service> service = ((InstanceImpl<Service>) holder.services).resolveHandle();
+        assertSame(holder.services.get(), service.get());
+        assertSame(service.get(), service.get());
+
+        Provider<Helper> helper = ((InstanceImpl<Helper>) holder.helpers).resolveHandle();
+        assertNotSame(helper.get(), helper.get());
+    }
+
+    @Test
+    public void testBeanAddedAfterDeployment()
+    {
+        startContainer(Holder.class, Service.class, Helper.class);
+        Holder holder = getInstance(Holder.class);
+        assertTrue(holder.extras.isUnsatisfied());
+
+        BeanManagerImpl beanManager = (BeanManagerImpl) getBeanManager();
+        AnnotatedType<Extra> annotatedType = beanManager.createAnnotatedType(Extra.class);
+        BeanAttributes<Extra> attributes = beanManager.createBeanAttributes(annotatedType);
+        Bean<Extra> bean = beanManager.createBean(attributes, Extra.class, beanManager.getInjectionTargetFactory(annotatedType));
+        beanManager.addBean(bean);
+
+        assertFalse(holder.extras.isUnsatisfied());
+        assertTrue(holder.extras.get() instanceof Extra);
+    }
+
+    public static class Holder
+    {
+        @Inject
+        private Instance<Service> services;
+
+        @Inject
+        private Instance<Helper> helpers;
+
+        @Inject
+        private Instance<Extra> extras;
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        public boolean isValid()
+        {
+            return true;
+        }
+    }
+
+    public static class Helper
+    {
+    }
+
+    public static class Extra
+    {
+    }
+}
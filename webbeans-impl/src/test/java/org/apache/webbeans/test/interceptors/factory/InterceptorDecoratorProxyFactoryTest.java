@@ -30,13 +30,16 @@ import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Properties;
 import java.util.Set;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.component.intercept.webbeans.TransactionalInterceptor;
 import org.apache.webbeans.test.interceptors.factory.beans.ClassInterceptedClass;
+import org.apache.webbeans.proxy.InterceptedMethodInvoker;
 import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 
 import org.apache.webbeans.proxy.InterceptorHandler;
@@ -137,6 +140,56 @@ public class InterceptorDecoratorProxyFactoryTest extends AbstractUnitTest
         Assert.assertNotNull(internalInstance.newInstance()); 
     }
 
+    @Test
+    public void testMethodInvokerGeneration() throws Exception
+    {
+        Properties properties = new Properties();
+        properties.setProperty(OpenWebBeansConfiguration.GENERATE_METHOD_INVOKERS, "true");
+        InterceptorDecoratorProxyFactory pf = new InterceptorDecoratorProxyFactory(new WebBeansContext(null, properties));
+
+        // we take a fresh URLClassLoader to not blur the test classpath with synthetic classes.
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+
+        List<Method> methods = ClassUtil.getNonPrivateMethods(ClassInterceptedClass.class, true);
+        Method[] interceptedMethods = methods.toArray(new Method[methods.size()]);
+
+        Class<ClassInterceptedClass> proxyClass = pf.createProxyClass(new DummyBean(), classLoader, ClassInterceptedClass.class, interceptedMethods, null);
+        Assert.assertNotNull(proxyClass);
+
+        InterceptedMethodInvoker methodInvoker = pf.getMethodInvoker(proxyClass);
+        Assert.assertNotNull(methodInvoker);
+
+        ClassInterceptedClass internalInstance = new ClassInterceptedClass();
+        internalInstance.init();
+
+        int setterIndex = methodInvoker.getMethodIndex(ClassInterceptedClass.class.getMethod("setMeaningOfLife", int.class));
+        int getterIndex = methodInvoker.getMethodIndex(ClassInterceptedClass.class.getMethod("getMeaningOfLife"));
+        int charIndex = methodInvoker.getMethodIndex(ClassInterceptedClass.class.getMethod("getChar"));
+        Assert.assertTrue(setterIndex >= 0);
+        Assert.assertTrue(getterIndex >= 0);
+        Assert.assertTrue(charIndex >= 0);
+
+        Assert.assertNull(methodInvoker.invoke(setterIndex, internalInstance, new Object[]{ 21 }));
+        Assert.assertEquals(21, methodInvoker.invoke(getterIndex, internalInstance, new Object[0]));
+        Assert.assertEquals('c', methodInvoker.invoke(charIndex, internalInstance, new Object[0]));
+
+        try
+        {
+            methodInvoker.invoke(methodInvoker.getMethodIndex(ClassInterceptedClass.class.getMethod("doThaBlowup")), internalInstance, new Object[0]);
+            Assert.fail("the original exception must not get wrapped");
+        }
+        catch (NumberFormatException expected)
+        {
+            // all fine
+        }
+
+        // without the flag no invoker gets generated
+        InterceptorDecoratorProxyFactory defaultPf = new InterceptorDecoratorProxyFactory(new WebBeansContext());
+        Class<ClassInterceptedClass> defaultProxyClass
+            = defaultPf.createProxyClass(new DummyBean(), new URLClassLoader(new URL[0]), ClassInterceptedClass.class, interceptedMethods, null);
+        Assert.assertNull(defaultPf.getMethodInvoker(defaultProxyClass));
+    }
+
     /**
      * We originally did have a bug in our proxy code which
      * blew up if we did have > 127 methods in an intercepted class.
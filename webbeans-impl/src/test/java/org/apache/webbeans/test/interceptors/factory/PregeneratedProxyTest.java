@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.interceptors.factory;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Map;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.corespi.scanner.xbean.BeanArchiveFilter;
+import org.apache.webbeans.proxy.AbstractProxyFactory;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.proxy.OwbNormalScopeProxy;
+import org.apache.webbeans.test.interceptors.factory.beans.ClassInterceptedClass;
+import org.apache.webbeans.xml.DefaultBeanArchiveInformation;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test that proxy classes generated at build time get picked up at runtime.
+ */
+public class PregeneratedProxyTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testPregeneratedNormalScopeProxy() throws Exception
+    {
+        // build time
+        NormalScopeProxyFactory buildTimeFactory = new NormalScopeProxyFactory(new WebBeansContext());
+        buildTimeFactory.recordProxyClasses();
+        Class<ClassInterceptedClass> buildTimeProxyClass
+            = buildTimeFactory.createProxyClass(new URLClassLoader(new URL[0]), ClassInterceptedClass.class);
+
+        Map<String, byte[]> recorded = buildTimeFactory.getRecordedProxyClasses();
+        Assert.assertEquals(1, recorded.size());
+        String proxyClassName = recorded.keySet().iterator().next();
+        Assert.assertEquals(buildTimeProxyClass.getName(), proxyClassName);
+
+        File outputDirectory = tempFolder.newFolder();
+        File classFile = new File(outputDirectory, proxyClassName.replace('.', '/') + ".class");
+        Files.createDirectories(classFile.getParentFile().toPath());
+        Files.write(classFile.toPath(), recorded.get(proxyClassName));
+        File indexFile = new File(outputDirectory, AbstractProxyFactory.PREGENERATED_PROXIES_RESOURCE);
+        Files.createDirectories(indexFile.getParentFile().toPath());
+        Files.write(indexFile.toPath(), (proxyClassName + "\n").getBytes(StandardCharsets.UTF_8));
+
+        // runtime
+        ClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()});
+        NormalScopeProxyFactory runtimeFactory = new NormalScopeProxyFactory(new WebBeansContext());
+        Class<ClassInterceptedClass> proxyClass = runtimeFactory.createProxyClass(classLoader, ClassInterceptedClass.class);
+
+        Assert.assertEquals(proxyClassName, proxyClass.getName());
+        Assert.assertSame(classLoader, proxyClass.getClassLoader());
+        Assert.assertTrue(OwbNormalScopeProxy.class.isAssignableFrom(proxyClass));
+        Assert.assertTrue(runtimeFactory.getRecordedProxyClasses().isEmpty());
+
+        ClassInterceptedClass instance = new ClassInterceptedClass();
+        instance.init();
+        ClassInterceptedClass proxy = runtimeFactory.createProxyInstance(proxyClass, () -> instance);
+        Assert.assertEquals(42, proxy.getMeaningOfLife());
+
+        // without the index the proxy gets generated as usual
+        ClassLoader otherClassLoader = new URLClassLoader(new URL[0]);
+        Class<ClassInterceptedClass> generatedProxyClass = runtimeFactory.createProxyClass(otherClassLoader, ClassInterceptedClass.class);
+        Assert.assertNotEquals(proxyClassName, generatedProxyClass.getName());
+    }
+
+    @Test
+    public void testPregeneratedProxiesAreNoBeans()
+    {
+        BeanArchiveFilter filter = new BeanArchiveFilter(new DefaultBeanArchiveInformation("file:/test"), new ArrayList<>(), null);
+        Assert.assertTrue(filter.accept(ClassInterceptedClass.class.getName()));
+        Assert.assertFalse(filter.accept(ClassInterceptedClass.class.getName() + "$$OwbNormalScopeProxyP1a2b3c"));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.interceptors.factory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.proxy.OwbNormalScopeProxy;
+import org.apache.webbeans.test.interceptors.factory.beans.ClassInterceptedClass;
+import org.apache.webbeans.test.interceptors.factory.beans.MethodInterceptedClass;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test that generated proxy classes get stored in and loaded from the proxy cache directory.
+ */
+public class ProxyClassCacheTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @After
+    public void clearCacheDirectory()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.PROXY_CACHE_DIRECTORY);
+    }
+
+    @Test
+    public void testProxyClassCache() throws Exception
+    {
+        File cacheDirectory = tempFolder.newFolder();
+        System.setProperty(OpenWebBeansConfiguration.PROXY_CACHE_DIRECTORY, cacheDirectory.getAbsolutePath());
+
+        // first start generates the proxy and stores it
+        NormalScopeProxyFactory firstFactory = new NormalScopeProxyFactory(new WebBeansContext());
+        Class<ClassInterceptedClass> firstProxyClass = firstFactory.createProxyClass(new URLClassLoader(new URL[0]), ClassInterceptedClass.class);
+        Assert.assertEquals(1, firstFactory.getGeneratedProxyCount());
+
+        List<Path> entries = listEntries(cacheDirectory);
+        Assert.assertEquals(1, entries.size());
+
+        // a restart loads the proxy from the cache
+        NormalScopeProxyFactory secondFactory = new NormalScopeProxyFactory(new WebBeansContext());
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+        Class<ClassInterceptedClass> secondProxyClass = secondFactory.createProxyClass(classLoader, ClassInterceptedClass.class);
+        Assert.assertEquals(0, secondFactory.getGeneratedProxyCount());
+        Assert.assertEquals(firstProxyClass.getName(), secondProxyClass.getName());
+        Assert.assertNotSame(firstProxyClass, secondProxyClass);
+        Assert.assertTrue(OwbNormalScopeProxy.class.isAssignableFrom(secondProxyClass));
+
+        ClassInterceptedClass instance = new ClassInterceptedClass();
+        instance.init();
+        ClassInterceptedClass proxy = secondFactory.createProxyInstance(secondProxyClass, () -> instance);
+        Assert.assertEquals(42, proxy.getMeaningOfLife());
+
+        // another class gets its own entry
+        secondFactory.createProxyClass(classLoader, MethodInterceptedClass.class);
+        Assert.assertEquals(1, secondFactory.getGeneratedProxyCount());
+        Assert.assertEquals(2, listEntries(cacheDirectory).size());
+    }
+
+    @Test
+    public void testBrokenEntryGetsReplaced() throws Exception
+    {
+        File cacheDirectory = tempFolder.newFolder();
+        System.setProperty(OpenWebBeansConfiguration.PROXY_CACHE_DIRECTORY, cacheDirectory.getAbsolutePath());
+
+        NormalScopeProxyFactory firstFactory = new NormalScopeProxyFactory(new WebBeansContext());
+        firstFactory.createProxyClass(new URLClassLoader(new URL[0]), ClassInterceptedClass.class);
+        Path entry = listEntries(cacheDirectory).get(0);
+        byte[] validBytecode = Files.readAllBytes(entry);
+
+        Files.write(entry, "no bytecode".getBytes(StandardCharsets.UTF_8));
+
+        NormalScopeProxyFactory secondFactory = new NormalScopeProxyFactory(new WebBeansContext());
+        Class<ClassInterceptedClass> proxyClass = secondFactory.createProxyClass(new URLClassLoader(new URL[0]), ClassInterceptedClass.class);
+        Assert.assertEquals(1, secondFactory.getGeneratedProxyCount());
+        Assert.assertTrue(OwbNormalScopeProxy.class.isAssignableFrom(proxyClass));
+
+        Assert.assertEquals(1, listEntries(cacheDirectory).size());
+        Assert.assertArrayEquals(validBytecode, Files.readAllBytes(entry));
+    }
+
+    @Test
+    public void testDisabledByDefault()
+    {
+        NormalScopeProxyFactory factory = new NormalScopeProxyFactory(new WebBeansContext());
+        factory.createProxyClass(new URLClassLoader(new URL[0]), ClassInterceptedClass.class);
+        Assert.assertEquals(1, factory.getGeneratedProxyCount());
+        Assert.assertNull(new WebBeansContext().getOpenWebBeansConfiguration().getProxyCacheDirectory());
+    }
+
+    private static List<Path> listEntries(File directory) throws IOException
+    {
+        try (Stream<Path> files = Files.list(directory.toPath()))
+        {
+            return files.filter(file -> file.toString().endsWith(".class")).collect(Collectors.toList());
+        }
+    }
+}
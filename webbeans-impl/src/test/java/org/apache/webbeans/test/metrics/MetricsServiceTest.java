@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+import org.apache.webbeans.service.JmxMetricsService;
+import org.apache.webbeans.spi.MetricsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class MetricsServiceTest extends AbstractUnitTest
+{
+    @Test
+    public void testDisabledByDefault()
+    {
+        startContainer(CountingService.class, RequestBean.class);
+        assertNull(getWebBeansContext().getMetricsService());
+        assertEquals("ok", getInstance(CountingService.class).fire());
+    }
+
+    @Test
+    public void testJmxMetrics() throws Exception
+    {
+        addService(MetricsService.class, JmxMetricsService.class);
+        startContainer(CountingService.class, RequestBean.class);
+
+        MetricsService metricsService = getWebBeansContext().getMetricsService();
+        assertTrue(metricsService instanceof JmxMetricsService);
+        ObjectName objectName = ((JmxMetricsService) metricsService).getObjectName();
+        assertNotNull(objectName);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        long references = (Long) server.getAttribute(objectName, "beanManager.getReference");
+
+        CountingService service = getInstance(CountingService.class);
+        getInstance(CountingService.class);
+        assertEquals("ok", service.fire());
+        assertEquals("ok", service.fire());
+
+        assertTrue((Long) server.getAttribute(objectName, "beanManager.getReference") >= references + 2);
+        assertTrue((Long) server.getAttribute(objectName, "resolver.byType.hits") > 0);
+        assertTrue((Long) server.getAttribute(objectName, "proxies.generated.NormalScopeProxyFactory") > 0);
+        assertEquals(2L, server.getAttribute(objectName, "events.fire." + Payload.class.getName() + ".count"));
+        assertNotNull(server.getAttribute(objectName, "events.async.pending"));
+
+        String requestInstances = "context.instances." + RequestScoped.class.getName();
+        assertEquals(1L, server.getAttribute(objectName, requestInstances));
+        restartContext(RequestScoped.class);
+        assertEquals(0L, server.getAttribute(objectName, requestInstances));
+
+        try
+        {
+            server.invoke(objectName, "reset", new Object[0], new String[0]);
+            fail("there are no operations");
+        }
+        catch (ReflectionException e)
+        {
+            assertTrue(e.getCause() instanceof NoSuchMethodException);
+        }
+
+        shutDownContainer();
+        assertFalse(server.isRegistered(objectName));
+    }
+
+    public static class Payload
+    {
+    }
+
+    @ApplicationScoped
+    public static class CountingService
+    {
+        @Inject
+        private Event<Payload> event;
+
+        @Inject
+        private RequestBean requestBean;
+
+        public String fire()
+        {
+            event.fire(new Payload());
+            return requestBean.getState();
+        }
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        private String state;
+
+        public void observe(@Observes Payload payload)
+        {
+            state = "ok";
+        }
+
+        public String getState()
+        {
+            return state;
+        }
+    }
+}
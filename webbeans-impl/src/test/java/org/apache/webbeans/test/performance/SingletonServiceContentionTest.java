@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.performance;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.corespi.DefaultSingletonService;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test to benchmark the WebBeansContext lookup in the {@link DefaultSingletonService}
+ * when many threads concurrently access it.
+ */
+public class SingletonServiceContentionTest
+{
+    private static final Logger logger = Logger.getLogger(SingletonServiceContentionTest.class.getName());
+
+    private static final int THREADS = 64;
+
+    // tune up to larger values to get more meaningful numbers
+    private static final int ITERATIONS_PER_THREAD = 100000;
+
+    @Test
+    public void testConcurrentLookup() throws Exception
+    {
+        DefaultSingletonService singletonService = new DefaultSingletonService();
+
+        ClassLoader appClassLoader = new URLClassLoader(new URL[0]);
+        ClassLoader otherAppClassLoader = new URLClassLoader(new URL[0]);
+        WebBeansContext webBeansContext = new WebBeansContext();
+        WebBeansContext otherWebBeansContext = new WebBeansContext();
+        singletonService.register(appClassLoader, webBeansContext);
+        singletonService.register(otherAppClassLoader, otherWebBeansContext);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try
+        {
+            CountDownLatch startSignal = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++)
+            {
+                results.add(executor.submit(() ->
+                {
+                    startSignal.await();
+                    boolean allSame = true;
+                    for (int i = 0; i < ITERATIONS_PER_THREAD; i++)
+                    {
+                        allSame &= singletonService.get(appClassLoader) == webBeansContext;
+                    }
+                    return allSame;
+                }));
+            }
+
+            long start = System.nanoTime();
+            startSignal.countDown();
+            for (Future<Boolean> result : results)
+            {
+                Assert.assertTrue(result.get());
+            }
+            long end = System.nanoTime();
+
+            logger.info(THREADS + " threads looking up the WebBeansContext " + ITERATIONS_PER_THREAD
+                + " times each took ms: " + TimeUnit.NANOSECONDS.toMillis(end - start));
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        Assert.assertSame(otherWebBeansContext, singletonService.get(otherAppClassLoader));
+
+        singletonService.clear(appClassLoader);
+        Assert.assertSame(otherWebBeansContext, singletonService.get(otherAppClassLoader));
+
+        try
+        {
+            singletonService.register(otherAppClassLoader, webBeansContext);
+            Assert.fail("a ClassLoader must not get registered twice");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // all fine
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.portable.events;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.enterprise.inject.spi.ProcessInjectionPoint;
+import javax.enterprise.inject.spi.WithAnnotations;
+import javax.inject.Inject;
+
+import org.apache.webbeans.event.NotificationManager;
+import org.apache.webbeans.portable.events.generics.GProcessAnnotatedType;
+import org.apache.webbeans.portable.events.generics.GProcessInjectionPoint;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that container lifecycle events only get routed to the Extensions interested in them.
+ */
+public class ExtensionEventRoutingTest extends AbstractUnitTest
+{
+    @Test
+    public void testProcessAnnotatedTypeRouting()
+    {
+        RoutingExtension extension = new RoutingExtension();
+        addExtension(extension);
+        startContainer(MarkedBean.class, PlainBean.class, SpecialBean.class);
+
+        Assert.assertEquals(1, extension.marked.size());
+        Assert.assertEquals(MarkedBean.class, extension.marked.get(0));
+        Assert.assertEquals(1, extension.special.size());
+        Assert.assertEquals(SpecialBean.class, extension.special.get(0));
+
+        NotificationManager notificationManager = getWebBeansContext().getNotificationManager();
+        Assert.assertTrue(notificationManager.hasProcessAnnotatedTypeObserver(GProcessAnnotatedType.class,
+                getBeanManager().createAnnotatedType(MarkedBean.class)));
+        Assert.assertTrue(notificationManager.hasProcessAnnotatedTypeObserver(GProcessAnnotatedType.class,
+                getBeanManager().createAnnotatedType(SpecialBean.class)));
+        Assert.assertFalse(notificationManager.hasProcessAnnotatedTypeObserver(GProcessAnnotatedType.class,
+                getBeanManager().createAnnotatedType(PlainBean.class)));
+        Assert.assertFalse(notificationManager.hasExtensionObserver(GProcessInjectionPoint.class));
+    }
+
+    @Test
+    public void testProcessInjectionPointRouting()
+    {
+        InjectionPointExtension extension = new InjectionPointExtension();
+        addExtension(extension);
+        startContainer(PlainBean.class, InjectingBean.class);
+
+        Assert.assertEquals(1, extension.injectionPoints);
+        Assert.assertTrue(getWebBeansContext().getNotificationManager().hasExtensionObserver(GProcessInjectionPoint.class));
+        Assert.assertFalse(getWebBeansContext().getNotificationManager().hasExtensionObserver(GProcessAnnotatedType.class));
+    }
+
+    public static class RoutingExtension implements Extension
+    {
+        private final List<Class<?>> marked = new ArrayList<>();
+        private final List<Class<?>> special = new ArrayList<>();
+
+        void marked(@Observes ProcessAnnotatedType<? extends Marker> pat)
+        {
+            marked.add(pat.getAnnotatedType().getJavaClass());
+        }
+
+        void special(@Observes @WithAnnotations(Special.class) ProcessAnnotatedType<?> pat)
+        {
+            special.add(pat.getAnnotatedType().getJavaClass());
+        }
+    }
+
+    public static class InjectionPointExtension implements Extension
+    {
+        private int injectionPoints;
+
+        void injectionPoint(@Observes ProcessInjectionPoint<?, PlainBean> pip)
+        {
+            injectionPoints++;
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD, ElementType.METHOD})
+    public @interface Special
+    {
+    }
+
+    public interface Marker
+    {
+    }
+
+    public static class MarkedBean implements Marker
+    {
+    }
+
+    public static class PlainBean
+    {
+    }
+
+    public static class SpecialBean
+    {
+        @Special
+        public void special()
+        {
+            // nothing to do
+        }
+    }
+
+    public static class InjectingBean
+    {
+        @Inject
+        private PlainBean plainBean;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.util;
+
+import java.lang.reflect.Type;
+import java.util.Set;
+
+import javax.enterprise.util.TypeLiteral;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.util.GenericsCache;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenericsCacheTest extends AbstractUnitTest
+{
+    private static final Type STRING_REPO = new TypeLiteral<Repo<String>>() {}.getType();
+    private static final Type LONG_REPO = new TypeLiteral<Repo<Long>>() {}.getType();
+
+    @After
+    public void clearCacheSize()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.GENERICS_CACHE_SIZE);
+    }
+
+    @Test
+    public void testAssignabilityIsMemoized()
+    {
+        startContainer(StringRepo.class, LongRepo.class, RepoConsumer.class);
+
+        RepoConsumer consumer = getInstance(RepoConsumer.class);
+        Assert.assertEquals("string", consumer.getRepo().name());
+
+        GenericsCache cache = getWebBeansContext().getGenericsCache();
+        long hits = cache.getAssignabilityHits();
+
+        Assert.assertTrue(cache.satisfiesDependency(false, false, STRING_REPO, StringRepo.class.getGenericInterfaces()[0]));
+        Assert.assertFalse(cache.satisfiesDependency(false, false, STRING_REPO, LongRepo.class.getGenericInterfaces()[0]));
+        Assert.assertTrue(cache.satisfiesDependency(false, false, STRING_REPO, StringRepo.class.getGenericInterfaces()[0]));
+        Assert.assertFalse(cache.satisfiesDependency(false, false, STRING_REPO, LongRepo.class.getGenericInterfaces()[0]));
+
+        Assert.assertTrue(cache.getAssignabilityHits() >= hits + 2);
+    }
+
+    @Test
+    public void testTypeClosureIsMemoizedAndCopied()
+    {
+        startContainer(StringRepo.class);
+
+        GenericsCache cache = getWebBeansContext().getGenericsCache();
+        long hits = cache.getTypeClosureHits();
+
+        Set<Type> closure = cache.getTypeClosure(StringRepo.class, StringRepo.class);
+        Assert.assertTrue(closure.contains(STRING_REPO));
+        closure.clear();
+
+        Set<Type> again = cache.getTypeClosure(StringRepo.class, StringRepo.class);
+        Assert.assertTrue(again.contains(StringRepo.class));
+        Assert.assertTrue(again.contains(STRING_REPO));
+        Assert.assertTrue(cache.getTypeClosureHits() > hits);
+    }
+
+    @Test
+    public void testDisabledCache()
+    {
+        System.setProperty(OpenWebBeansConfiguration.GENERICS_CACHE_SIZE, "0");
+        startContainer(StringRepo.class, LongRepo.class, RepoConsumer.class);
+
+        RepoConsumer consumer = getInstance(RepoConsumer.class);
+        Assert.assertEquals("string", consumer.getRepo().name());
+        Assert.assertEquals(1, getBeanManager().getBeans(LONG_REPO).size());
+
+        GenericsCache cache = getWebBeansContext().getGenericsCache();
+        Assert.assertTrue(cache.satisfiesDependency(false, false, STRING_REPO, StringRepo.class.getGenericInterfaces()[0]));
+        Assert.assertTrue(cache.satisfiesDependency(false, false, STRING_REPO, StringRepo.class.getGenericInterfaces()[0]));
+        Assert.assertEquals(0, cache.getAssignabilityHits());
+        Assert.assertEquals(0, cache.getTypeClosureHits());
+    }
+
+    public interface Repo<T>
+    {
+        String name();
+    }
+
+    public static class StringRepo implements Repo<String>
+    {
+        @Override
+        public String name()
+        {
+            return "string";
+        }
+    }
+
+    public static class LongRepo implements Repo<Long>
+    {
+        @Override
+        public String name()
+        {
+            return "long";
+        }
+    }
+
+    public static class RepoConsumer
+    {
+        @Inject
+        private Repo<String> repo;
+
+        public Repo<String> getRepo()
+        {
+            return repo;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.maven.proxy;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the OpenWebBeans proxy classes of the project at build time,
+ * so they don't need to get generated when the application starts.
+ *
+ * The container gets booted with the runtime classpath of the project,
+ * which thus must contain openwebbeans-impl.
+ */
+@Mojo(name = "pregenerate-proxies", defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+      requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
+public class PregenerateProxiesMojo extends AbstractMojo
+{
+    private static final String PREGENERATOR_CLASS = "org.apache.webbeans.proxy.ProxyPregenerator";
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    @Parameter(defaultValue = "${project.build.outputDirectory}", property = "openwebbeans.proxies.outputDirectory")
+    private File outputDirectory;
+
+    @Parameter(defaultValue = "false", property = "openwebbeans.proxies.skip")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException
+    {
+        if (skip)
+        {
+            getLog().info("Skipping proxy generation");
+            return;
+        }
+
+        Thread thread = Thread.currentThread();
+        ClassLoader oldLoader = thread.getContextClassLoader();
+        try (URLClassLoader projectLoader = new URLClassLoader(getClasspath(), ClassLoader.getSystemClassLoader().getParent()))
+        {
+            thread.setContextClassLoader(projectLoader);
+
+            Class<?> pregenerator = projectLoader.loadClass(PREGENERATOR_CLASS);
+            Object proxyCount = pregenerator.getMethod("generate")
+                    .invoke(pregenerator.getConstructor(File.class).newInstance(outputDirectory));
+            getLog().info("Generated " + proxyCount + " OpenWebBeans proxy classes");
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new MojoExecutionException("openwebbeans-impl must be a runtime dependency of the project", e);
+        }
+        catch (InvocationTargetException e)
+        {
+            throw new MojoExecutionException("Proxy generation failed", e.getCause());
+        }
+        catch (Exception e)
+        {
+            throw new MojoExecutionException("Proxy generation failed", e);
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
+    private URL[] getClasspath() throws DependencyResolutionRequiredException, MalformedURLException
+    {
+        List<URL> urls = new ArrayList<>();
+        for (String element : project.getRuntimeClasspathElements())
+        {
+            urls.add(new File(element).toURI().toURL());
+        }
+        return urls.toArray(new URL[urls.size()]);
+    }
+}
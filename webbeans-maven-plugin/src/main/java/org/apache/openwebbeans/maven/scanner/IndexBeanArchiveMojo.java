@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.maven.scanner;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the OpenWebBeans bean archive index of the project classes at build time,
+ * so the bytecode doesn't need to get scanned when the application starts.
+ * The index only gets used if {@code org.apache.webbeans.scanner.useBeanArchiveIndex} is enabled.
+ *
+ * The runtime classpath of the project must contain openwebbeans-impl.
+ */
+@Mojo(name = "index-bean-archive", defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+      requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
+public class IndexBeanArchiveMojo extends AbstractMojo
+{
+    private static final String WRITER_CLASS = "org.apache.webbeans.corespi.scanner.xbean.BeanArchiveIndexWriter";
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    @Parameter(defaultValue = "${project.build.outputDirectory}", property = "openwebbeans.index.classesDirectory")
+    private File classesDirectory;
+
+    @Parameter(defaultValue = "false", property = "openwebbeans.index.skip")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException
+    {
+        if (skip)
+        {
+            getLog().info("Skipping bean archive index");
+            return;
+        }
+
+        Thread thread = Thread.currentThread();
+        ClassLoader oldLoader = thread.getContextClassLoader();
+        try (URLClassLoader projectLoader = new URLClassLoader(getClasspath(), ClassLoader.getSystemClassLoader().getParent()))
+        {
+            thread.setContextClassLoader(projectLoader);
+
+            Class<?> writer = projectLoader.loadClass(WRITER_CLASS);
+            Object classCount = writer.getMethod("write")
+                    .invoke(writer.getConstructor(File.class).newInstance(classesDirectory));
+            getLog().info("Indexed " + classCount + " classes for OpenWebBeans");
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new MojoExecutionException("openwebbeans-impl must be a runtime dependency of the project", e);
+        }
+        catch (InvocationTargetException e)
+        {
+            throw new MojoExecutionException("Writing the bean archive index failed", e.getCause());
+        }
+        catch (Exception e)
+        {
+            throw new MojoExecutionException("Writing the bean archive index failed", e);
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
+    private URL[] getClasspath() throws DependencyResolutionRequiredException, MalformedURLException
+    {
+        List<URL> urls = new ArrayList<>();
+        for (String element : project.getRuntimeClasspathElements())
+        {
+            urls.add(new File(element).toURI().toURL());
+        }
+        return urls.toArray(new URL[urls.size()]);
+    }
+}
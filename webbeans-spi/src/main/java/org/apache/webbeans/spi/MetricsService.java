@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.spi;
+
+import java.util.function.LongSupplier;
+
+/**
+ * SPI to collect runtime metrics of the container, e.g. resolution cache hit rates,
+ * generated proxy classes or event notification latencies.
+ *
+ * Metrics are disabled as long as no implementation is configured.
+ * Components fetch their {@link Counter} and {@link Timer} handles once, so an
+ * implementation should return the same handle for the same name.
+ */
+public interface MetricsService
+{
+    /**
+     * @param name the name of the metric
+     * @return the counter registered under the given name, created on first access.
+     */
+    Counter counter(String name);
+
+    /**
+     * @param name the name of the metric
+     * @return the timer registered under the given name, created on first access.
+     */
+    Timer timer(String name);
+
+    /**
+     * Register a value which gets sampled whenever the metric is read.
+     * @param name the name of the metric
+     * @param value supplies the current value
+     */
+    void gauge(String name, LongSupplier value);
+
+    /**
+     * A value which only gets changed by the instrumented code.
+     */
+    interface Counter
+    {
+        void increment();
+
+        void decrement();
+
+        void add(long delta);
+    }
+
+    /**
+     * Records durations.
+     */
+    interface Timer
+    {
+        /**
+         * @param nanos the duration in nanoseconds
+         */
+        void record(long nanos);
+    }
+}
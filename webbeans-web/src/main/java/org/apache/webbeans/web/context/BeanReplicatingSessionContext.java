@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.web.context;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.function.Consumer;
+
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.SessionContext;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.util.WebBeansUtil;
+
+/**
+ * SessionContext which stores each contextual instance under its own HttpSession attribute.
+ * The context itself only gets stored once and serializes without its instances.
+ * At the end of each request only the beans which got used in this request get re-set,
+ * unless they are marked as {@link ImmutableSessionBean} or report via {@link DirtyAware}
+ * that they did not change. This keeps the delta-replication of the servlet container small.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#SESSION_REPLICATION_MODE
+ */
+public class BeanReplicatingSessionContext extends SessionContext
+{
+    public static final String BEAN_ATTRIBUTE_PREFIX = "openWebBeansSessionBean.";
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * {@code true} if this context got deserialized and the instances did not yet get
+     * picked up from their HttpSession attributes.
+     */
+    private transient volatile boolean detached;
+
+    /**
+     * Gets notified about each contextual which got used in the current request.
+     */
+    private transient volatile Consumer<Contextual<?>> accessListener;
+
+    /**
+     * Attaches this context to the current request.
+     * After a failover this picks up the contextual instances from their HttpSession attributes.
+     *
+     * @param session the HttpSession this context is stored in
+     * @param beanManager to resolve the beans via their passivation id
+     * @param accessListener gets notified about each contextual used in the current request
+     */
+    public void attach(HttpSession session, BeanManagerImpl beanManager, Consumer<Contextual<?>> accessListener)
+    {
+        this.accessListener = accessListener;
+        if (!detached)
+        {
+            return;
+        }
+
+        synchronized (this)
+        {
+            if (!detached)
+            {
+                return;
+            }
+
+            Enumeration<String> attributeNames = session.getAttributeNames();
+            while (attributeNames.hasMoreElements())
+            {
+                String attributeName = attributeNames.nextElement();
+                if (!attributeName.startsWith(BEAN_ATTRIBUTE_PREFIX))
+                {
+                    continue;
+                }
+
+                Object value = session.getAttribute(attributeName);
+                if (value instanceof BeanInstanceBag)
+                {
+                    Contextual<?> contextual = beanManager.getPassivationCapableBean(
+                        attributeName.substring(BEAN_ATTRIBUTE_PREFIX.length()));
+                    if (contextual != null)
+                    {
+                        componentInstanceMap.putIfAbsent(contextual, (BeanInstanceBag<?>) value);
+                    }
+                }
+            }
+            detached = false;
+        }
+    }
+
+    /**
+     * Re-sets the HttpSession attributes of the given contextuals if they changed.
+     * Attributes of contextual instances which got destroyed in the meantime get removed.
+     *
+     * @param session the HttpSession this context is stored in
+     * @param accessedContextuals the contextuals which got used in the current request
+     */
+    public void replicate(HttpSession session, Collection<Contextual<?>> accessedContextuals)
+    {
+        for (Contextual<?> contextual : accessedContextuals)
+        {
+            String passivationId = WebBeansUtil.getPassivationId(contextual);
+            if (passivationId == null)
+            {
+                // not passivation capable, so there is nothing we could replicate
+                continue;
+            }
+
+            String attributeName = BEAN_ATTRIBUTE_PREFIX + passivationId;
+            BeanInstanceBag<?> bag = componentInstanceMap.get(contextual);
+            Object instance = bag != null ? bag.getBeanInstance() : null;
+            if (instance == null)
+            {
+                if (session.getAttribute(attributeName) != null)
+                {
+                    session.removeAttribute(attributeName);
+                }
+                continue;
+            }
+
+            if (session.getAttribute(attributeName) == bag && !isDirty(contextual, instance))
+            {
+                continue;
+            }
+
+            session.setAttribute(attributeName, bag);
+            if (instance instanceof DirtyAware)
+            {
+                ((DirtyAware) instance).markClean();
+            }
+        }
+    }
+
+    protected boolean isDirty(Contextual<?> contextual, Object instance)
+    {
+        if (contextual instanceof Bean && ((Bean<?>) contextual).getBeanClass().isAnnotationPresent(ImmutableSessionBean.class))
+        {
+            return false;
+        }
+        if (instance instanceof DirtyAware)
+        {
+            return ((DirtyAware) instance).isDirty();
+        }
+
+        // we cannot know, so every access counts as modification
+        return true;
+    }
+
+    @Override
+    public <T> T get(Contextual<T> component)
+    {
+        T instance = super.get(component);
+        if (instance != null)
+        {
+            accessed(component);
+        }
+        return instance;
+    }
+
+    @Override
+    protected <T> T getInstance(Contextual<T> contextual, CreationalContext<T> creationalContext)
+    {
+        T instance = super.getInstance(contextual, creationalContext);
+        if (instance != null)
+        {
+            accessed(contextual);
+        }
+        return instance;
+    }
+
+    @Override
+    public void destroy(Contextual<?> contextual)
+    {
+        super.destroy(contextual);
+
+        // the next replication will remove the attribute
+        accessed(contextual);
+    }
+
+    private void accessed(Contextual<?> contextual)
+    {
+        Consumer<Contextual<?>> listener = accessListener;
+        if (listener != null)
+        {
+            listener.accept(contextual);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        super.readExternal(in);
+        detached = true;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        // the contextual instances are stored in their own HttpSession attributes
+        out.writeObject(scopeType);
+        out.writeObject(new HashMap<>());
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.web.context;
+
+/**
+ * Change detection hook for &#064;SessionScoped beans.
+ * With the {@code bean} session replication mode a bean which implements this interface
+ * only gets re-set in the HttpSession if it reports a change at the end of a request
+ * it got used in.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#SESSION_REPLICATION_MODE
+ */
+public interface DirtyAware
+{
+    /**
+     * @return {@code true} if the state of the bean changed since it got replicated the last time
+     */
+    boolean isDirty();
+
+    /**
+     * Gets invoked after the bean got re-set in the HttpSession.
+     */
+    default void markClean()
+    {
+        // nothing to do by default
+    }
+}
@@ -18,7 +18,11 @@
  */
 package org.apache.webbeans.web.context;
 
+import javax.enterprise.context.spi.Contextual;
 import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.apache.webbeans.context.RequestContext;
 
@@ -34,6 +38,9 @@ public class ServletRequestContext extends RequestContext
     // this can only be accessed when the context is active
     private transient HttpServletRequest servletRequest;
 
+    // the session scoped beans used in this request, only tracked for the bean session replication mode
+    private transient Set<Contextual<?>> accessedSessionBeans;
+
 
     public ServletRequestContext()
     {
@@ -63,11 +70,26 @@ public class ServletRequestContext extends RequestContext
         this.servletRequest = servletRequest;
     }
 
+    public void sessionBeanAccessed(Contextual<?> contextual)
+    {
+        if (accessedSessionBeans == null)
+        {
+            accessedSessionBeans = new HashSet<>();
+        }
+        accessedSessionBeans.add(contextual);
+    }
+
+    public Set<Contextual<?>> getAccessedSessionBeans()
+    {
+        return accessedSessionBeans != null ? accessedSessionBeans : Collections.<Contextual<?>>emptySet();
+    }
+
     @Override
     public void destroy()
     {
         super.destroy();
         servletRequest = null;
+        accessedSessionBeans = null;
     }
 
 }
@@ -31,6 +31,7 @@ import org.apache.webbeans.context.DependentContext;
 import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.context.SessionContext;
 import org.apache.webbeans.context.SingletonContext;
+import org.apache.webbeans.context.storage.ContextStorageFacade;
 import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.el.ELContextStore;
 import org.apache.webbeans.event.NotificationManager;
@@ -45,12 +46,14 @@ import javax.enterprise.context.Dependent;
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.context.SessionScoped;
 import javax.enterprise.context.spi.Context;
+import javax.enterprise.context.spi.Contextual;
 import javax.inject.Singleton;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletRequestEvent;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import java.lang.annotation.Annotation;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -101,6 +104,12 @@ public class WebContextsService extends AbstractContextsService
 
     protected Boolean fireRequestLifecycleEvents;
 
+    /**
+     * Whether each session scoped bean gets stored in its own HttpSession attribute.
+     * @see OpenWebBeansConfiguration#SESSION_REPLICATION_MODE
+     */
+    protected boolean beanReplication;
+
     /**
      * Creates a new instance.
      */
@@ -109,18 +118,29 @@ public class WebContextsService extends AbstractContextsService
         super(webBeansContext);
         conversationManager = webBeansContext.getConversationManager();
 
-        applicationContext = new ApplicationContext();
+        applicationContext = trackInstances(new ApplicationContext());
         applicationContext.setActive(true);
 
-        requestContexts = new ThreadLocal<>();
-        sessionContexts = new ThreadLocal<>();
-        conversationContexts = new ThreadLocal<>();
+        requestContexts = ContextStorageFacade.createThreadLocal();
+        sessionContexts = ContextStorageFacade.createThreadLocal();
+        conversationContexts = ContextStorageFacade.createThreadLocal();
 
         //Dependent context is always active
         dependentContext = new DependentContext();
         dependentContext.setActive(true);
 
         configureEagerSessionInitialisation(webBeansContext);
+        configureSessionReplication(webBeansContext);
+    }
+
+    protected void configureSessionReplication(WebBeansContext webBeansContext)
+    {
+        String val = webBeansContext.getOpenWebBeansConfiguration().getProperty(OpenWebBeansConfiguration.SESSION_REPLICATION_MODE);
+        beanReplication = "bean".equalsIgnoreCase(val);
+        if (beanReplication)
+        {
+            logger.fine("SessionReplicationMode is configured to bean (each session scoped bean gets its own HttpSession attribute)");
+        }
     }
 
     protected void configureEagerSessionInitialisation(WebBeansContext webBeansContext)
@@ -209,6 +229,10 @@ public class WebContextsService extends AbstractContextsService
             applicationContext.destroy();
             applicationContext.destroySystemBeans();
         }
+
+        ContextStorageFacade.release(requestContexts);
+        ContextStorageFacade.release(sessionContexts);
+        ContextStorageFacade.release(conversationContexts);
     }
     
     
@@ -348,7 +372,7 @@ public class WebContextsService extends AbstractContextsService
     protected void initRequestContext(Object startupObject )
     {
         
-        ServletRequestContext requestContext = new ServletRequestContext();
+        ServletRequestContext requestContext = trackInstances(new ServletRequestContext());
         requestContext.setActive(true);
 
         requestContexts.set(requestContext);// set thread local
@@ -408,6 +432,11 @@ public class WebContextsService extends AbstractContextsService
             destroyOutdatedConversations(conversationContexts.get());
         }
 
+        if (beanReplication && context.getPropagatedSessionContext() == null)
+        {
+            replicateSessionBeans(context);
+        }
+
         if (context.getPropagatedSessionContext() != null)
         {
             SessionContext sessionContext = context.getPropagatedSessionContext();
@@ -495,8 +524,9 @@ public class WebContextsService extends AbstractContextsService
                     currentSessionContext = (SessionContext) session.getAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME);
                     if (currentSessionContext == null)
                     {
-                        currentSessionContext = new SessionContext();
+                        currentSessionContext = trackInstances(createSessionContext());
                         currentSessionContext.setActive(true);
+                        attachSessionContext(session, currentSessionContext);
                         
                         // init context before fire @Initialized(SessionScoped)
                         // so that SessionScoped beans are already available inside the observer
@@ -510,9 +540,17 @@ public class WebContextsService extends AbstractContextsService
             }
             else
             {
-                // we do that in any case.
-                // This is needed to trigger delta-replication on most servers
-                session.setAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME, currentSessionContext);
+                if (currentSessionContext instanceof BeanReplicatingSessionContext)
+                {
+                    // the beans get re-set individually at the end of the request
+                    attachSessionContext(session, currentSessionContext);
+                }
+                else
+                {
+                    // we do that in any case.
+                    // This is needed to trigger delta-replication on most servers
+                    session.setAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME, currentSessionContext);
+                }
                 currentSessionContext.setActive(true);
 
                 //Set thread local
@@ -521,6 +559,49 @@ public class WebContextsService extends AbstractContextsService
         }
     }
 
+    protected SessionContext createSessionContext()
+    {
+        return beanReplication ? new BeanReplicatingSessionContext() : new SessionContext();
+    }
+
+    private void attachSessionContext(HttpSession session, SessionContext sessionContext)
+    {
+        if (sessionContext instanceof BeanReplicatingSessionContext)
+        {
+            ((BeanReplicatingSessionContext) sessionContext).attach(
+                session, webBeansContext.getBeanManagerImpl(), this::sessionBeanAccessed);
+        }
+    }
+
+    private void sessionBeanAccessed(Contextual<?> contextual)
+    {
+        ServletRequestContext requestContext = requestContexts.get();
+        if (requestContext != null)
+        {
+            requestContext.sessionBeanAccessed(contextual);
+        }
+    }
+
+    /**
+     * Re-sets the HttpSession attributes of the session scoped beans used in the given request.
+     */
+    protected void replicateSessionBeans(ServletRequestContext requestContext)
+    {
+        Set<Contextual<?>> accessedSessionBeans = requestContext.getAccessedSessionBeans();
+        SessionContext sessionContext = sessionContexts.get();
+        if (accessedSessionBeans.isEmpty() || !(sessionContext instanceof BeanReplicatingSessionContext)
+            || requestContext.getServletRequest() == null)
+        {
+            return;
+        }
+
+        HttpSession session = requestContext.getServletRequest().getSession(false);
+        if (session != null)
+        {
+            ((BeanReplicatingSessionContext) sessionContext).replicate(session, accessedSessionBeans);
+        }
+    }
+
     /**
      * Destroys the session context and all of its components at the end of the
      * session. 
@@ -617,7 +698,7 @@ public class WebContextsService extends AbstractContextsService
             return;
         }
 
-        ApplicationContext newApplicationContext = new ApplicationContext();
+        ApplicationContext newApplicationContext = trackInstances(new ApplicationContext());
         newApplicationContext.setActive(true);
 
         if (applicationContext == null)
@@ -665,7 +746,7 @@ public class WebContextsService extends AbstractContextsService
         {
             if (singletonContext == null)
             {
-                singletonContext = new SingletonContext();
+                singletonContext = trackInstances(new SingletonContext());
                 singletonContext.setActive(true);
                 Object payLoad = startupObject instanceof ServletContext
                     ? (ServletContext) startupObject : new Object();
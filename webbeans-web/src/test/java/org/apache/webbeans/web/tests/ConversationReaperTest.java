@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.web.tests;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.Conversation;
+import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.web.context.WebContextsService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The ConversationReaper destroys timed out conversations on its own thread,
+ * the RequestContext it needs for that must get destroyed again.
+ */
+public class ConversationReaperTest extends AbstractUnitTest
+{
+    @Before
+    public void enableReaper()
+    {
+        System.setProperty(OpenWebBeansConfiguration.APPLICATION_SUPPORTS_CONVERSATION, "true");
+        System.setProperty(OpenWebBeansConfiguration.CONVERSATION_PERIODIC_DELAY, "20");
+    }
+
+    @After
+    public void resetConfig()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.APPLICATION_SUPPORTS_CONVERSATION);
+        System.clearProperty(OpenWebBeansConfiguration.CONVERSATION_PERIODIC_DELAY);
+    }
+
+    @Test
+    public void testRequestScopedBeansOfTheReaperGetDestroyed() throws Exception
+    {
+        startContainer(ReapedConversationBean.class, ReaperRequestBean.class);
+        Assert.assertTrue(WebBeansContext.getInstance().getContextsService() instanceof WebContextsService);
+        ReaperRequestBean.DESTROYED.set(0);
+
+        MockHttpSession session = new MockHttpSession();
+        getWebBeansContext().getContextsService().startContext(SessionScoped.class, session);
+
+        ReapedConversationBean instance = getInstance(ReapedConversationBean.class);
+        instance.begin(50L);
+
+        restartContext(RequestScoped.class);
+
+        long end = System.currentTimeMillis() + 5000L;
+        while (ReaperRequestBean.DESTROYED.get() == 0 && System.currentTimeMillis() < end)
+        {
+            Thread.sleep(10L);
+        }
+        Assert.assertEquals(1, ReaperRequestBean.DESTROYED.get());
+
+        getWebBeansContext().getContextsService().endContext(SessionScoped.class, session);
+        shutDownContainer();
+    }
+
+    @ConversationScoped
+    public static class ReapedConversationBean implements Serializable
+    {
+        @Inject
+        private Conversation conversation;
+
+        @Inject
+        private ReaperRequestBean requestBean;
+
+        public void begin(long timeout)
+        {
+            conversation.setTimeout(timeout);
+            conversation.begin();
+        }
+
+        @PreDestroy
+        public void destroy()
+        {
+            requestBean.ping();
+        }
+    }
+
+    @RequestScoped
+    public static class ReaperRequestBean
+    {
+        private static final AtomicInteger DESTROYED = new AtomicInteger();
+
+        public void ping()
+        {
+            // just to create the instance
+        }
+
+        @PreDestroy
+        public void destroy()
+        {
+            DESTROYED.incrementAndGet();
+        }
+    }
+}
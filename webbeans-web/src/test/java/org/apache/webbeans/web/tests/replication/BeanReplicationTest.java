@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.web.tests.replication;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.web.context.BeanReplicatingSessionContext;
+import org.apache.webbeans.web.context.DirtyAware;
+import org.apache.webbeans.web.context.ImmutableSessionBean;
+import org.apache.webbeans.web.context.WebContextsService;
+import org.apache.webbeans.web.lifecycle.test.MockServletContext;
+import org.apache.webbeans.web.tests.MockHttpSession;
+import org.apache.webbeans.web.tests.MockServletRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.servlet.ServletRequestEvent;
+import javax.servlet.http.HttpSession;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BeanReplicationTest extends AbstractUnitTest
+{
+    private static final String CONTEXT_ATTRIBUTE = "openWebBeansSessionContext";
+
+    @Before
+    public void enableBeanReplication()
+    {
+        System.setProperty(OpenWebBeansConfiguration.SESSION_REPLICATION_MODE, "bean");
+    }
+
+    @After
+    public void resetReplicationMode()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.SESSION_REPLICATION_MODE);
+    }
+
+    @Test
+    public void testOnlyAccessedAndDirtyBeansGetReSet() throws Exception
+    {
+        startContainer(Cart.class, Settings.class, Tracked.class);
+
+        RecordingSession session = new RecordingSession();
+        inRequest(session, () ->
+        {
+            getInstance(Cart.class).add();
+            getInstance(Settings.class).getLocale();
+            getInstance(Tracked.class).getValue();
+        });
+
+        assertTrue(session.getAttribute(CONTEXT_ATTRIBUTE) instanceof BeanReplicatingSessionContext);
+        assertEquals(4, session.setAttributes.size());
+        assertTrue(session.setAttributes.contains(CONTEXT_ATTRIBUTE));
+
+        session.setAttributes.clear();
+        inRequest(session, () -> getInstance(Cart.class).add());
+        assertEquals(1, session.setAttributes.size());
+        assertTrue(session.setAttributes.get(0).startsWith(BeanReplicatingSessionContext.BEAN_ATTRIBUTE_PREFIX));
+        assertTrue(session.setAttributes.get(0).contains(Cart.class.getName()));
+
+        session.setAttributes.clear();
+        inRequest(session, () ->
+        {
+            getInstance(Settings.class).getLocale();
+            getInstance(Tracked.class).getValue();
+        });
+        assertTrue(session.setAttributes.isEmpty());
+
+        inRequest(session, () -> getInstance(Tracked.class).setValue("changed"));
+        assertEquals(1, session.setAttributes.size());
+        assertTrue(session.setAttributes.get(0).contains(Tracked.class.getName()));
+        inRequest(session, () -> assertFalse(getInstance(Tracked.class).isDirty()));
+    }
+
+    @Test
+    public void testFailover() throws Exception
+    {
+        startContainer(Cart.class, Settings.class, Tracked.class);
+
+        RecordingSession session = new RecordingSession();
+        inRequest(session, () ->
+        {
+            getInstance(Cart.class).add();
+            getInstance(Cart.class).add();
+            getInstance(Tracked.class).setValue("replicated");
+        });
+
+        // simulate the replication to another node
+        RecordingSession replicated = new RecordingSession();
+        Enumeration<String> attributeNames = session.getAttributeNames();
+        while (attributeNames.hasMoreElements())
+        {
+            String name = attributeNames.nextElement();
+            replicated.setAttribute(name, deSerializeObject(serializeObject(session.getAttribute(name))));
+        }
+        replicated.setAttributes.clear();
+
+        inRequest(replicated, () ->
+        {
+            assertEquals(2, getInstance(Cart.class).getItems());
+            assertEquals("replicated", getInstance(Tracked.class).getValue());
+        });
+        assertEquals(1, replicated.setAttributes.size());
+        assertTrue(replicated.setAttributes.get(0).contains(Cart.class.getName()));
+    }
+
+    private void inRequest(HttpSession session, Runnable work)
+    {
+        ContextsService contextsService = getWebBeansContext().getContextsService();
+        MockServletRequest request = new MockServletRequest()
+        {
+            @Override
+            public HttpSession getSession(boolean create)
+            {
+                return session;
+            }
+        };
+        ServletRequestEvent event = new ServletRequestEvent(new MockServletContext(), request);
+
+        contextsService.startContext(RequestScoped.class, event);
+        contextsService.startContext(SessionScoped.class, session);
+        try
+        {
+            work.run();
+        }
+        finally
+        {
+            contextsService.endContext(RequestScoped.class, event);
+            ((WebContextsService) contextsService).removeThreadLocals();
+        }
+    }
+
+    private byte[] serializeObject(Object o) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(o);
+        return baos.toByteArray();
+    }
+
+    private Object deSerializeObject(byte[] serial) throws IOException, ClassNotFoundException
+    {
+        ByteArrayInputStream bais = new ByteArrayInputStream(serial);
+        ObjectInputStream ois = new ObjectInputStream(bais);
+        return ois.readObject();
+    }
+
+    public static class RecordingSession extends MockHttpSession
+    {
+        private final List<String> setAttributes = new ArrayList<>();
+
+        @Override
+        public void setAttribute(String name, Object value)
+        {
+            setAttributes.add(name);
+            super.setAttribute(name, value);
+        }
+    }
+
+    @SessionScoped
+    public static class Cart implements Serializable
+    {
+        private int items;
+
+        public void add()
+        {
+            items++;
+        }
+
+        public int getItems()
+        {
+            return items;
+        }
+    }
+
+    @SessionScoped
+    @ImmutableSessionBean
+    public static class Settings implements Serializable
+    {
+        public String getLocale()
+        {
+            return "en";
+        }
+    }
+
+    @SessionScoped
+    public static class Tracked implements Serializable, DirtyAware
+    {
+        private String value = "initial";
+        private boolean dirty;
+
+        public String getValue()
+        {
+            return value;
+        }
+
+        public void setValue(String value)
+        {
+            this.value = value;
+            dirty = true;
+        }
+
+        @Override
+        public boolean isDirty()
+        {
+            return dirty;
+        }
+
+        @Override
+        public void markClean()
+        {
+            dirty = false;
+        }
+    }
+}